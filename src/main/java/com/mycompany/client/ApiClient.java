@@ -1,21 +1,49 @@
 package com.mycompany.client;
 
+import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.*;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.mycompany.client.dto.ApiResponse;
+import com.mycompany.client.metricas.MetricasApi;
+import com.mycompany.client.resiliencia.Resiliencia;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import org.apache.http.client.config.RequestConfig;
@@ -23,38 +51,170 @@ import org.apache.http.client.config.RequestConfig;
 /**
  * Cliente HTTP melhorado para comunicação com a API Spring Boot
  * Agora suporta respostas encapsuladas em ApiResponse
+ *
+ * Todas as requisições passam por executar(), que fecha a resposta e consome o
+ * corpo em qualquer caminho (sucesso, erro HTTP ou exceção na leitura), então a
+ * conexão sempre volta ao pool. O estado do pool fica visível em getEstatisticasPool
+ *
+ * Pool, keep-alive, limpeza de conexões ociosas e compressão vêm do ApiClientConfig
+ *
+ * Com cache.enabled, os GETs guardam ETag / Last-Modified e o corpo da resposta
+ * (CacheCondicional); a próxima chamada ao mesmo endpoint vira uma requisição
+ * condicional e um 304 é atendido com a cópia local
+ *
+ * Com api.resilience.enabled, executar() passa pela Resiliencia: disjuntor por
+ * endpoint, bulkhead por recurso e repetição de GETs com backoff. As sondagens
+ * de isApiAvailable ficam de fora e usam um timeout curto próprio
+ *
+ * Com api.metrics.enabled, cada chamada pública é medida (MetricasApi): latência
+ * por modelo de rota, espera por conexão do pool e bytes de corpo trafegados
  */
 public class ApiClient {
     
     private static final Logger LOGGER = Logger.getLogger(ApiClient.class.getName());
+    
+    // Conexão ociosa há mais que isso é validada antes de ser reaproveitada
+    private static final int VALIDAR_APOS_INATIVIDADE_MS = 2000;
+    
     private final String baseUrl;
+    private final ApiClientConfig configuracao;
+    private final PoolingHttpClientConnectionManager connectionManager;
     private final CloseableHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final LeitorResposta leitor;
+    private final CacheCondicional cache; // null se desligado
+    private final ChamadasEmAndamento<CorpoHttp> getsEmAndamento; // null se desligado
+    private final Resiliencia resiliencia; // null se desligada
+    private final MetricasApi metricas; // null se desligado
+    private final ThreadLocal<MetricasApi.Medicao> medicaoAtual = new ThreadLocal<>();
+    private final RequestConfig configSondagem;
+    
+    // Resultado da última sondagem de isApiAvailable
+    private volatile boolean ultimaSondagemOk = false;
+    
+    // Requisições que desistiram de esperar uma conexão livre (connectionRequestTimeout)
+    private final AtomicLong esperasEsgotadas = new AtomicLong();
+    
+    // Aborta as requisições com prazo total (getList com tempoLimiteMs); criado no primeiro uso
+    private ScheduledExecutorService abortador;
+    
+    /**
+     * Ocupação do pool de conexões (total ou de uma rota)
+     * @param alugadas conexões em uso por requisições
+     * @param pendentes requisições esperando uma conexão livre
+     * @param disponiveis conexões abertas e ociosas, prontas para reuso
+     * @param maximo limite de conexões
+     */
+    public record EstatisticasPool(int alugadas, int pendentes, int disponiveis, int maximo) {
+        
+        static EstatisticasPool de(PoolStats stats) {
+            return new EstatisticasPool(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+        }
+        
+        public boolean esgotado() {
+            return alugadas >= maximo && pendentes > 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "em uso=" + alugadas + "/" + maximo + ", aguardando=" + pendentes + ", ociosas=" + disponiveis;
+        }
+    }
+    
+    // Lê a resposta enquanto ela está aberta; o corpo é consumido depois em qualquer caso
+    @FunctionalInterface
+    private interface LeitorHttp<T> {
+        T ler(HttpResponse response) throws IOException, ApiException;
+    }
+    
+    // Status e corpo lidos por inteiro; compartilhado entre GETs coalescidos, por isso nunca é alterado
+    private record CorpoHttp(int statusCode, byte[] corpo) {}
+    
+    @FunctionalInterface
+    private interface Chamada<T> {
+        T executar() throws ApiException;
+    }
+    
+    // Interpreta um corpo já lido por inteiro (download novo ou cópia do cache)
+    @FunctionalInterface
+    private interface LeitorCorpo<T> {
+        T ler(int statusCode, byte[] corpo) throws ApiException;
+    }
     
     public ApiClient(String baseUrl) {
         this(baseUrl, 10000, 15000); // Timeouts maiores por padrão
     }
     
     public ApiClient(String baseUrl, int connectionTimeout, int readTimeout) {
+        this(baseUrl, ApiClientConfig.padrao().comTimeouts(connectionTimeout, readTimeout));
+    }
+    
+    public ApiClient(String baseUrl, ApiClientConfig configuracao) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-
+        this.configuracao = configuracao;
+        
         RequestConfig config = RequestConfig.custom()
-            .setConnectTimeout(connectionTimeout)
-            .setSocketTimeout(readTimeout)
-            .setConnectionRequestTimeout(connectionTimeout)
+            .setConnectTimeout(configuracao.connectionTimeout())
+            .setSocketTimeout(configuracao.readTimeout())
+            .setConnectionRequestTimeout(configuracao.connectionTimeout())
             .build();
-
-        this.httpClient = HttpClients.custom()
+        
+        this.connectionManager = configuracao.metricasHabilitadas() ? new PoolMedido() : new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(configuracao.maxConexoesTotal());
+        this.connectionManager.setDefaultMaxPerRoute(configuracao.maxConexoesPorRota());
+        this.connectionManager.setValidateAfterInactivity(VALIDAR_APOS_INATIVIDADE_MS);
+        
+        HttpClientBuilder builder = HttpClients.custom()
             .setDefaultRequestConfig(config)
-            .setMaxConnTotal(50)
-            .setMaxConnPerRoute(20)
-            .build();
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(keepAlive(configuracao.keepAliveMs()));
+        
+        // Accept-Encoding: gzip e a descompressão já vêm ligados no HttpClient
+        if (!configuracao.comprimirResposta()) {
+            builder.disableContentCompression();
+        }
+        
+        // As repetições ficam com a Resiliencia; as automáticas do HttpClient multiplicariam as tentativas
+        if (configuracao.resiliencia().habilitada()) {
+            builder.disableAutomaticRetries();
+        }
+        
+        // Thread de limpeza: fecha conexões expiradas ou ociosas demais antes que o servidor as derrube
+        if (configuracao.ociosaMaxMs() > 0) {
+            builder.evictExpiredConnections()
+                   .evictIdleConnections(configuracao.ociosaMaxMs(), TimeUnit.MILLISECONDS);
+        }
+        
+        this.httpClient = builder.build();
         
         // Configurar ObjectMapper com suporte para LocalDateTime
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        this.leitor = new LeitorResposta(objectMapper);
+        this.cache = configuracao.cacheHabilitado() ? new CacheCondicional(configuracao.cacheMaxBytes()) : null;
+        this.getsEmAndamento = configuracao.coalescerGets()
+                ? new ChamadasEmAndamento<>(ChamadasEmAndamento.esperaPara(configuracao)) : null;
+        this.resiliencia = configuracao.resiliencia().habilitada() ? new Resiliencia(configuracao.resiliencia()) : null;
+        this.metricas = configuracao.metricasHabilitadas() ? new MetricasApi() : null;
         
-        LOGGER.info("ApiClient inicializado com base URL: " + this.baseUrl);
+        int timeoutSondagem = configuracao.resiliencia().healthTimeoutMs();
+        this.configSondagem = RequestConfig.copy(config)
+            .setConnectTimeout(Math.min(timeoutSondagem, configuracao.connectionTimeout()))
+            .setSocketTimeout(Math.min(timeoutSondagem, configuracao.readTimeout()))
+            .setConnectionRequestTimeout(Math.min(timeoutSondagem, configuracao.connectionTimeout()))
+            .build();
+        
+        LOGGER.info("ApiClient inicializado com base URL: " + this.baseUrl + " (" + configuracao + ")");
+    }
+    
+    /**
+     * Usa o Keep-Alive informado pelo servidor; sem ele, mantém a conexão pelo tempo configurado
+     */
+    private static ConnectionKeepAliveStrategy keepAlive(long keepAliveMs) {
+        return (response, context) -> {
+            long doServidor = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return doServidor > 0 ? doServidor : keepAliveMs;
+        };
     }
     
     // Métodos genéricos para requisições HTTP
@@ -69,12 +229,8 @@ public class ApiClient {
         
         LOGGER.info("GET: " + baseUrl + endpoint);
         
-        try {
-            HttpResponse response = httpClient.execute(request);
-            return processResponse(response, responseType);
-        } catch (IOException e) {
-            throw new ApiException("Erro na requisição GET para " + endpoint + ": " + e.getMessage(), e);
-        }
+        return medir("GET", endpoint, 0, () -> executarGet(request, endpoint, response -> lerObjeto(response, responseType),
+                (status, corpo) -> leitor.lerObjeto(status, corpo != null ? new String(corpo, StandardCharsets.UTF_8) : null, responseType)));
     }
     
     /**
@@ -87,12 +243,62 @@ public class ApiClient {
         
         LOGGER.info("GET LIST: " + baseUrl + endpoint);
         
+        return medir("GET", endpoint, 0, () -> executarGet(request, endpoint, response -> lerLista(response, typeReference),
+                (status, corpo) -> leitor.lerLista(status, corpo != null ? new ByteArrayInputStream(corpo) : null, typeReference)));
+    }
+    
+    /**
+     * GET de lista com prazo total: estourado o prazo a requisição é abortada e a conexão
+     * volta ao pool na hora, em vez de ficar presa até o socket timeout
+     */
+    public <T> List<T> getList(String endpoint, TypeReference<List<T>> typeReference, long tempoLimiteMs) throws ApiException {
+        HttpGet request = new HttpGet(baseUrl + endpoint);
+        request.setHeader("Content-Type", "application/json");
+        request.setHeader("Accept", "application/json");
+        
+        LOGGER.info("GET LIST: " + baseUrl + endpoint + " (prazo " + tempoLimiteMs + "ms)");
+        
+        AtomicBoolean abortada = new AtomicBoolean();
+        ScheduledFuture<?> prazo = abortador().schedule(() -> {
+            abortada.set(true);
+            request.abort();
+        }, tempoLimiteMs, TimeUnit.MILLISECONDS);
         try {
-            HttpResponse response = httpClient.execute(request);
-            return processListResponse(response, typeReference);
-        } catch (IOException e) {
-            throw new ApiException("Erro na requisição GET para " + endpoint + ": " + e.getMessage(), e);
+            return medir("GET", endpoint, 0, () -> executarGet(request, endpoint, response -> lerLista(response, typeReference),
+                    (status, corpo) -> leitor.lerLista(status, corpo != null ? new ByteArrayInputStream(corpo) : null, typeReference)));
+        } catch (ApiException e) {
+            if (abortada.get()) {
+                throw new ApiException("Tempo esgotado (" + tempoLimiteMs + "ms) em GET " + endpoint, e);
+            }
+            throw e;
+        } finally {
+            prazo.cancel(false);
+        }
+    }
+    
+    private synchronized ScheduledExecutorService abortador() {
+        if (abortador == null) {
+            abortador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "api-prazo");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
+        return abortador;
+    }
+    
+    /**
+     * GET de lista fora do cache condicional e da coalescência
+     * Para URLs que mudam a cada chamada (ex.: ?since=), que nunca seriam revalidadas
+     */
+    public <T> List<T> getListSemCache(String endpoint, TypeReference<List<T>> typeReference) throws ApiException {
+        HttpGet request = new HttpGet(baseUrl + endpoint);
+        request.setHeader("Content-Type", "application/json");
+        request.setHeader("Accept", "application/json");
+        
+        LOGGER.info("GET LIST: " + baseUrl + endpoint);
+        
+        return medir("GET", endpoint, 0, () -> executar(request, "GET", endpoint, response -> lerLista(response, typeReference)));
     }
     
     /**
@@ -105,19 +311,8 @@ public class ApiClient {
         
         LOGGER.info("POST: " + baseUrl + endpoint);
         
-        try {
-            if (requestBody != null) {
-                String json = objectMapper.writeValueAsString(requestBody);
-                LOGGER.fine("POST Body: " + json);
-                StringEntity entity = new StringEntity(json, "UTF-8");
-                request.setEntity(entity);
-            }
-            
-            HttpResponse response = httpClient.execute(request);
-            return processResponse(response, responseType);
-        } catch (IOException e) {
-            throw new ApiException("Erro na requisição POST para " + endpoint + ": " + e.getMessage(), e);
-        }
+        long enviados = definirCorpo(request, requestBody, "POST");
+        return medir("POST", endpoint, enviados, () -> executar(request, "POST", endpoint, response -> lerObjeto(response, responseType)));
     }
     
     /**
@@ -127,22 +322,11 @@ public class ApiClient {
         HttpPost request = new HttpPost(baseUrl + endpoint);
         request.setHeader("Content-Type", "application/json");
         request.setHeader("Accept", "application/json");
-
+        
         LOGGER.info("POST LIST: " + baseUrl + endpoint);
-
-        try {
-            if (requestBody != null) {
-                String json = objectMapper.writeValueAsString(requestBody);
-                LOGGER.fine("POST Body: " + json);
-                StringEntity entity = new StringEntity(json, "UTF-8");
-                request.setEntity(entity);
-            }
-
-            HttpResponse response = httpClient.execute(request);
-            return processListResponse(response, typeReference);
-        } catch (IOException e) {
-            throw new ApiException("Erro na requisição POST para " + endpoint + ": " + e.getMessage(), e);
-        }
+        
+        long enviados = definirCorpo(request, requestBody, "POST");
+        return medir("POST", endpoint, enviados, () -> executar(request, "POST", endpoint, response -> lerLista(response, typeReference)));
     }
     
     /**
@@ -155,19 +339,8 @@ public class ApiClient {
         
         LOGGER.info("PUT: " + baseUrl + endpoint);
         
-        try {
-            if (requestBody != null) {
-                String json = objectMapper.writeValueAsString(requestBody);
-                LOGGER.fine("PUT Body: " + json);
-                StringEntity entity = new StringEntity(json, "UTF-8");
-                request.setEntity(entity);
-            }
-            
-            HttpResponse response = httpClient.execute(request);
-            return processResponse(response, responseType);
-        } catch (IOException e) {
-            throw new ApiException("Erro na requisição PUT para " + endpoint + ": " + e.getMessage(), e);
-        }
+        long enviados = definirCorpo(request, requestBody, "PUT");
+        return medir("PUT", endpoint, enviados, () -> executar(request, "PUT", endpoint, response -> lerObjeto(response, responseType)));
     }
     
     /**
@@ -179,268 +352,323 @@ public class ApiClient {
         
         LOGGER.info("DELETE: " + baseUrl + endpoint);
         
+        return medir("DELETE", endpoint, 0, () -> executar(request, "DELETE", endpoint, response ->
+                leitor.lerDelete(response.getStatusLine().getStatusCode(),
+                        response.getEntity() != null ? EntityUtils.toString(response.getEntity(), "UTF-8") : null)));
+    }
+    
+    /**
+     * Serializa o corpo na requisição e devolve seu tamanho em bytes, antes da compressão
+     */
+    private long definirCorpo(HttpEntityEnclosingRequestBase request, Object requestBody, String metodo) throws ApiException {
+        if (requestBody == null) {
+            return 0;
+        }
+        String json = leitor.paraJson(requestBody);
+        LOGGER.fine(metodo + " Body: " + json);
+        StringEntity corpo = new StringEntity(json, "UTF-8");
+        if (configuracao.comprimirRequisicao() && json.length() >= configuracao.tamanhoMinimoCompressao()) {
+            request.setEntity(new GzipCompressingEntity(corpo));
+        } else {
+            request.setEntity(corpo);
+        }
+        return corpo.getContentLength();
+    }
+    
+    /**
+     * Mede a chamada inteira, como o chamador a sente (repetições e leitura incluídas)
+     * A medição fica na thread durante a chamada, para o pool e a leitura somarem nela
+     */
+    private <T> T medir(String metodo, String endpoint, long bytesEnviados, Chamada<T> chamada) throws ApiException {
+        if (metricas == null) {
+            return chamada.executar();
+        }
+        MetricasApi.Medicao medicao = metricas.iniciar(metodo, endpoint);
+        medicao.adicionarEnviados(bytesEnviados);
+        medicaoAtual.set(medicao);
+        boolean erro = true;
         try {
-            HttpResponse response = httpClient.execute(request);
-            int statusCode = response.getStatusLine().getStatusCode();
-            
-            if (response.getEntity() != null) {
-                String responseBody = EntityUtils.toString(response.getEntity(), "UTF-8");
-                
-                if (statusCode >= 200 && statusCode < 300) {
-                    try {
-                        // Tenta parsear como ApiResponse
-                        JsonNode rootNode = objectMapper.readTree(responseBody);
-                        if (rootNode.has("success")) {
-                            boolean success = rootNode.get("success").asBoolean();
-                            LOGGER.info("DELETE response: " + statusCode + " - success: " + success);
-                            return success;
-                        }
-                    } catch (Exception e) {
-                        LOGGER.fine("Resposta DELETE não é JSON estruturado, assumindo sucesso pelo status code");
-                    }
-                    return true; // Se não conseguir parsear, assume sucesso pelo status code
-                }
+            T resultado = chamada.executar();
+            erro = false;
+            return resultado;
+        } finally {
+            medicaoAtual.remove();
+            medicao.concluir(erro);
+        }
+    }
+    
+    /**
+     * Executa a requisição pela camada de resiliência, quando ligada
+     */
+    private <T> T executar(HttpRequestBase request, String metodo, String endpoint, LeitorHttp<T> leitorHttp) throws ApiException {
+        if (resiliencia == null) {
+            return executarHttp(request, metodo, endpoint, leitorHttp);
+        }
+        return resiliencia.executar(metodo, endpoint, () -> executarHttp(request, metodo, endpoint, leitorHttp));
+    }
+    
+    /**
+     * Executa a requisição e devolve a conexão ao pool em qualquer caminho
+     * A resposta é fechada pelo try-with-resources; antes disso o corpo restante
+     * é consumido, para a conexão ser reaproveitada em vez de descartada
+     */
+    private <T> T executarHttp(HttpRequestBase request, String metodo, String endpoint, LeitorHttp<T> leitorHttp) throws ApiException {
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            MetricasApi.Medicao medicao = medicaoAtual.get();
+            if (entity != null && medicao != null) {
+                response.setEntity(new EntidadeContada(entity, medicao));
             }
-            
-            boolean success = statusCode >= 200 && statusCode < 300;
-            LOGGER.info("DELETE response: " + statusCode + (success ? " (success)" : " (failed)"));
-            return success;
-            
+            try {
+                return leitorHttp.ler(response);
+            } finally {
+                EntityUtils.consumeQuietly(entity);
+            }
+        } catch (ConnectionPoolTimeoutException e) {
+            esperasEsgotadas.incrementAndGet();
+            LOGGER.warning("Pool de conexões esgotado em " + metodo + " " + endpoint + " - " + getEstatisticasPool());
+            throw new ApiException("Nenhuma conexão livre para " + metodo + " " + endpoint + ": " + e.getMessage(), e);
         } catch (IOException e) {
-            throw new ApiException("Erro na requisição DELETE para " + endpoint + ": " + e.getMessage(), e);
+            throw new ApiException("Erro na requisição " + metodo + " para " + endpoint + ": " + e.getMessage(), e, true);
         }
     }
     
     /**
-     * Processa a resposta HTTP para um objeto único
-     * Agora suporta respostas ApiResponse da API Spring Boot
+     * GET com requisição condicional quando o cache está ligado e coalescência de chamadas idênticas
+     * Sem os dois, lê a resposta em streaming (leitorHttp). Com qualquer um, o corpo é lido
+     * por inteiro (para guardá-lo ou entregá-lo a todos os chamadores) e interpretado por
+     * leitorCorpo, que monta objetos novos para cada chamador
      */
-    private <T> T processResponse(HttpResponse response, Class<T> responseType) throws ApiException {
-        try {
+    private <T> T executarGet(HttpGet request, String endpoint, LeitorHttp<T> leitorHttp, LeitorCorpo<T> leitorCorpo) throws ApiException {
+        if (cache == null && getsEmAndamento == null) {
+            return executar(request, "GET", endpoint, leitorHttp);
+        }
+        
+        String url = request.getURI().toString();
+        CorpoHttp resposta = getsEmAndamento != null
+            ? getsEmAndamento.executar(url, () -> baixar(request, url, endpoint))
+            : baixar(request, url, endpoint);
+        return leitorCorpo.ler(resposta.statusCode(), resposta.corpo());
+    }
+    
+    /**
+     * Baixa o corpo do GET; com cache, envia os validadores e um 304 devolve a cópia local
+     */
+    private CorpoHttp baixar(HttpGet request, String url, String endpoint) throws ApiException {
+        CacheCondicional.Entrada emCache = cache != null ? cache.get(url) : null;
+        if (emCache != null) {
+            if (emCache.etag() != null) {
+                request.setHeader("If-None-Match", emCache.etag());
+            }
+            if (emCache.lastModified() != null) {
+                request.setHeader("If-Modified-Since", emCache.lastModified());
+            }
+        }
+        
+        return executar(request, "GET", endpoint, response -> {
             int statusCode = response.getStatusLine().getStatusCode();
-            HttpEntity entity = response.getEntity();
             
-            LOGGER.fine("Response status: " + statusCode);
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && emCache != null) {
+                LOGGER.fine("304 - usando cópia local de " + endpoint + " (" + emCache.corpo().length + " bytes)");
+                cache.registrarValidacao(emCache);
+                return new CorpoHttp(HttpStatus.SC_OK, emCache.corpo());
+            }
             
-            if (entity != null) {
-                String responseBody = EntityUtils.toString(entity, "UTF-8");
-                LOGGER.fine("Response body: " + responseBody);
-                
-                if (statusCode >= 200 && statusCode < 300) {
-                    if (responseBody.trim().isEmpty()) {
-                        return null;
-                    }
-                    
-                    // Primeiro, verifica se é uma resposta ApiResponse
-                    try {
-                        JsonNode rootNode = objectMapper.readTree(responseBody);
-                        
-                        if (rootNode.has("success") && rootNode.has("data")) {
-                            // É uma ApiResponse - verifica se foi bem-sucedida
-                            boolean success = rootNode.get("success").asBoolean();
-                            
-                            if (!success) {
-                                String error = rootNode.has("error") ? rootNode.get("error").asText() : "Erro desconhecido";
-                                throw new ApiException("API retornou erro: " + error);
-                            }
-                            
-                            // Extrai os dados da resposta
-                            JsonNode dataNode = rootNode.get("data");
-                            
-                            if (dataNode.isNull()) {
-                                return null;
-                            }
-                            
-                            // Deserializa os dados para o tipo esperado
-                            if (responseType == String.class) {
-                                return responseType.cast(dataNode.asText());
-                            } else if (responseType == Integer.class) {
-                                return responseType.cast(dataNode.asInt());
-                            } else if (responseType == Boolean.class) {
-                                return responseType.cast(dataNode.asBoolean());
-                            } else if (responseType == Long.class) {
-                                return responseType.cast(dataNode.asLong());
-                            } else if (responseType == Double.class) {
-                                return responseType.cast(dataNode.asDouble());
-                            } else {
-                                // Para objetos complexos, usa o ObjectMapper
-                                return objectMapper.readValue(dataNode.toString(), responseType);
-                            }
-                        } else {
-                            // Não é uma ApiResponse, tenta deserializar diretamente
-                            LOGGER.fine("Resposta não é ApiResponse, deserializando diretamente");
-                            return deserializeDirect(responseBody, responseType);
-                        }
-                        
-                    } catch (Exception jsonException) {
-                        LOGGER.fine("Erro ao parsear como JSON, tentando deserialização direta: " + jsonException.getMessage());
-                        return deserializeDirect(responseBody, responseType);
-                    }
-                } else {
-                    LOGGER.log(Level.WARNING, "Erro HTTP {0}: {1}", new Object[]{statusCode, responseBody});
-                    
-                    // Tenta extrair mensagem de erro da ApiResponse
+            byte[] corpo = response.getEntity() != null ? EntityUtils.toByteArray(response.getEntity()) : null;
+            
+            // Erro do servidor sai como exceção aqui dentro, para a resiliência contá-lo e repetir o GET
+            if (statusCode >= 500) {
+                throw leitor.erroHttp(statusCode, corpo != null ? new String(corpo, StandardCharsets.UTF_8) : null);
+            }
+            if (cache != null && statusCode == HttpStatus.SC_OK) {
+                cache.registrarDownload();
+                cache.guardar(url, valorCabecalho(response, "ETag"), valorCabecalho(response, "Last-Modified"), corpo);
+            }
+            return new CorpoHttp(statusCode, corpo);
+        });
+    }
+    
+    /**
+     * Pool que mede quanto cada requisição esperou por uma conexão livre
+     * O HttpClient pede a conexão na thread da requisição, então a espera vai para
+     * a medição em andamento nessa thread
+     */
+    private final class PoolMedido extends PoolingHttpClientConnectionManager {
+        
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest pedido = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit unidade)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long inicio = System.nanoTime();
                     try {
-                        JsonNode rootNode = objectMapper.readTree(responseBody);
-                        if (rootNode.has("error")) {
-                            throw new ApiException("Erro HTTP " + statusCode + ": " + rootNode.get("error").asText());
+                        return pedido.get(timeout, unidade);
+                    } finally {
+                        MetricasApi.Medicao medicao = medicaoAtual.get();
+                        if (medicao != null) {
+                            medicao.adicionarEsperaPool(System.nanoTime() - inicio);
                         }
-                    } catch (Exception e) {
-                        // Se não conseguir parsear, usa a resposta raw
                     }
-                    
-                    throw new ApiException("Erro HTTP " + statusCode + ": " + responseBody);
                 }
-            } else if (statusCode >= 200 && statusCode < 300) {
-                // Resposta vazia mas sucesso
-                if (responseType == Boolean.class) {
-                    return responseType.cast(Boolean.TRUE);
-                } else if (responseType == Integer.class) {
-                    return responseType.cast(0);
+                
+                @Override
+                public boolean cancel() {
+                    return pedido.cancel();
                 }
-                return null;
-            } else {
-                throw new ApiException("Erro HTTP " + statusCode + " - Resposta vazia");
-            }
-        } catch (IOException e) {
-            throw new ApiException("Erro ao processar resposta: " + e.getMessage(), e);
+            };
         }
     }
     
     /**
-     * Deserialização direta sem ApiResponse wrapper
+     * Conta os bytes do corpo lidos pelo leitor (já descomprimidos)
      */
-    private <T> T deserializeDirect(String responseBody, Class<T> responseType) throws ApiException {
-        try {
-            if (responseType == String.class) {
-                return responseType.cast(responseBody);
-            } else if (responseType == Boolean.class) {
-                if ("true".equalsIgnoreCase(responseBody.trim()) || "false".equalsIgnoreCase(responseBody.trim())) {
-                    return responseType.cast(Boolean.valueOf(responseBody.trim()));
+    private static final class EntidadeContada extends HttpEntityWrapper {
+        
+        private final MetricasApi.Medicao medicao;
+        
+        EntidadeContada(HttpEntity entidade, MetricasApi.Medicao medicao) {
+            super(entidade);
+            this.medicao = medicao;
+        }
+        
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int lido = super.read();
+                    if (lido >= 0) {
+                        medicao.adicionarRecebidos(1);
+                    }
+                    return lido;
                 }
-                return responseType.cast(Boolean.TRUE);
-            } else if (responseType == Integer.class) {
-                try {
-                    return responseType.cast(Integer.valueOf(responseBody.trim()));
-                } catch (NumberFormatException e) {
-                    throw new ApiException("Não foi possível converter resposta para Integer: " + responseBody);
+                
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int lidos = super.read(b, off, len);
+                    if (lidos > 0) {
+                        medicao.adicionarRecebidos(lidos);
+                    }
+                    return lidos;
                 }
-            }
-            
-            return objectMapper.readValue(responseBody, responseType);
-            
-        } catch (IOException e) {
-            throw new ApiException("Erro na deserialização direta: " + e.getMessage(), e);
+            };
         }
     }
     
+    private static String valorCabecalho(HttpResponse response, String nome) {
+        Header header = response.getFirstHeader(nome);
+        return header != null ? header.getValue() : null;
+    }
+    
+    /**
+     * Processa a resposta HTTP para um objeto único
+     * Agora suporta respostas ApiResponse da API Spring Boot
+     */
+    private <T> T lerObjeto(HttpResponse response, Class<T> responseType) throws IOException, ApiException {
+        int statusCode = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        String responseBody = entity != null ? EntityUtils.toString(entity, "UTF-8") : null;
+        return leitor.lerObjeto(statusCode, responseBody, responseType);
+    }
+    
     /**
      * Processa a resposta HTTP para uma lista
      * Agora suporta respostas paginadas e ApiResponse
+     * O corpo é lido em streaming direto do InputStream da entidade
      */
-    private <T> List<T> processListResponse(HttpResponse response, TypeReference<List<T>> typeReference) throws ApiException {
-        try {
-            int statusCode = response.getStatusLine().getStatusCode();
-            HttpEntity entity = response.getEntity();
-
-            LOGGER.fine("List response status: " + statusCode);
-
-            if (entity != null) {
-                String responseBody = EntityUtils.toString(entity, "UTF-8");
-                LOGGER.fine("Response body length: " + responseBody.length());
-
-                if (statusCode >= 200 && statusCode < 300) {
-                    if (responseBody.trim().isEmpty() || "[]".equals(responseBody.trim())) {
-                        return new ArrayList<>();
-                    }
-
-                    try {
-                        JsonNode rootNode = objectMapper.readTree(responseBody);
-
-                        // Verifica se é uma ApiResponse
-                        if (rootNode.has("success") && rootNode.has("data")) {
-                            boolean success = rootNode.get("success").asBoolean();
-                            
-                            if (!success) {
-                                String error = rootNode.has("error") ? rootNode.get("error").asText() : "Erro desconhecido";
-                                throw new ApiException("API retornou erro: " + error);
-                            }
-                            
-                            JsonNode dataNode = rootNode.get("data");
-                            
-                            if (dataNode.isNull()) {
-                                return new ArrayList<>();
-                            }
-                            
-                            return extractListFromDataNode(dataNode, typeReference);
-                        }
-                        // Verifica se é uma resposta paginada (Spring Boot Page)
-                        else if (rootNode.has("content")) {
-                            LOGGER.fine("Detectada resposta paginada (Spring Boot Page)");
-                            JsonNode contentNode = rootNode.get("content");
-                            return objectMapper.readValue(contentNode.toString(), typeReference);
-                        }
-                        // Verifica se é um array direto
-                        else if (rootNode.isArray()) {
-                            LOGGER.fine("Detectado array direto");
-                            return objectMapper.readValue(responseBody, typeReference);
-                        }
-                        // Formato desconhecido
-                        else {
-                            LOGGER.warning("Formato de resposta desconhecido, tentando como array: " + responseBody.substring(0, Math.min(200, responseBody.length())));
-                            return objectMapper.readValue(responseBody, typeReference);
-                        }
-                        
-                    } catch (Exception parseException) {
-                        LOGGER.log(Level.WARNING, "Erro ao parsear resposta JSON: " + parseException.getMessage());
-                        return new ArrayList<>();
-                    }
-                } else {
-                    LOGGER.log(Level.WARNING, "Erro HTTP {0}: {1}", new Object[]{statusCode, responseBody});
-                    
-                    // Tenta extrair mensagem de erro da ApiResponse
-                    try {
-                        JsonNode rootNode = objectMapper.readTree(responseBody);
-                        if (rootNode.has("error")) {
-                            throw new ApiException("Erro HTTP " + statusCode + ": " + rootNode.get("error").asText());
-                        }
-                    } catch (Exception e) {
-                        // Se não conseguir parsear, usa a resposta raw
-                    }
-                    
-                    throw new ApiException("Erro HTTP " + statusCode + ": " + responseBody);
-                }
-            } else {
-                if (statusCode >= 200 && statusCode < 300) {
-                    return new ArrayList<>();
-                }
-                throw new ApiException("Erro HTTP " + statusCode + " - Resposta vazia");
-            }
-        } catch (IOException e) {
-            throw new ApiException("Erro ao processar resposta da lista: " + e.getMessage(), e);
+    private <T> List<T> lerLista(HttpResponse response, TypeReference<List<T>> typeReference) throws IOException, ApiException {
+        int statusCode = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            LOGGER.fine("Response content length: " + entity.getContentLength());
         }
+        return leitor.lerLista(statusCode, entity != null ? entity.getContent() : null, typeReference);
     }
     
     /**
-     * Extrai lista do nó de dados da ApiResponse
+     * Interpretação das respostas compartilhada com o AsyncApiClient
      */
-    private <T> List<T> extractListFromDataNode(JsonNode dataNode, TypeReference<List<T>> typeReference) throws ApiException {
-        try {
-            if (dataNode.isArray()) {
-                // Data é um array direto
-                return objectMapper.readValue(dataNode.toString(), typeReference);
-            } else if (dataNode.has("content")) {
-                // Data é um objeto paginado
-                JsonNode contentNode = dataNode.get("content");
-                return objectMapper.readValue(contentNode.toString(), typeReference);
-            } else {
-                // Data é um objeto único, converte para lista
-                LOGGER.fine("Convertendo objeto único em lista");
-                String singleItemJson = "[" + dataNode.toString() + "]";
-                return objectMapper.readValue(singleItemJson, typeReference);
-            }
-        } catch (IOException e) {
-            throw new ApiException("Erro ao extrair lista do nó de dados: " + e.getMessage(), e);
+    LeitorResposta getLeitor() {
+        return leitor;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    public ApiClientConfig getConfiguracao() {
+        return configuracao;
+    }
+    
+    // Estatísticas do pool
+    
+    public EstatisticasPool getEstatisticasPool() {
+        return EstatisticasPool.de(connectionManager.getTotalStats());
+    }
+    
+    /**
+     * Ocupação por rota (host:porta) das rotas já usadas
+     */
+    public Map<String, EstatisticasPool> getEstatisticasPorRota() {
+        Map<String, EstatisticasPool> porRota = new LinkedHashMap<>();
+        for (HttpRoute rota : connectionManager.getRoutes()) {
+            porRota.put(rota.getTargetHost().toHostString(), EstatisticasPool.de(connectionManager.getStats(rota)));
+        }
+        return porRota;
+    }
+    
+    public long getEsperasEsgotadas() {
+        return esperasEsgotadas.get();
+    }
+    
+    /**
+     * GETs atendidos por uma requisição idêntica que já estava em andamento
+     */
+    public long getGetsCoalescidos() {
+        return getsEmAndamento != null ? getsEmAndamento.getCompartilhadas() : 0;
+    }
+    
+    public boolean isCoalescenciaHabilitada() {
+        return getsEmAndamento != null;
+    }
+    
+    /**
+     * Disjuntores, bulkheads e repetições, ou null se a resiliência estiver desligada
+     */
+    public Resiliencia getResiliencia() {
+        return resiliencia;
+    }
+    
+    // Métricas
+    
+    /**
+     * Métricas por endpoint (null com api.metrics.enabled=false)
+     */
+    public MetricasApi getMetricas() {
+        return metricas;
+    }
+    
+    // Cache de GETs condicionais
+    
+    public boolean isCacheHabilitado() {
+        return cache != null;
+    }
+    
+    /**
+     * Contadores do cache, ou null se ele estiver desligado
+     */
+    public CacheCondicional.Metricas getMetricasCache() {
+        return cache != null ? cache.getMetricas() : null;
+    }
+    
+    /**
+     * Descarta as cópias locais; o próximo GET de cada endpoint baixa tudo de novo
+     */
+    public void limparCache() {
+        if (cache != null) {
+            cache.limpar();
         }
     }
     
@@ -448,6 +676,11 @@ public class ApiClient {
      * Fecha o cliente HTTP
      */
     public void close() {
+        synchronized (this) {
+            if (abortador != null) {
+                abortador.shutdownNow();
+            }
+        }
         try {
             httpClient.close();
             LOGGER.info("ApiClient fechado");
@@ -461,26 +694,45 @@ public class ApiClient {
      * Tenta múltiplos endpoints de health check
      */
     public boolean isApiAvailable() {
-        // Primeiro tenta o endpoint personalizado (mais provável de funcionar)
-        if (testEndpoint("/health")) {
-            LOGGER.info("API disponível via endpoint: /health");
-            return true;
-        }
-
-        // Depois tenta o endpoint de health do Actuator
-        if (testEndpoint("/actuator/health")) {
-            LOGGER.info("API disponível via endpoint: /actuator/health");
-            return true;
-        }
-
-        // Como último recurso, testa um endpoint específico da aplicação
-        if (testEndpoint("/pacientes/count")) {
-            LOGGER.info("API disponível via endpoint: /pacientes/count");
-            return true;
+        // As três sondagens saem juntas; vale a primeira que responder com sucesso
+        List<Callable<String>> sondagens = List.of(
+            sondagem("/health"),               // endpoint personalizado (mais provável de funcionar)
+            sondagem("/actuator/health"),      // health do Actuator
+            sondagem("/pacientes/count"));     // último recurso: endpoint da aplicação
+        
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            String endpoint = executor.invokeAny(sondagens, configuracao.resiliencia().healthTimeoutMs() + 500L, TimeUnit.MILLISECONDS);
+            LOGGER.fine("API disponível via endpoint: " + endpoint);
+            ultimaSondagemOk = true;
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.fine("API não está disponível - nenhum endpoint respondeu");
+            ultimaSondagemOk = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ultimaSondagemOk = false;
+        } finally {
+            executor.shutdownNow();
         }
-
-        LOGGER.warning("API não está disponível - nenhum endpoint respondeu");
-        return false;
+        return ultimaSondagemOk;
+    }
+    
+    /**
+     * Resultado da última sondagem, sem nova requisição
+     * Com o HealthMonitor do ApiManager ligado, é renovado em segundo plano
+     */
+    public boolean isUltimaSondagemOk() {
+        return ultimaSondagemOk;
+    }
+    
+    // Sondagem que devolve o endpoint quando ele responde 2xx e falha caso contrário
+    private Callable<String> sondagem(String endpoint) {
+        return () -> {
+            if (!testEndpoint(endpoint)) {
+                throw new ApiException("Endpoint " + endpoint + " indisponível");
+            }
+            return endpoint;
+        };
     }
     
     /**
@@ -489,15 +741,11 @@ public class ApiClient {
     private boolean testEndpoint(String endpoint) {
         HttpGet request = new HttpGet(baseUrl + endpoint);
         request.setHeader("Accept", "application/json");
+        request.setConfig(configSondagem);
         
         try {
-            HttpResponse response = httpClient.execute(request);
-            int statusCode = response.getStatusLine().getStatusCode();
-            
-            // Consome a resposta
-            if (response.getEntity() != null) {
-                EntityUtils.consume(response.getEntity());
-            }
+            // Fora da resiliência: a sondagem é justamente o que descobre que o servidor voltou
+            int statusCode = executarHttp(request, "GET", endpoint, response -> response.getStatusLine().getStatusCode());
             
             // Aceita qualquer código de sucesso (2xx)
             boolean available = (statusCode >= 200 && statusCode < 300);
@@ -509,10 +757,10 @@ public class ApiClient {
             }
             
             return available;
-            
+        
         } catch (Exception e) {
             LOGGER.fine("Endpoint " + endpoint + " não respondeu: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
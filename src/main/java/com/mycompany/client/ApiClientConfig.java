@@ -0,0 +1,128 @@
+package com.mycompany.client;
+
+import com.mycompany.client.resiliencia.ConfiguracaoResiliencia;
+
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Configuração da camada de transporte do ApiClient e do AsyncApiClient
+ *
+ * Lida do config.properties (chaves api.*); chaves ausentes ou inválidas usam o padrão
+ *
+ * @param connectionTimeout tempo máximo (ms) para abrir a conexão e para obter uma do pool
+ * @param readTimeout tempo máximo (ms) sem receber dados da resposta
+ * @param maxConexoesTotal limite de conexões abertas no pool
+ * @param maxConexoesPorRota limite de conexões por host:porta
+ * @param keepAliveMs quanto tempo (ms) uma conexão ociosa é mantida para reuso quando
+ *                    o servidor não informa Keep-Alive
+ * @param ociosaMaxMs conexões ociosas há mais que isso são fechadas pela thread de limpeza
+ *                    (0 desliga a limpeza)
+ * @param comprimirResposta pede respostas com gzip (Accept-Encoding) e as descomprime
+ * @param comprimirRequisicao envia corpos com gzip (Content-Encoding); o servidor precisa aceitar
+ * @param tamanhoMinimoCompressao corpos menores que isso (bytes) seguem sem compressão
+ * @param http2 usa HTTP/2 no AsyncApiClient (o Apache HttpClient 4 só fala HTTP/1.1)
+ * @param cacheHabilitado guarda os GETs com ETag / Last-Modified e revalida com requisição condicional
+ * @param cacheMaxBytes limite do total de corpos guardados
+ * @param coalescerGets GETs idênticos simultâneos compartilham uma única requisição
+ * @param resiliencia disjuntores, repetições e bulkheads (chaves api.resilience.*)
+ * @param metricasHabilitadas mede latência, espera pelo pool e bytes de cada endpoint (MetricasApi)
+ */
+public record ApiClientConfig(int connectionTimeout, int readTimeout,
+                              int maxConexoesTotal, int maxConexoesPorRota,
+                              long keepAliveMs, long ociosaMaxMs,
+                              boolean comprimirResposta, boolean comprimirRequisicao, int tamanhoMinimoCompressao,
+                              boolean http2, boolean cacheHabilitado, long cacheMaxBytes,
+                              boolean coalescerGets, ConfiguracaoResiliencia resiliencia,
+                              boolean metricasHabilitadas) {
+
+    private static final Logger LOGGER = Logger.getLogger(ApiClientConfig.class.getName());
+
+    public static ApiClientConfig padrao() {
+        return new ApiClientConfig(10000, 15000, 50, 20, 30000, 30000, true, false, 2048, false, true, 32L * 1024 * 1024, true,
+                ConfiguracaoResiliencia.padrao(), true);
+    }
+
+    /**
+     * Mesma configuração com outros timeouts
+     */
+    public ApiClientConfig comTimeouts(int novoConnectionTimeout, int novoReadTimeout) {
+        return new ApiClientConfig(novoConnectionTimeout, novoReadTimeout, maxConexoesTotal, maxConexoesPorRota,
+                keepAliveMs, ociosaMaxMs, comprimirResposta, comprimirRequisicao, tamanhoMinimoCompressao, http2,
+                cacheHabilitado, cacheMaxBytes, coalescerGets, resiliencia, metricasHabilitadas);
+    }
+
+    public static ApiClientConfig fromProperties(Properties config) {
+        ApiClientConfig p = padrao();
+        ConfiguracaoResiliencia r = p.resiliencia();
+
+        // Nome antigo (com erro de digitação) ainda aceito para não quebrar arquivos existentes
+        int connectionTimeout = lerInt(config, "api.connection.timeout",
+                lerInt(config, "pi.connection.timeout", p.connectionTimeout()));
+
+        return new ApiClientConfig(
+                connectionTimeout,
+                lerInt(config, "api.read.timeout", p.readTimeout()),
+                lerInt(config, "api.pool.max.total", p.maxConexoesTotal()),
+                lerInt(config, "api.pool.max.per.route", p.maxConexoesPorRota()),
+                lerInt(config, "api.keepalive.ms", (int) p.keepAliveMs()),
+                lerInt(config, "api.pool.idle.evict.ms", (int) p.ociosaMaxMs()),
+                lerBoolean(config, "api.compression.response", p.comprimirResposta()),
+                lerBoolean(config, "api.compression.request", p.comprimirRequisicao()),
+                lerInt(config, "api.compression.request.min.bytes", p.tamanhoMinimoCompressao()),
+                lerBoolean(config, "api.http2.enabled", p.http2()),
+                lerBoolean(config, "cache.enabled", p.cacheHabilitado()),
+                lerInt(config, "cache.http.max.mb", (int) (p.cacheMaxBytes() / (1024 * 1024))) * 1024L * 1024L,
+                lerBoolean(config, "api.coalescing.enabled", p.coalescerGets()),
+                new ConfiguracaoResiliencia(
+                        lerBoolean(config, "api.resilience.enabled", r.habilitada()),
+                        lerInt(config, "api.resilience.breaker.failures", r.falhasParaAbrir()),
+                        lerInt(config, "api.resilience.breaker.open.ms", (int) r.tempoAbertoMs()),
+                        lerInt(config, "api.resilience.retry.attempts", r.tentativasGet()),
+                        lerInt(config, "api.resilience.retry.base.ms", (int) r.backoffBaseMs()),
+                        lerInt(config, "api.resilience.retry.max.ms", (int) r.backoffMaxMs()),
+                        lerInt(config, "api.resilience.bulkhead.max", r.maxSimultaneasPorRecurso()),
+                        lerInt(config, "api.resilience.bulkhead.wait.ms", (int) r.esperaBulkheadMs()),
+                        lerInt(config, "api.health.timeout.ms", r.healthTimeoutMs())),
+                lerBoolean(config, "api.metrics.enabled", p.metricasHabilitadas()));
+    }
+
+    private static int lerInt(Properties config, String chave, int padrao) {
+        String valor = config.getProperty(chave);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero < 0) {
+                throw new NumberFormatException("negativo");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Valor inválido para " + chave + ": " + valor + " - usando " + padrao);
+            return padrao;
+        }
+    }
+
+    private static boolean lerBoolean(Properties config, String chave, boolean padrao) {
+        String valor = config.getProperty(chave);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        return Boolean.parseBoolean(valor.trim());
+    }
+
+    @Override
+    public String toString() {
+        return "pool=" + maxConexoesTotal + "/" + maxConexoesPorRota + " por rota"
+                + ", keep-alive=" + keepAliveMs + "ms"
+                + ", limpeza=" + (ociosaMaxMs > 0 ? ociosaMaxMs + "ms" : "desligada")
+                + ", gzip resposta=" + (comprimirResposta ? "sim" : "não")
+                + ", gzip requisição=" + (comprimirRequisicao ? "sim (>= " + tamanhoMinimoCompressao + " bytes)" : "não")
+                + ", http2=" + (http2 ? "sim" : "não")
+                + ", cache=" + (cacheHabilitado ? (cacheMaxBytes / (1024 * 1024)) + " MB" : "desligado")
+                + ", coalescência=" + (coalescerGets ? "sim" : "não")
+                + ", " + resiliencia
+                + ", métricas=" + (metricasHabilitadas ? "sim" : "não");
+    }
+}
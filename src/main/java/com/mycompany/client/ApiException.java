@@ -5,11 +5,48 @@ package com.mycompany.client;
  * @author vitor
  */
 public class ApiException extends Exception {
+
+    // Status HTTP da resposta de erro (0 quando não houve resposta)
+    private final int statusCode;
+
+    // Falha de comunicação (conexão, timeout) em vez de uma resposta do servidor
+    private final boolean falhaDeRede;
+
     public ApiException(String message) {
-        super(message);
+        this(message, null, 0, false);
     }
-    
+
     public ApiException(String message, Throwable cause) {
+        this(message, cause, 0, false);
+    }
+
+    public ApiException(String message, int statusCode) {
+        this(message, null, statusCode, false);
+    }
+
+    public ApiException(String message, Throwable cause, boolean falhaDeRede) {
+        this(message, cause, 0, falhaDeRede);
+    }
+
+    private ApiException(String message, Throwable cause, int statusCode, boolean falhaDeRede) {
         super(message, cause);
+        this.statusCode = statusCode;
+        this.falhaDeRede = falhaDeRede;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isFalhaDeRede() {
+        return falhaDeRede;
+    }
+
+    /**
+     * Falha que indica servidor indisponível ou sobrecarregado (rede ou 5xx),
+     * e não um problema da própria requisição
+     */
+    public boolean isFalhaDoServidor() {
+        return falhaDeRede || statusCode >= 500;
     }
 }
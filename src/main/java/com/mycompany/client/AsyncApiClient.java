@@ -0,0 +1,311 @@
+package com.mycompany.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.mycompany.client.metricas.MetricasApi;
+import com.mycompany.client.resiliencia.Resiliencia;
+import com.mycompany.client.resiliencia.RequisicaoRejeitadaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Variante não bloqueante do ApiClient, sobre java.net.http
+ *
+ * Cada método devolve um CompletableFuture na hora; a requisição segue pelo motor
+ * assíncrono do HttpClient do JDK, sem uma thread parada esperando cada resposta.
+ * O desembrulho do ApiResponse é o mesmo do ApiClient (LeitorResposta), e a
+ * conversão do corpo roda em threads virtuais, fora da EDT
+ *
+ * Em caso de falha o future termina com CompletionException cuja causa é uma
+ * ApiException; use causaDe() para obtê-la
+ *
+ * Usa o mesmo ApiClientConfig do cliente síncrono: HTTP/2 opcional (várias
+ * requisições multiplexadas numa conexão) e gzip, que aqui é tratado à mão
+ * porque o HttpClient do JDK não descomprime respostas
+ *
+ * Compartilha também os disjuntores e bulkheads do ApiClient: com o disjuntor
+ * aberto o future falha na hora. Não há repetição automática aqui
+ *
+ * As requisições entram nas mesmas MetricasApi do ApiClient; a latência vai do
+ * envio à chegada do corpo, e a espera pelo pool não é medida (o JDK não a expõe)
+ */
+public class AsyncApiClient {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncApiClient.class.getName());
+
+    // Propriedade do JDK (segundos) lida uma única vez, na criação do primeiro HttpClient
+    private static final String PROPRIEDADE_KEEP_ALIVE = "jdk.httpclient.keepalive.timeout";
+
+    private final String baseUrl;
+    private final ApiClientConfig configuracao;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
+    private final LeitorResposta leitor;
+    private final ExecutorService executor;
+    private final ChamadasEmAndamento<HttpResponse<byte[]>> getsEmAndamento; // null se desligado
+    private final Resiliencia resiliencia; // null se desligada
+    private final MetricasApi metricas; // null se desligado
+
+    /**
+     * Compartilha URL base, ObjectMapper e configuração com o cliente síncrono
+     */
+    public AsyncApiClient(ApiClient apiClient) {
+        this.baseUrl = apiClient.getBaseUrl();
+        this.leitor = apiClient.getLeitor();
+        this.configuracao = apiClient.getConfiguracao();
+        this.resiliencia = apiClient.getResiliencia();
+        this.metricas = apiClient.getMetricas();
+        this.readTimeout = Duration.ofMillis(configuracao.readTimeout());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.getsEmAndamento = configuracao.coalescerGets()
+                ? new ChamadasEmAndamento<>(ChamadasEmAndamento.esperaPara(configuracao)) : null;
+
+        if (System.getProperty(PROPRIEDADE_KEEP_ALIVE) == null) {
+            System.setProperty(PROPRIEDADE_KEEP_ALIVE, String.valueOf(Math.max(1, configuracao.keepAliveMs() / 1000)));
+        }
+
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(configuracao.connectionTimeout()))
+                .version(configuracao.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+
+        LOGGER.info("AsyncApiClient inicializado com base URL: " + this.baseUrl
+                + " (" + (configuracao.http2() ? "HTTP/2" : "HTTP/1.1") + ")");
+    }
+
+    /**
+     * GET que extrai o dado do ApiResponse
+     */
+    public <T> CompletableFuture<T> getAsync(String endpoint, Class<T> responseType) {
+        LOGGER.info("GET ASYNC: " + baseUrl + endpoint);
+        return enviarGet(endpoint)
+                .thenApply(r -> ler(() -> leitor.lerObjeto(r.statusCode(), texto(r), responseType)));
+    }
+
+    /**
+     * GET que retorna uma lista
+     */
+    public <T> CompletableFuture<List<T>> getListAsync(String endpoint, TypeReference<List<T>> typeReference) {
+        LOGGER.info("GET LIST ASYNC: " + baseUrl + endpoint);
+        return enviarGet(endpoint)
+                .thenApply(r -> ler(() -> leitor.lerLista(r.statusCode(), fluxo(r), typeReference)));
+    }
+
+    /**
+     * POST
+     */
+    public <T, R> CompletableFuture<R> postAsync(String endpoint, T requestBody, Class<R> responseType) {
+        LOGGER.info("POST ASYNC: " + baseUrl + endpoint);
+        return comCorpo(endpoint, "POST", requestBody)
+                .thenCompose(req -> enviar(req, "POST", endpoint))
+                .thenApply(r -> ler(() -> leitor.lerObjeto(r.statusCode(), texto(r), responseType)));
+    }
+
+    /**
+     * POST que retorna uma lista
+     */
+    public <T, R> CompletableFuture<List<R>> postListAsync(String endpoint, T requestBody, TypeReference<List<R>> typeReference) {
+        LOGGER.info("POST LIST ASYNC: " + baseUrl + endpoint);
+        return comCorpo(endpoint, "POST", requestBody)
+                .thenCompose(req -> enviar(req, "POST", endpoint))
+                .thenApply(r -> ler(() -> leitor.lerLista(r.statusCode(), fluxo(r), typeReference)));
+    }
+
+    /**
+     * PUT
+     */
+    public <T, R> CompletableFuture<R> putAsync(String endpoint, T requestBody, Class<R> responseType) {
+        LOGGER.info("PUT ASYNC: " + baseUrl + endpoint);
+        return comCorpo(endpoint, "PUT", requestBody)
+                .thenCompose(req -> enviar(req, "PUT", endpoint))
+                .thenApply(r -> ler(() -> leitor.lerObjeto(r.statusCode(), texto(r), responseType)));
+    }
+
+    /**
+     * DELETE
+     */
+    public CompletableFuture<Boolean> deleteAsync(String endpoint) {
+        LOGGER.info("DELETE ASYNC: " + baseUrl + endpoint);
+        return enviar(requisicao(endpoint).DELETE().build(), "DELETE", endpoint)
+                .thenApply(r -> leitor.lerDelete(r.statusCode(), texto(r)));
+    }
+
+    /**
+     * ApiException por trás de uma falha do future (ou uma nova, embrulhando a causa)
+     */
+    public static ApiException causaDe(Throwable erro) {
+        Throwable causa = erro;
+        while (causa instanceof CompletionException && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        if (causa instanceof ApiException apiException) {
+            return apiException;
+        }
+        return new ApiException(causa.getMessage(), causa);
+    }
+
+    /**
+     * GETs atendidos por uma requisição idêntica que já estava em andamento
+     */
+    public long getGetsCoalescidos() {
+        return getsEmAndamento != null ? getsEmAndamento.getCompartilhadas() : 0;
+    }
+
+    /**
+     * Fecha o cliente e o executor; requisições em andamento são abandonadas
+     */
+    public void close() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+        LOGGER.info("AsyncApiClient fechado");
+    }
+
+    private HttpRequest.Builder requisicao(String endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (configuracao.comprimirResposta()) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder;
+    }
+
+    // A serialização pode ser pesada, então também sai da thread chamadora
+    private CompletableFuture<HttpRequest> comCorpo(String endpoint, String metodo, Object requestBody) {
+        return CompletableFuture.supplyAsync(() -> {
+            HttpRequest.Builder builder = requisicao(endpoint);
+            HttpRequest.BodyPublisher corpo = HttpRequest.BodyPublishers.noBody();
+            if (requestBody != null) {
+                String json = ler(() -> leitor.paraJson(requestBody));
+                LOGGER.fine(metodo + " Body: " + json);
+                byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+                if (configuracao.comprimirRequisicao() && bytes.length >= configuracao.tamanhoMinimoCompressao()) {
+                    bytes = comprimir(bytes);
+                    builder.header("Content-Encoding", "gzip");
+                }
+                corpo = HttpRequest.BodyPublishers.ofByteArray(bytes);
+            }
+            return builder.method(metodo, corpo).build();
+        }, executor);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> enviar(HttpRequest request, String metodo, String endpoint) {
+        if (resiliencia == null) {
+            return enviarHttp(request, metodo, endpoint);
+        }
+
+        // Sem espera pelo bulkhead: a thread chamadora pode ser a EDT
+        Resiliencia.Permissao permissao;
+        try {
+            permissao = resiliencia.entrar(endpoint, 0);
+        } catch (RequisicaoRejeitadaException e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+        return enviarHttp(request, metodo, endpoint)
+                .whenComplete((resposta, erro) -> permissao.concluir(erro != null || resposta.statusCode() >= 500));
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> enviarHttp(HttpRequest request, String metodo, String endpoint) {
+        long inicio = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> resposta = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .exceptionally(e -> {
+                    throw falhaDeRede(e, metodo, endpoint);
+                });
+        if (metricas == null) {
+            return resposta;
+        }
+        long enviados = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        return resposta.whenComplete((r, erro) -> metricas.registrar(metodo, endpoint, System.nanoTime() - inicio, -1,
+                Math.max(0, enviados), r != null && r.body() != null ? r.body().length : 0,
+                erro != null || r.statusCode() >= 400));
+    }
+
+    // GETs idênticos em andamento compartilham a resposta crua; cada chamador a interpreta por conta própria
+    private CompletableFuture<HttpResponse<byte[]>> enviarGet(String endpoint) {
+        if (getsEmAndamento == null) {
+            return enviar(requisicao(endpoint).GET().build(), "GET", endpoint);
+        }
+        return getsEmAndamento.executarAsync(baseUrl + endpoint,
+                () -> enviar(requisicao(endpoint).GET().build(), "GET", endpoint));
+    }
+
+    private static CompletionException falhaDeRede(Throwable erro, String metodo, String endpoint) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        return new CompletionException(new ApiException(
+                "Erro na requisição " + metodo + " para " + endpoint + ": " + causa.getMessage(), causa, true));
+    }
+
+    // Corpo vazio equivale à resposta sem entidade do Apache HttpClient
+    private static String texto(HttpResponse<byte[]> resposta) {
+        InputStream fluxo = fluxo(resposta);
+        if (fluxo == null) {
+            return null;
+        }
+        try (InputStream in = fluxo) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new CompletionException(new ApiException("Erro ao descomprimir resposta: " + e.getMessage(), e));
+        }
+    }
+
+    private static InputStream fluxo(HttpResponse<byte[]> resposta) {
+        byte[] corpo = resposta.body();
+        if (corpo == null || corpo.length == 0) {
+            return null;
+        }
+        InputStream in = new ByteArrayInputStream(corpo);
+        boolean gzip = resposta.headers().firstValue("Content-Encoding")
+                .map(v -> v.trim().equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzip) {
+            return in;
+        }
+        try {
+            return new GZIPInputStream(in);
+        } catch (IOException e) {
+            throw new CompletionException(new ApiException("Erro ao descomprimir resposta: " + e.getMessage(), e));
+        }
+    }
+
+    private static byte[] comprimir(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new CompletionException(new ApiException("Erro ao comprimir corpo da requisição: " + e.getMessage(), e));
+        }
+        return saida.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Leitura<T> {
+        T ler() throws ApiException;
+    }
+
+    // Leva a ApiException checada para dentro do CompletableFuture
+    private static <T> T ler(Leitura<T> leitura) {
+        try {
+            return leitura.ler();
+        } catch (ApiException e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.mycompany.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cópias locais das respostas GET com ETag / Last-Modified, por URL
+ *
+ * O ApiClient reenvia os validadores em If-None-Match / If-Modified-Since; quando o
+ * servidor responde 304 o corpo guardado aqui é usado no lugar do download.
+ * Guarda o corpo cru (já descomprimido), então cada uso gera objetos novos.
+ * O tamanho total é limitado; ao passar do limite sai a entrada usada há mais tempo
+ */
+public final class CacheCondicional {
+
+    /**
+     * Resposta guardada e seus validadores (qualquer um pode ser null, mas não ambos)
+     */
+    record Entrada(String etag, String lastModified, byte[] corpo) {}
+
+    /**
+     * Contadores acumulados
+     * @param validacoes respostas 304 servidas do cache
+     * @param downloads respostas 200 baixadas por inteiro (com ou sem cópia guardada antes)
+     * @param bytesEconomizados soma dos corpos servidos do cache em vez da rede
+     */
+    public record Metricas(long validacoes, long downloads, long bytesEconomizados, int entradas, long bytesGuardados) {
+
+        @Override
+        public String toString() {
+            return "304=" + validacoes + ", 200=" + downloads
+                    + ", economizado=" + (bytesEconomizados / 1024) + " KB"
+                    + ", entradas=" + entradas + " (" + (bytesGuardados / 1024) + " KB)";
+        }
+    }
+
+    private final long maxBytes;
+    private long bytesGuardados = 0;
+
+    // URL → entrada, em ordem de acesso (LRU); protegido por this
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(32, 0.75f, true);
+
+    private final AtomicLong validacoes = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong bytesEconomizados = new AtomicLong();
+
+    CacheCondicional(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Entrada get(String url) {
+        return entradas.get(url);
+    }
+
+    /**
+     * Guarda (ou substitui) a resposta; sem validadores a entrada antiga é descartada
+     */
+    synchronized void guardar(String url, String etag, String lastModified, byte[] corpo) {
+        remover(url);
+        if ((etag == null && lastModified == null) || corpo == null || corpo.length > maxBytes) {
+            return;
+        }
+        entradas.put(url, new Entrada(etag, lastModified, corpo));
+        bytesGuardados += corpo.length;
+
+        Iterator<Entrada> maisAntigas = entradas.values().iterator();
+        while (bytesGuardados > maxBytes && maisAntigas.hasNext()) {
+            bytesGuardados -= maisAntigas.next().corpo().length;
+            maisAntigas.remove();
+        }
+    }
+
+    synchronized void remover(String url) {
+        Entrada antiga = entradas.remove(url);
+        if (antiga != null) {
+            bytesGuardados -= antiga.corpo().length;
+        }
+    }
+
+    synchronized void limpar() {
+        entradas.clear();
+        bytesGuardados = 0;
+    }
+
+    void registrarValidacao(Entrada entrada) {
+        validacoes.incrementAndGet();
+        bytesEconomizados.addAndGet(entrada.corpo().length);
+    }
+
+    void registrarDownload() {
+        downloads.incrementAndGet();
+    }
+
+    synchronized Metricas getMetricas() {
+        return new Metricas(validacoes.get(), downloads.get(), bytesEconomizados.get(), entradas.size(), bytesGuardados);
+    }
+}
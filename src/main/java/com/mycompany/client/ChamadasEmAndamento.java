@@ -0,0 +1,135 @@
+package com.mycompany.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas idênticas (single-flight)
+ *
+ * A primeira chamada para uma chave executa a busca; as que chegam enquanto ela
+ * está em andamento esperam o mesmo resultado em vez de repetir a requisição.
+ * A entrada sai do mapa assim que a busca termina, então nada é reaproveitado
+ * depois: quem chega depois faz uma nova requisição
+ *
+ * O valor compartilhado deve ser imutável (ou só lido); cada chamador monta os
+ * próprios objetos a partir dele. Quem espera a chamada de outro desiste depois de
+ * esperaMaximaMs, para que um líder travado não prenda os demais
+ */
+final class ChamadasEmAndamento<V> {
+
+    @FunctionalInterface
+    interface Busca<V> {
+        V buscar() throws ApiException;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final AtomicLong compartilhadas = new AtomicLong();
+    private final long esperaMaximaMs;
+
+    ChamadasEmAndamento(long esperaMaximaMs) {
+        this.esperaMaximaMs = Math.max(1, esperaMaximaMs);
+    }
+
+    /**
+     * Espera de quem pega carona: conexão e leitura do líder, com folga para a espera
+     * por uma conexão livre no pool
+     */
+    static long esperaPara(ApiClientConfig configuracao) {
+        return 2L * configuracao.connectionTimeout() + configuracao.readTimeout();
+    }
+
+    /**
+     * Executa a busca ou espera a chamada idêntica já em andamento
+     */
+    V executar(String chave, Busca<V> busca) throws ApiException {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            compartilhadas.incrementAndGet();
+            return aguardar(existente, chave, esperaMaximaMs);
+        }
+
+        try {
+            V valor = busca.buscar();
+            nova.complete(valor);
+            return valor;
+        } catch (Throwable e) {
+            // Inclui Error: quem espera recebe a falha em vez de ficar preso no future
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    /**
+     * Variante assíncrona: inicia a busca ou devolve o future da chamada idêntica em andamento
+     */
+    CompletableFuture<V> executarAsync(String chave, Supplier<CompletableFuture<V>> iniciar) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            compartilhadas.incrementAndGet();
+            // Cópia: o prazo vale só para este chamador, não para o future compartilhado
+            return existente.copy().orTimeout(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            iniciar.get().whenComplete((valor, erro) -> {
+                emAndamento.remove(chave, nova);
+                if (erro != null) {
+                    nova.completeExceptionally(erro);
+                } else {
+                    nova.complete(valor);
+                }
+            });
+        } catch (Throwable e) {
+            emAndamento.remove(chave, nova);
+            nova.completeExceptionally(e);
+        }
+        return nova;
+    }
+
+    /**
+     * Chamadas atendidas por uma requisição que já estava em andamento
+     */
+    long getCompartilhadas() {
+        return compartilhadas.get();
+    }
+
+    int getEmAndamento() {
+        return emAndamento.size();
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro, String chave, long esperaMaximaMs) throws ApiException {
+        try {
+            return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiException("Tempo esgotado (" + esperaMaximaMs + "ms) aguardando requisição idêntica: " + chave, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrompido aguardando " + chave, e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            while (causa instanceof CompletionException && causa.getCause() != null) {
+                causa = causa.getCause();
+            }
+            if (causa instanceof ApiException apiException) {
+                throw apiException;
+            }
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new ApiException(causa.getMessage(), causa);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.mycompany.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.mycompany.client.dto.PacienteDTO;
+import com.mycompany.client.dto.PacienteEspecialidadeDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Texto do WebSocket → EventoWebSocket, numa única passada
+ *
+ * O envelope ({type, action, pacienteId, message, data}) é percorrido com JsonParser
+ * e o "data" é ligado direto ao DTO certo para o type/action, sem montar a árvore
+ * JsonNode nem convertê-la depois. Se o "data" chegar antes de type/action, ele é
+ * guardado num TokenBuffer e ligado no fim
+ *
+ * O número de sequência ("seq"), quando o servidor o envia, sai junto do evento
+ * para a SequenciaEventos
+ */
+final class DecodificadorEventos {
+
+    private enum Tipo { PACIENTE, ASSOCIACAO, SISTEMA, OUTRO }
+
+    private enum Acao { CRIADO, ATUALIZADO, REMOVIDO, CRIADO_LOTE, REMOVIDO_LOTE, ATUALIZACAO_COMPLETA, OUTRA }
+
+    /**
+     * Evento decodificado e seu número de sequência (-1 se o servidor não numerou)
+     */
+    record Mensagem(long seq, EventoWebSocket evento) {}
+
+    // Ids de um "data" de remoção
+    private record Referencia(Integer id, Integer pacienteId, Integer especialidadeId) {}
+
+    private final ObjectMapper objectMapper;
+    private final JavaType listaAssociacoes;
+
+    DecodificadorEventos(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.listaAssociacoes = objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PacienteEspecialidadeDTO.class);
+    }
+
+    Mensagem decodificar(String texto) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(texto)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Mensagem(-1, new EventoWebSocket.Ignorado("Mensagem WebSocket inválida - não é um objeto JSON"));
+            }
+
+            long seq = -1;
+            String type = null;
+            String action = null;
+            String mensagem = null;
+            Integer pacienteId = null;
+            boolean temData = false;
+            Object dados = null;
+            TokenBuffer dadosAdiados = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+
+                switch (campo) {
+                    case "seq" -> seq = valor == JsonToken.VALUE_NULL ? -1 : parser.getValueAsLong(-1);
+                    case "type" -> type = parser.getValueAsString();
+                    case "action" -> action = parser.getValueAsString();
+                    case "message" -> mensagem = parser.getValueAsString();
+                    case "pacienteId" -> pacienteId = valor == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                    case "data" -> {
+                        temData = true;
+                        if (type != null && action != null) {
+                            dados = lerDados(parser, tipo(type), acao(action));
+                        } else {
+                            dadosAdiados = new TokenBuffer(parser);
+                            dadosAdiados.copyCurrentStructure(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if ("system".equals(type)) {
+                return new Mensagem(seq, "REPLAY_UNAVAILABLE".equalsIgnoreCase(action)
+                        ? new EventoWebSocket.RetomadaRecusada(mensagem)
+                        : new EventoWebSocket.Sistema(mensagem));
+            }
+            if (type == null || action == null || !temData && !"DELETED_BATCH".equals(action)) {
+                return new Mensagem(seq, new EventoWebSocket.Ignorado("Mensagem WebSocket inválida - campos obrigatórios ausentes"));
+            }
+
+            Tipo tipo = tipo(type);
+            Acao acao = acao(action);
+            if (dadosAdiados != null) {
+                try (JsonParser parserDados = dadosAdiados.asParser(objectMapper)) {
+                    parserDados.nextToken();
+                    dados = lerDados(parserDados, tipo, acao);
+                }
+            }
+
+            EventoWebSocket evento = switch (tipo) {
+                case PACIENTE -> eventoPaciente(acao, action, dados);
+                case ASSOCIACAO -> eventoAssociacao(acao, action, dados, pacienteId);
+                default -> new EventoWebSocket.Ignorado("Tipo de notificação desconhecido: " + type);
+            };
+            return new Mensagem(seq, evento);
+        }
+    }
+
+    /**
+     * Liga o valor atual do parser ao DTO esperado para o tipo/ação (null se não servir)
+     */
+    private Object lerDados(JsonParser parser, Tipo tipo, Acao acao) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (acao == Acao.REMOVIDO && token == JsonToken.START_OBJECT) {
+            return lerReferencia(parser);
+        }
+        if (token == JsonToken.START_ARRAY && tipo == Tipo.ASSOCIACAO) {
+            return objectMapper.readValue(parser, listaAssociacoes);
+        }
+        if (token == JsonToken.START_OBJECT) {
+            switch (tipo) {
+                case PACIENTE:
+                    return objectMapper.readValue(parser, PacienteDTO.class);
+                case ASSOCIACAO:
+                    return objectMapper.readValue(parser, PacienteEspecialidadeDTO.class);
+                default:
+                    break;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Referencia lerReferencia(JsonParser parser) throws IOException {
+        Integer id = null, pacienteId = null, especialidadeId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            if (valor.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            Integer numero = valor == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+            switch (campo) {
+                case "id" -> id = numero;
+                case "pacienteId" -> pacienteId = numero;
+                case "especialidadeId" -> especialidadeId = numero;
+                default -> { }
+            }
+        }
+        return new Referencia(id, pacienteId, especialidadeId);
+    }
+
+    private static EventoWebSocket eventoPaciente(Acao acao, String action, Object dados) {
+        return switch (acao) {
+            case CRIADO -> dados instanceof PacienteDTO dto
+                    ? new EventoWebSocket.PacienteCriado(dto)
+                    : new EventoWebSocket.Ignorado("Paciente criado sem dados");
+            case ATUALIZADO -> dados instanceof PacienteDTO dto
+                    ? new EventoWebSocket.PacienteAtualizado(dto)
+                    : new EventoWebSocket.Ignorado("⚠️ DataNode nulo ou vazio para ação de atualização");
+            case REMOVIDO -> dados instanceof Referencia ref && ref.id() != null
+                    ? new EventoWebSocket.PacienteRemovido(ref.id())
+                    : new EventoWebSocket.Ignorado("⚠️ ID não encontrado nos dados para remoção");
+            default -> new EventoWebSocket.Ignorado("❌ Ação desconhecida para paciente: '" + action + "'");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventoWebSocket eventoAssociacao(Acao acao, String action, Object dados, Integer pacienteId) {
+        return switch (acao) {
+            case CRIADO -> {
+                if (dados instanceof PacienteEspecialidadeDTO dto) {
+                    yield new EventoWebSocket.AssociacaoCriada(dto);
+                }
+                yield dados instanceof List<?> lista
+                        ? new EventoWebSocket.AssociacoesCriadas(null, (List<PacienteEspecialidadeDTO>) lista)
+                        : new EventoWebSocket.Ignorado("Associação criada sem dados");
+            }
+            case CRIADO_LOTE -> dados instanceof List<?> lista && pacienteId != null
+                    ? new EventoWebSocket.AssociacoesCriadas(pacienteId, (List<PacienteEspecialidadeDTO>) lista)
+                    : new EventoWebSocket.Ignorado("CREATED_BATCH sem pacienteId ou sem array de associações");
+            case ATUALIZADO -> dados instanceof PacienteEspecialidadeDTO dto
+                    ? new EventoWebSocket.AssociacaoAtualizada(dto)
+                    : new EventoWebSocket.Ignorado("Associação atualizada sem dados");
+            case REMOVIDO -> dados instanceof Referencia ref && ref.pacienteId() != null && ref.especialidadeId() != null
+                    ? new EventoWebSocket.AssociacaoRemovida(ref.pacienteId(), ref.especialidadeId())
+                    : new EventoWebSocket.Ignorado("Remoção de associação sem pacienteId/especialidadeId");
+            case REMOVIDO_LOTE -> {
+                if (pacienteId == null) {
+                    yield new EventoWebSocket.Ignorado("DELETED_BATCH sem pacienteId");
+                }
+                // Sem lista (ou lista vazia) remove todas as associações do paciente
+                List<PacienteEspecialidadeDTO> removidas = dados instanceof List<?> lista && !lista.isEmpty()
+                        ? (List<PacienteEspecialidadeDTO>) lista : null;
+                yield new EventoWebSocket.AssociacoesRemovidas(pacienteId, removidas);
+            }
+            case ATUALIZACAO_COMPLETA -> dados instanceof List<?> lista && pacienteId != null
+                    ? new EventoWebSocket.AssociacoesSubstituidas(pacienteId, (List<PacienteEspecialidadeDTO>) lista)
+                    : new EventoWebSocket.Ignorado("COMPLETE_UPDATE sem pacienteId ou sem array de associações");
+            default -> new EventoWebSocket.Ignorado("❌ Ação desconhecida para paciente_especialidade: " + action);
+        };
+    }
+
+    private static Tipo tipo(String type) {
+        return switch (type) {
+            case "paciente" -> Tipo.PACIENTE;
+            case "paciente_especialidade" -> Tipo.ASSOCIACAO;
+            case "system" -> Tipo.SISTEMA;
+            default -> Tipo.OUTRO;
+        };
+    }
+
+    // Sem toLowerCase: compara ignorando caixa, sem criar outra String
+    private static Acao acao(String action) {
+        if (action.equalsIgnoreCase("created") || action.equalsIgnoreCase("create")) {
+            return Acao.CRIADO;
+        }
+        if (action.equalsIgnoreCase("updated") || action.equalsIgnoreCase("update")) {
+            return Acao.ATUALIZADO;
+        }
+        if (action.equalsIgnoreCase("deleted") || action.equalsIgnoreCase("delete")) {
+            return Acao.REMOVIDO;
+        }
+        if (action.equalsIgnoreCase("created_batch")) {
+            return Acao.CRIADO_LOTE;
+        }
+        if (action.equalsIgnoreCase("deleted_batch")) {
+            return Acao.REMOVIDO_LOTE;
+        }
+        if (action.equalsIgnoreCase("complete_update")) {
+            return Acao.ATUALIZACAO_COMPLETA;
+        }
+        return Acao.OUTRA;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.client;
+
+import com.mycompany.client.dto.PacienteDTO;
+import com.mycompany.client.dto.PacienteEspecialidadeDTO;
+
+import java.util.List;
+
+/**
+ * Notificação recebida pelo WebSocket, já decodificada (DecodificadorEventos)
+ *
+ * Cada combinação de type/action do servidor vira um record; o WebSocketClient
+ * despacha com um switch exaustivo sobre a hierarquia selada
+ */
+public sealed interface EventoWebSocket {
+
+    /** Mensagem informativa do servidor (type "system") */
+    record Sistema(String mensagem) implements EventoWebSocket {}
+
+    /** O servidor não tem mais os eventos pedidos na retomada (REPLAY_UNAVAILABLE) */
+    record RetomadaRecusada(String mensagem) implements EventoWebSocket {}
+
+    record PacienteCriado(PacienteDTO paciente) implements EventoWebSocket {}
+
+    record PacienteAtualizado(PacienteDTO paciente) implements EventoWebSocket {}
+
+    record PacienteRemovido(int pacienteId) implements EventoWebSocket {}
+
+    record AssociacaoCriada(PacienteEspecialidadeDTO associacao) implements EventoWebSocket {}
+
+    /**
+     * Várias associações criadas de uma vez
+     * @param pacienteId do envelope (created_batch); null em "created" com array, em que vem das associações
+     */
+    record AssociacoesCriadas(Integer pacienteId, List<PacienteEspecialidadeDTO> associacoes) implements EventoWebSocket {}
+
+    record AssociacaoAtualizada(PacienteEspecialidadeDTO associacao) implements EventoWebSocket {}
+
+    record AssociacaoRemovida(int pacienteId, int especialidadeId) implements EventoWebSocket {}
+
+    /**
+     * @param associacoes as removidas, ou null para todas as do paciente
+     */
+    record AssociacoesRemovidas(int pacienteId, List<PacienteEspecialidadeDTO> associacoes) implements EventoWebSocket {}
+
+    /** As associações do paciente passam a ser exatamente estas (complete_update) */
+    record AssociacoesSubstituidas(int pacienteId, List<PacienteEspecialidadeDTO> associacoes) implements EventoWebSocket {}
+
+    /** Mensagem sem efeito: inválida, de tipo/ação desconhecidos ou sem os dados exigidos */
+    record Ignorado(String motivo) implements EventoWebSocket {}
+}
@@ -0,0 +1,116 @@
+package com.mycompany.client;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fila limitada entre o recebimento do WebSocket e o processamento das mensagens
+ *
+ * O onMessage só enfileira o texto e volta; uma única thread consumidora faz o parse
+ * e chama os listeners, na ordem de chegada. Assim um listener lento não segura a
+ * leitura do socket. Com a fila cheia a mensagem mais antiga é descartada (o
+ * recebimento nunca bloqueia) e o descarte fica contado nas estatísticas
+ */
+public final class FilaMensagens {
+
+    private static final Logger LOGGER = Logger.getLogger(FilaMensagens.class.getName());
+
+    /**
+     * Contadores da fila
+     * @param profundidade mensagens aguardando agora
+     * @param profundidadeMaxima maior profundidade já vista
+     * @param processadas mensagens entregues ao processador
+     * @param descartadas mensagens antigas descartadas com a fila cheia
+     * @param atrasoUltimoMs do recebimento ao início do processamento, na última mensagem
+     * @param atrasoMaximoMs maior atraso já visto
+     */
+    public record Estatisticas(int profundidade, int profundidadeMaxima, long processadas, long descartadas,
+                        long atrasoUltimoMs, long atrasoMaximoMs) {
+
+        @Override
+        public String toString() {
+            return "na fila=" + profundidade + " (máx " + profundidadeMaxima + ")"
+                    + ", processadas=" + processadas
+                    + ", descartadas=" + descartadas
+                    + ", atraso=" + atrasoUltimoMs + "ms (máx " + atrasoMaximoMs + "ms)";
+        }
+    }
+
+    private record Mensagem(String texto, long recebidaEm) {}
+
+    private final LinkedBlockingDeque<Mensagem> fila;
+    private final Consumer<String> processador;
+    private final Thread consumidor;
+
+    private final AtomicLong processadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong profundidadeMaxima = new AtomicLong();
+    private volatile long atrasoUltimoNanos = 0;
+    private final AtomicLong atrasoMaximoNanos = new AtomicLong();
+
+    FilaMensagens(int capacidade, Consumer<String> processador) {
+        this.fila = new LinkedBlockingDeque<>(Math.max(1, capacidade));
+        this.processador = processador;
+        this.consumidor = new Thread(this::consumir, "websocket-mensagens");
+        this.consumidor.setDaemon(true);
+        this.consumidor.start();
+    }
+
+    /**
+     * Enfileira sem bloquear; com a fila cheia descarta a mais antiga
+     */
+    void enfileirar(String texto) {
+        Mensagem mensagem = new Mensagem(texto, System.nanoTime());
+        while (!fila.offerLast(mensagem)) {
+            if (fila.pollFirst() != null && descartadas.incrementAndGet() % 100 == 1) {
+                LOGGER.warning("Fila de mensagens do WebSocket cheia - descartando as mais antigas (" + descartadas.get() + " até agora)");
+            }
+        }
+        profundidadeMaxima.accumulateAndGet(fila.size(), Math::max);
+    }
+
+    /**
+     * Encerra a thread consumidora; mensagens ainda na fila são abandonadas
+     */
+    void parar() {
+        consumidor.interrupt();
+        fila.clear();
+    }
+
+    long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(fila.size(), (int) profundidadeMaxima.get(), processadas.get(), descartadas.get(),
+                TimeUnit.NANOSECONDS.toMillis(atrasoUltimoNanos), TimeUnit.NANOSECONDS.toMillis(atrasoMaximoNanos.get()));
+    }
+
+    private void consumir() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Mensagem mensagem;
+            try {
+                mensagem = fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            long atraso = System.nanoTime() - mensagem.recebidaEm();
+            atrasoUltimoNanos = atraso;
+            atrasoMaximoNanos.accumulateAndGet(atraso, Math::max);
+
+            try {
+                processador.accept(mensagem.texto());
+            } catch (RuntimeException e) {
+                // Uma mensagem com problema não pode derrubar a thread consumidora
+                LOGGER.log(Level.SEVERE, "Erro ao processar mensagem WebSocket", e);
+            }
+            processadas.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.mycompany.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Interpretação das respostas da API Spring Boot (ApiResponse, Page ou corpo direto)
+ *
+ * Não depende do motor HTTP: recebe só o status e o corpo, então o ApiClient
+ * (Apache HttpClient) e o AsyncApiClient (java.net.http) desembrulham as
+ * respostas exatamente do mesmo jeito
+ */
+final class LeitorResposta {
+
+    private static final Logger LOGGER = Logger.getLogger(LeitorResposta.class.getName());
+
+    private final ObjectMapper objectMapper;
+
+    LeitorResposta(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Corpo JSON de uma requisição
+     */
+    String paraJson(Object corpo) throws ApiException {
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (JsonProcessingException e) {
+            throw new ApiException("Erro ao serializar corpo da requisição: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resposta para um objeto único
+     * @param responseBody corpo da resposta, ou null se não houver entidade
+     */
+    <T> T lerObjeto(int statusCode, String responseBody, Class<T> responseType) throws ApiException {
+        LOGGER.fine("Response status: " + statusCode);
+
+        if (responseBody == null) {
+            if (statusCode >= 200 && statusCode < 300) {
+                // Resposta vazia mas sucesso
+                if (responseType == Boolean.class) {
+                    return responseType.cast(Boolean.TRUE);
+                } else if (responseType == Integer.class) {
+                    return responseType.cast(0);
+                }
+                return null;
+            }
+            throw new ApiException("Erro HTTP " + statusCode + " - Resposta vazia", statusCode);
+        }
+
+        LOGGER.fine("Response body: " + responseBody);
+
+        if (statusCode < 200 || statusCode >= 300) {
+            throw erroHttp(statusCode, responseBody);
+        }
+
+        if (responseBody.trim().isEmpty()) {
+            return null;
+        }
+
+        // Primeiro, verifica se é uma resposta ApiResponse
+        try {
+            JsonNode rootNode = objectMapper.readTree(responseBody);
+
+            if (rootNode.has("success") && rootNode.has("data")) {
+                // É uma ApiResponse - verifica se foi bem-sucedida
+                boolean success = rootNode.get("success").asBoolean();
+
+                if (!success) {
+                    String error = rootNode.has("error") ? rootNode.get("error").asText() : "Erro desconhecido";
+                    throw new ApiException("API retornou erro: " + error);
+                }
+
+                // Extrai os dados da resposta
+                JsonNode dataNode = rootNode.get("data");
+
+                if (dataNode.isNull()) {
+                    return null;
+                }
+
+                // Deserializa os dados para o tipo esperado
+                if (responseType == String.class) {
+                    return responseType.cast(dataNode.asText());
+                } else if (responseType == Integer.class) {
+                    return responseType.cast(dataNode.asInt());
+                } else if (responseType == Boolean.class) {
+                    return responseType.cast(dataNode.asBoolean());
+                } else if (responseType == Long.class) {
+                    return responseType.cast(dataNode.asLong());
+                } else if (responseType == Double.class) {
+                    return responseType.cast(dataNode.asDouble());
+                } else {
+                    // Para objetos complexos, usa o ObjectMapper
+                    return objectMapper.treeToValue(dataNode, responseType);
+                }
+            } else {
+                // Não é uma ApiResponse, tenta deserializar diretamente
+                LOGGER.fine("Resposta não é ApiResponse, deserializando diretamente");
+                return deserializeDirect(responseBody, responseType);
+            }
+
+        } catch (Exception jsonException) {
+            LOGGER.fine("Erro ao parsear como JSON, tentando deserialização direta: " + jsonException.getMessage());
+            return deserializeDirect(responseBody, responseType);
+        }
+    }
+
+    /**
+     * Resposta de um DELETE: o campo "success" da ApiResponse, ou o status HTTP
+     */
+    boolean lerDelete(int statusCode, String responseBody) {
+        boolean sucessoHttp = statusCode >= 200 && statusCode < 300;
+
+        if (responseBody != null && sucessoHttp) {
+            try {
+                // Tenta parsear como ApiResponse
+                JsonNode rootNode = objectMapper.readTree(responseBody);
+                if (rootNode.has("success")) {
+                    boolean success = rootNode.get("success").asBoolean();
+                    LOGGER.info("DELETE response: " + statusCode + " - success: " + success);
+                    return success;
+                }
+            } catch (Exception e) {
+                LOGGER.fine("Resposta DELETE não é JSON estruturado, assumindo sucesso pelo status code");
+            }
+            return true; // Se não conseguir parsear, assume sucesso pelo status code
+        }
+
+        LOGGER.info("DELETE response: " + statusCode + (sucessoHttp ? " (success)" : " (failed)"));
+        return sucessoHttp;
+    }
+
+    /**
+     * Deserialização direta sem ApiResponse wrapper
+     */
+    private <T> T deserializeDirect(String responseBody, Class<T> responseType) throws ApiException {
+        try {
+            if (responseType == String.class) {
+                return responseType.cast(responseBody);
+            } else if (responseType == Boolean.class) {
+                if ("true".equalsIgnoreCase(responseBody.trim()) || "false".equalsIgnoreCase(responseBody.trim())) {
+                    return responseType.cast(Boolean.valueOf(responseBody.trim()));
+                }
+                return responseType.cast(Boolean.TRUE);
+            } else if (responseType == Integer.class) {
+                try {
+                    return responseType.cast(Integer.valueOf(responseBody.trim()));
+                } catch (NumberFormatException e) {
+                    throw new ApiException("Não foi possível converter resposta para Integer: " + responseBody);
+                }
+            }
+
+            return objectMapper.readValue(responseBody, responseType);
+
+        } catch (IOException e) {
+            throw new ApiException("Erro na deserialização direta: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resposta para uma lista (array direto, ApiResponse ou Page)
+     * A leitura é feita em streaming: o envelope é percorrido com JsonParser e o
+     * array é ligado direto aos DTOs, sem montar a árvore JsonNode nem cópias
+     * intermediárias do corpo em String. O stream é fechado ao final
+     * @param content corpo da resposta, ou null se não houver entidade
+     */
+    <T> List<T> lerLista(int statusCode, InputStream content, TypeReference<List<T>> typeReference) throws ApiException {
+        LOGGER.fine("List response status: " + statusCode);
+
+        if (content == null) {
+            if (statusCode >= 200 && statusCode < 300) {
+                return new ArrayList<>();
+            }
+            throw new ApiException("Erro HTTP " + statusCode + " - Resposta vazia", statusCode);
+        }
+
+        if (statusCode < 200 || statusCode >= 300) {
+            String responseBody;
+            try (InputStream in = content) {
+                responseBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new ApiException("Erro ao processar resposta da lista: " + e.getMessage(), e);
+            }
+            throw erroHttp(statusCode, responseBody);
+        }
+
+        JavaType listType = objectMapper.getTypeFactory().constructType(typeReference);
+
+        try (InputStream in = content;
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            JsonToken token = parser.nextToken();
+
+            // Corpo vazio
+            if (token == null) {
+                return new ArrayList<>();
+            }
+
+            // Array direto
+            if (token == JsonToken.START_ARRAY) {
+                LOGGER.fine("Detectado array direto");
+                return objectMapper.readValue(parser, listType);
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                LOGGER.warning("Formato de resposta desconhecido, token inicial: " + token);
+                return new ArrayList<>();
+            }
+
+            return lerEnvelopeLista(parser, listType);
+
+        } catch (JsonProcessingException parseException) {
+            LOGGER.log(Level.WARNING, "Erro ao parsear resposta JSON: " + parseException.getMessage());
+            return new ArrayList<>();
+        } catch (IOException e) {
+            throw new ApiException("Erro ao processar resposta da lista: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Erro HTTP com a mensagem da ApiResponse, quando houver
+     */
+    ApiException erroHttp(int statusCode, String responseBody) {
+        LOGGER.log(Level.WARNING, "Erro HTTP {0}: {1}", new Object[]{statusCode, responseBody});
+
+        // Tenta extrair mensagem de erro da ApiResponse
+        try {
+            JsonNode rootNode = objectMapper.readTree(responseBody);
+            if (rootNode != null && rootNode.has("error")) {
+                return new ApiException("Erro HTTP " + statusCode + ": " + rootNode.get("error").asText(), statusCode);
+            }
+        } catch (Exception e) {
+            // Se não conseguir parsear, usa a resposta raw
+        }
+
+        return new ApiException("Erro HTTP " + statusCode + ": " + responseBody, statusCode);
+    }
+
+    /**
+     * Percorre o objeto raiz da resposta (ApiResponse ou Page do Spring Boot)
+     * O parser deve estar posicionado no START_OBJECT
+     */
+    private <T> List<T> lerEnvelopeLista(JsonParser parser, JavaType listType) throws IOException, ApiException {
+        Boolean success = null;
+        String error = null;
+        boolean temData = false;
+        List<T> dados = null;
+        List<T> conteudoPaginado = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+
+            switch (campo) {
+                case "success" -> success = parser.getValueAsBoolean();
+                case "error" -> error = valor == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                case "data" -> {
+                    temData = true;
+                    dados = lerDadosLista(parser, listType);
+                }
+                case "content" -> conteudoPaginado = objectMapper.readValue(parser, listType);
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Verifica se é uma ApiResponse
+        if (success != null && temData) {
+            if (!success) {
+                throw new ApiException("API retornou erro: " + (error != null ? error : "Erro desconhecido"));
+            }
+            return dados != null ? dados : new ArrayList<>();
+        }
+
+        // Verifica se é uma resposta paginada (Spring Boot Page)
+        if (conteudoPaginado != null) {
+            LOGGER.fine("Detectada resposta paginada (Spring Boot Page)");
+            return conteudoPaginado;
+        }
+
+        LOGGER.warning("Formato de resposta desconhecido - objeto sem 'data' nem 'content'");
+        return new ArrayList<>();
+    }
+
+    /**
+     * Extrai lista do campo "data" da ApiResponse
+     * O parser deve estar posicionado no valor do campo
+     */
+    private <T> List<T> lerDadosLista(JsonParser parser, JavaType listType) throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return new ArrayList<>();
+        }
+
+        if (token == JsonToken.START_ARRAY) {
+            // Data é um array direto
+            return objectMapper.readValue(parser, listType);
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new ArrayList<>();
+        }
+
+        // Data é um objeto: pode ser uma página (content) ou um objeto único.
+        // O "content" é ligado direto; os demais campos ficam num TokenBuffer
+        // para o caso de o objeto ser um item único
+        List<T> conteudo = null;
+        TokenBuffer outrosCampos = new TokenBuffer(parser);
+        outrosCampos.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            parser.nextToken();
+
+            if ("content".equals(campo)) {
+                conteudo = objectMapper.readValue(parser, listType);
+            } else {
+                outrosCampos.writeFieldName(campo);
+                outrosCampos.copyCurrentStructure(parser);
+            }
+        }
+        outrosCampos.writeEndObject();
+
+        if (conteudo != null) {
+            // Data é um objeto paginado
+            return conteudo;
+        }
+
+        // Data é um objeto único, converte para lista
+        LOGGER.fine("Convertendo objeto único em lista");
+        try (JsonParser itemParser = outrosCampos.asParser(objectMapper)) {
+            T item = objectMapper.readValue(itemParser, listType.getContentType());
+            List<T> lista = new ArrayList<>();
+            lista.add(item);
+            return lista;
+        }
+    }
+}
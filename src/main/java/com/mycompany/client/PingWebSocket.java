@@ -0,0 +1,137 @@
+package com.mycompany.client;
+
+import com.mycompany.client.metricas.HistogramaLatencia;
+import jakarta.websocket.PongMessage;
+import jakarta.websocket.Session;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ping/pong periódico para detectar conexões meio abertas
+ *
+ * Atrás do NAT da clínica o socket pode morrer sem onClose nem onError, e as
+ * atualizações simplesmente param. Cada ping leva o nanoTime do envio e o pong
+ * devolve o mesmo conteúdo, o que dá o RTT. Com limiteSemPong pings seguidos sem
+ * resposta a conexão é dada como perdida, então a janela de dados desatualizados
+ * fica limitada a cerca de intervalo * (limiteSemPong + 1)
+ */
+public final class PingWebSocket {
+
+    private static final Logger LOGGER = Logger.getLogger(PingWebSocket.class.getName());
+
+    /**
+     * @param rttUltimoUs RTT do último pong (-1 se ainda não houve)
+     * @param rtt distribuição dos RTTs desde a criação do cliente
+     * @param semResposta pings enviados desde o último pong
+     * @param quedasDetectadas conexões dadas como perdidas por falta de pong
+     */
+    public record Estatisticas(long rttUltimoUs, HistogramaLatencia.Resumo rtt, int semResposta,
+                               long pingsEnviados, long quedasDetectadas) {
+
+        @Override
+        public String toString() {
+            if (rttUltimoUs < 0) {
+                return "sem pong ainda, pings=" + pingsEnviados + ", sem resposta=" + semResposta;
+            }
+            return "RTT=" + String.format(Locale.ROOT, "%.1fms", rttUltimoUs / 1000.0)
+                    + " (" + rtt.percentis() + ")"
+                    + ", pings=" + pingsEnviados
+                    + ", sem resposta=" + semResposta
+                    + ", quedas detectadas=" + quedasDetectadas;
+        }
+    }
+
+    private final long intervaloMs;
+    private final int limiteSemPong;
+    private final Supplier<Session> sessaoConectada;
+    private final Consumer<String> aoFicarSemResposta;
+    private final ScheduledExecutorService agendador;
+
+    private final HistogramaLatencia rtt = new HistogramaLatencia();
+    private final AtomicInteger semResposta = new AtomicInteger();
+    private final AtomicLong rttUltimoUs = new AtomicLong(-1);
+    private final AtomicLong pingsEnviados = new AtomicLong();
+    private final AtomicLong quedasDetectadas = new AtomicLong();
+
+    /**
+     * @param sessaoConectada sessão atual, ou null se desconectado (nada é enviado)
+     * @param aoFicarSemResposta chamado na thread do ping com o motivo; deve derrubar a conexão
+     */
+    PingWebSocket(long intervaloMs, int limiteSemPong, Supplier<Session> sessaoConectada,
+                  Consumer<String> aoFicarSemResposta) {
+        this.intervaloMs = intervaloMs;
+        this.limiteSemPong = Math.max(1, limiteSemPong);
+        this.sessaoConectada = sessaoConectada;
+        this.aoFicarSemResposta = aoFicarSemResposta;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "websocket-ping");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleAtFixedRate(this::pingar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Nova sessão aberta: os pings pendentes da anterior não contam mais
+     */
+    void conexaoAberta() {
+        semResposta.set(0);
+    }
+
+    void pongRecebido(PongMessage pong) {
+        semResposta.set(0);
+        ByteBuffer dados = pong.getApplicationData();
+        if (dados != null && dados.remaining() >= Long.BYTES) {
+            long rttNanos = System.nanoTime() - dados.getLong(dados.position());
+            if (rttNanos >= 0) {
+                rtt.registrarNanos(rttNanos);
+                rttUltimoUs.set(rttNanos / 1000);
+            }
+        }
+    }
+
+    void parar() {
+        agendador.shutdownNow();
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(rttUltimoUs.get(), rtt.resumo(), semResposta.get(),
+                pingsEnviados.get(), quedasDetectadas.get());
+    }
+
+    private void pingar() {
+        try {
+            Session sessao = sessaoConectada.get();
+            if (sessao == null) {
+                return;
+            }
+
+            int pendentes = semResposta.get();
+            if (pendentes >= limiteSemPong) {
+                semResposta.set(0);
+                quedasDetectadas.incrementAndGet();
+                aoFicarSemResposta.accept(pendentes + " pings sem pong em " + (pendentes * intervaloMs) + "ms");
+                return;
+            }
+
+            semResposta.incrementAndGet();
+            ByteBuffer dados = ByteBuffer.allocate(Long.BYTES).putLong(0, System.nanoTime());
+            // Assíncrono: um socket meio aberto não segura esta thread
+            sessao.getAsyncRemote().sendPing(dados);
+            pingsEnviados.incrementAndGet();
+        } catch (Exception e) {
+            // Uma exceção aqui cancelaria o agendamento; o ping sem pong já conta como falha
+            LOGGER.log(Level.FINE, "Falha ao enviar ping", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycompany.client;
+
+import java.util.regex.Pattern;
+
+/**
+ * Agrupamento de endpoints por modelo de rota
+ *
+ * "/pacientes/42?x=1" e "/pacientes/7" viram "/pacientes/{id}", para que
+ * disjuntores e métricas sejam por rota e não por registro
+ */
+public final class Rotas {
+
+    private static final Pattern SEGMENTO_NUMERICO = Pattern.compile("/\\d+(?=/|$)");
+
+    private Rotas() {}
+
+    /**
+     * "/pacientes/42?x=1" → "/pacientes/{id}"
+     */
+    public static String modelo(String endpoint) {
+        int consulta = endpoint.indexOf('?');
+        String caminho = consulta >= 0 ? endpoint.substring(0, consulta) : endpoint;
+        return SEGMENTO_NUMERICO.matcher(caminho).replaceAll("/{id}");
+    }
+
+    /**
+     * "/pacientes/{id}" → "/pacientes" (primeiro segmento, que corresponde a um service)
+     */
+    public static String recurso(String modelo) {
+        int fim = modelo.indexOf('/', 1);
+        return fim > 0 ? modelo.substring(0, fim) : modelo;
+    }
+}
@@ -0,0 +1,195 @@
+package com.mycompany.client;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Número de sequência dos eventos do WebSocket, para retomar a sessão após uma queda
+ *
+ * O servidor numera as notificações ("seq"). Guardamos o último número aplicado e,
+ * ao reconectar, a inscrição pede os eventos posteriores a ele ("lastSeq"); uma
+ * lacuna pequena no meio da sessão pede um replay ({"action":"replay","fromSeq":N})
+ * e o evento fora de ordem é descartado, porque volta no replay. Lacuna maior que
+ * o limite, replay que não chega, replay recusado pelo servidor ou servidor sem
+ * números de sequência levam à ressincronização: os ouvintes são avisados e fazem
+ * a sincronização incremental em vez do recarregamento completo. O prazo do replay
+ * tem um timer próprio, para valer mesmo que nenhum outro evento chegue
+ *
+ * Fica no ApiManager e passa de um WebSocketClient para o seguinte
+ */
+public final class SequenciaEventos {
+
+    private static final Logger LOGGER = Logger.getLogger(SequenciaEventos.class.getName());
+
+    // Sem o replay completo nesse prazo, desiste e ressincroniza
+    private static final long PRAZO_REPLAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * O que fazer com um evento recebido
+     */
+    public enum Decisao {
+        /** Em ordem (ou sem número): despachar */
+        DESPACHAR,
+        /** Já aplicado, ou à frente de um replay pendente: ignorar */
+        DESCARTAR,
+        /** Lacuna pequena: pedir replay a partir do último aplicado e ignorar este */
+        PEDIR_REPLAY,
+        /** Lacuna sem replay possível: despachar e ressincronizar */
+        RESSINCRONIZAR
+    }
+
+    private final int maxLacuna;
+    private final List<Runnable> ouvintes = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService prazos;
+
+    private long ultimoSeq = -1;
+    private long maiorVisto = -1;
+    private long replayPedidoEm = -1; // nanoTime do pedido pendente, -1 sem pedido
+    private int sessoes = 0;
+    private long replays = 0;
+    private long descartados = 0;
+    private long ressincronizacoes = 0;
+
+    public SequenciaEventos(int maxLacuna) {
+        this.maxLacuna = Math.max(0, maxLacuna);
+        this.prazos = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "websocket-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Chamado na abertura de cada sessão; true se não for a primeira (é uma retomada)
+     */
+    synchronized boolean iniciarSessao() {
+        return sessoes++ > 0;
+    }
+
+    /**
+     * Último evento aplicado (-1 se o servidor ainda não enviou números de sequência)
+     */
+    public synchronized long getUltimoSeq() {
+        return ultimoSeq;
+    }
+
+    /**
+     * Registra o número do evento e decide o que fazer com ele
+     * @param seq número do evento, ou -1 se não veio
+     */
+    synchronized Decisao registrar(long seq) {
+        if (seq < 0) {
+            return Decisao.DESPACHAR;
+        }
+        maiorVisto = Math.max(maiorVisto, seq);
+
+        if (ultimoSeq < 0 || seq == ultimoSeq + 1) {
+            ultimoSeq = seq;
+            if (replayPedidoEm >= 0 && seq >= maiorVisto) {
+                replayPedidoEm = -1; // Replay alcançou o evento mais recente
+            }
+            return Decisao.DESPACHAR;
+        }
+        if (seq <= ultimoSeq) {
+            descartados++;
+            return Decisao.DESCARTAR;
+        }
+
+        long lacuna = seq - ultimoSeq - 1;
+        if (replayPedidoEm >= 0) {
+            // Eventos à frente do replay voltam nele; só desiste se o replay demorar demais
+            if (System.nanoTime() - replayPedidoEm < PRAZO_REPLAY_NANOS && lacuna <= maxLacuna) {
+                descartados++;
+                return Decisao.DESCARTAR;
+            }
+        } else if (lacuna <= maxLacuna) {
+            long pedido = System.nanoTime();
+            replayPedidoEm = pedido;
+            replays++;
+            agendarPrazo(pedido);
+            LOGGER.info("Lacuna de " + lacuna + " eventos após o " + ultimoSeq + " - pedindo replay");
+            return Decisao.PEDIR_REPLAY;
+        }
+
+        LOGGER.warning("Lacuna de " + lacuna + " eventos após o " + ultimoSeq + " sem replay - ressincronizando");
+        ultimoSeq = seq;
+        replayPedidoEm = -1;
+        return Decisao.RESSINCRONIZAR;
+    }
+
+    private void agendarPrazo(long pedido) {
+        try {
+            prazos.schedule(() -> verificarPrazo(pedido), PRAZO_REPLAY_NANOS, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Encerrado: o prazo volta a ser conferido só na chegada do próximo evento
+            LOGGER.log(Level.FINE, "Prazo do replay não agendado", e);
+        }
+    }
+
+    /**
+     * Prazo de um pedido de replay: se ele ainda estiver pendente, a lacuna é dada como
+     * perdida (os próximos eventos seguem do maior número visto) e os ouvintes sincronizam
+     */
+    private void verificarPrazo(long pedido) {
+        long lacunaAte;
+        synchronized (this) {
+            if (replayPedidoEm != pedido) {
+                return; // Replay concluído, ou já houve ressincronização
+            }
+            lacunaAte = maiorVisto;
+            ultimoSeq = Math.max(ultimoSeq, maiorVisto);
+        }
+        ressincronizar("replay sem resposta em " + TimeUnit.NANOSECONDS.toSeconds(PRAZO_REPLAY_NANOS)
+                + "s (eventos até " + lacunaAte + ")");
+    }
+
+    /**
+     * Avisa os ouvintes de que eventos foram perdidos e o estado local precisa ser sincronizado
+     * Os ouvintes rodam na thread chamadora (do WebSocket)
+     */
+    void ressincronizar(String motivo) {
+        synchronized (this) {
+            ressincronizacoes++;
+            replayPedidoEm = -1;
+        }
+        LOGGER.info("Ressincronização necessária: " + motivo);
+        for (Runnable ouvinte : ouvintes) {
+            try {
+                ouvinte.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Erro em ouvinte de ressincronização", e);
+            }
+        }
+    }
+
+    /**
+     * Registrar o mesmo ouvinte de novo não o duplica
+     */
+    public void adicionarOuvinte(Runnable ouvinte) {
+        if (!ouvintes.contains(ouvinte)) {
+            ouvintes.add(ouvinte);
+        }
+    }
+
+    public void removerOuvinte(Runnable ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    public void parar() {
+        prazos.shutdownNow();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "último=" + (ultimoSeq >= 0 ? ultimoSeq : "sem sequência")
+                + ", replays=" + replays
+                + (replayPedidoEm >= 0 ? " (pendente)" : "")
+                + ", descartados=" + descartados
+                + ", ressincronizações=" + ressincronizacoes;
+    }
+}
@@ -1,10 +1,6 @@
 package com.mycompany.client;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mycompany.client.dto.PacienteDTO;
-import com.mycompany.client.dto.PacienteEspecialidadeDTO;
 import com.mycompany.client.mapper.DtoMapper;
 import com.mycompany.listener.PacienteChangeListener;
 import com.mycompany.listener.PacienteEspecialidadeChangeListener;
@@ -19,30 +15,68 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.logging.Level;
-import javax.swing.SwingUtilities;
 
 /**
  * Cliente WebSocket para receber notificações em tempo real da API
  * Versão adaptada para trabalhar com DTOs e notificações em lote
+ *
+ * O onMessage roda na thread de leitura do container e só enfileira a mensagem;
+ * parse, conversão dos DTOs e notificação dos listeners acontecem na thread da
+ * FilaMensagens, uma mensagem por vez e na ordem de chegada. O texto vira um
+ * EventoWebSocket numa passada só (DecodificadorEventos) e é despachado por tipo
+ *
+ * Eventos numerados passam pela SequenciaEventos: ao reconectar a inscrição pede
+ * os eventos perdidos na queda, e lacunas que o servidor não consegue repor viram
+ * um pedido de ressincronização aos ouvintes
  */
 @ClientEndpoint
 public class WebSocketClient {
     
     private static final Logger LOGGER = Logger.getLogger(WebSocketClient.class.getName());
+    private static final int CAPACIDADE_FILA_PADRAO = 1000;
+    private static final int LACUNA_MAXIMA_PADRAO = 500;
+    private static final long INTERVALO_PING_PADRAO_MS = 3000;
+    private static final int LIMITE_SEM_PONG_PADRAO = 2;
+    private static final String TIPOS_INSCRITOS = "[\"paciente\",\"paciente_especialidade\"]";
+    
     private Session session;
-    private final ObjectMapper objectMapper;
+    private final DecodificadorEventos decodificador;
     private final String serverUrl;
+    private final FilaMensagens filaMensagens;
+    private final SequenciaEventos sequencia;
+    private final PingWebSocket ping; // null com o ping desligado
+    private long descartadasVistas = 0; // só na thread da fila
     
     private final List<PacienteChangeListener> pacienteListeners = new ArrayList<>();
     private final List<PacienteEspecialidadeChangeListener> pacienteEspecialidadeListeners = new ArrayList<>();
     
     private volatile boolean connected = false;
-    private volatile boolean reconnecting = false;
     private volatile boolean shouldReconnect = true;
     
+    // Avisado quando a conexão cai sem ter sido fechada por nós; quem reconecta é o ApiManager
+    private volatile Runnable aoPerderConexao;
+    
     private CountDownLatch connectionLatch;
     
     public WebSocketClient(String serverUrl) {
+        this(serverUrl, CAPACIDADE_FILA_PADRAO);
+    }
+    
+    public WebSocketClient(String serverUrl, int capacidadeFila) {
+        this(serverUrl, capacidadeFila, new SequenciaEventos(LACUNA_MAXIMA_PADRAO));
+    }
+    
+    public WebSocketClient(String serverUrl, int capacidadeFila, SequenciaEventos sequencia) {
+        this(serverUrl, capacidadeFila, sequencia, INTERVALO_PING_PADRAO_MS, LIMITE_SEM_PONG_PADRAO);
+    }
+    
+    /**
+     * @param sequencia compartilhada entre os clientes que se sucedem, para a retomada continuar de onde parou
+     * @param intervaloPingMs intervalo entre pings (0 desliga a detecção de conexão meio aberta)
+     * @param limiteSemPong pings seguidos sem pong até a conexão ser dada como perdida
+     */
+    public WebSocketClient(String serverUrl, int capacidadeFila, SequenciaEventos sequencia,
+                           long intervaloPingMs, int limiteSemPong) {
         if (serverUrl.startsWith("http://")) {
             this.serverUrl = serverUrl.replace("http://", "ws://");
         } else if (serverUrl.startsWith("https://")) {
@@ -53,7 +87,12 @@ public class WebSocketClient {
             this.serverUrl = serverUrl;
         }
         
-        this.objectMapper = new ObjectMapper();
+        this.decodificador = new DecodificadorEventos(new ObjectMapper());
+        this.filaMensagens = new FilaMensagens(capacidadeFila, this::processWebSocketMessage);
+        this.sequencia = sequencia;
+        this.ping = intervaloPingMs > 0
+                ? new PingWebSocket(intervaloPingMs, limiteSemPong, this::sessaoConectada, this::semRespostaAoPing)
+                : null;
         
         LOGGER.info("WebSocketClient criado com URL: " + this.serverUrl);
     }
@@ -105,7 +144,6 @@ public class WebSocketClient {
     
     public void disconnect() {
         shouldReconnect = false;
-        reconnecting = false;
         
         if (session != null && session.isOpen()) {
             try {
@@ -118,11 +156,24 @@ public class WebSocketClient {
         connected = false;
     }
     
+    /**
+     * Desconecta e encerra a thread de processamento; o cliente não pode ser reconectado depois
+     */
+    public void fechar() {
+        disconnect();
+        filaMensagens.parar();
+        if (ping != null) {
+            ping.parar();
+        }
+    }
+    
     @OnOpen
     public void onOpen(Session session) {
         this.session = session;
         this.connected = true;
-        this.reconnecting = false;
+        if (ping != null) {
+            ping.conexaoAberta();
+        }
         
         LOGGER.info("✓ Conexão WebSocket estabelecida: " + session.getId());
         
@@ -130,18 +181,38 @@ public class WebSocketClient {
             connectionLatch.countDown();
         }
         
-        sendMessage("{\"action\":\"subscribe\",\"types\":[\"paciente\",\"paciente_especialidade\"]}");
+        boolean retomada = sequencia.iniciarSessao();
+        long ultimoSeq = sequencia.getUltimoSeq();
+        if (retomada && ultimoSeq >= 0) {
+            // O servidor reenvia o que foi emitido depois do último evento aplicado
+            LOGGER.info("Retomando sessão a partir do evento " + ultimoSeq);
+            sendMessage("{\"action\":\"subscribe\",\"types\":" + TIPOS_INSCRITOS + ",\"lastSeq\":" + ultimoSeq + "}");
+        } else {
+            sendMessage("{\"action\":\"subscribe\",\"types\":" + TIPOS_INSCRITOS + "}");
+            if (retomada) {
+                sequencia.ressincronizar("reconexão sem números de sequência do servidor");
+            }
+        }
     }
     
     @OnMessage
     public void onMessage(String message) {
-        LOGGER.info("← Mensagem recebida via WebSocket: " + message);
-        
-        SwingUtilities.invokeLater(() -> processWebSocketMessage(message));
+        // Nada de parse nem log aqui: a thread de leitura do socket volta na hora
+        filaMensagens.enfileirar(message);
+    }
+    
+    @OnMessage
+    public void onPong(PongMessage pong) {
+        if (ping != null) {
+            ping.pongRecebido(pong);
+        }
     }
     
     @OnClose
     public void onClose(Session session, CloseReason closeReason) {
+        if (isSessaoAntiga(session)) {
+            return;
+        }
         this.connected = false;
         LOGGER.info("✗ Conexão WebSocket fechada: " + closeReason.getReasonPhrase() + 
                      " (código: " + closeReason.getCloseCode() + ")");
@@ -150,14 +221,17 @@ public class WebSocketClient {
             connectionLatch.countDown();
         }
         
-        if (shouldReconnect && !reconnecting && 
-            closeReason.getCloseCode() != CloseReason.CloseCodes.NORMAL_CLOSURE) {
-            scheduleReconnect();
+        if (shouldReconnect && closeReason.getCloseCode() != CloseReason.CloseCodes.NORMAL_CLOSURE) {
+            avisarPerdaConexao("conexão fechada: " + closeReason.getCloseCode());
         }
     }
     
     @OnError
     public void onError(Session session, Throwable throwable) {
+        if (isSessaoAntiga(session)) {
+            LOGGER.log(Level.FINE, "Erro em sessão WebSocket já substituída", throwable);
+            return;
+        }
         this.connected = false;
         LOGGER.log(Level.SEVERE, "⚠ Erro na conexão WebSocket", throwable);
         
@@ -165,232 +239,119 @@ public class WebSocketClient {
             connectionLatch.countDown();
         }
         
-        if (shouldReconnect && !reconnecting) {
-            scheduleReconnect();
+        if (shouldReconnect) {
+            avisarPerdaConexao("erro: " + throwable.getMessage());
         }
     }
     
     private void processWebSocketMessage(String message) {
+        LOGGER.fine("← Mensagem recebida via WebSocket: " + message);
+        
+        DecodificadorEventos.Mensagem mensagem;
         try {
-            LOGGER.info("=== PROCESSANDO MENSAGEM WEBSOCKET ===");
-            LOGGER.info("Mensagem completa: " + message);
-
-            JsonNode messageNode = objectMapper.readTree(message);
-
-            if (messageNode.has("type") && "system".equals(messageNode.get("type").asText())) {
-                LOGGER.info("Mensagem do sistema: " + messageNode.get("message").asText());
-                return;
+            mensagem = decodificador.decodificar(message);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro ao processar mensagem WebSocket: " + message, e);
+            return;
+        }
+        
+        // Mensagens perdidas com a fila cheia: com números de sequência a lacuna aparece abaixo
+        long descartadas = filaMensagens.getDescartadas();
+        if (descartadas != descartadasVistas) {
+            descartadasVistas = descartadas;
+            if (mensagem.seq() < 0) {
+                sequencia.ressincronizar("mensagens descartadas com a fila cheia");
             }
-
-            if (!messageNode.has("type") || !messageNode.has("action") || !messageNode.has("data") && !"DELETED_BATCH".equals(messageNode.get("action").asText())) {
-                LOGGER.warning("Mensagem WebSocket inválida - campos obrigatórios ausentes");
-                LOGGER.warning("Campos disponíveis: " + messageNode.fieldNames());
+        }
+        
+        switch (sequencia.registrar(mensagem.seq())) {
+            case DESCARTAR -> {
                 return;
             }
-
-            String type = messageNode.get("type").asText();
-            String action = messageNode.get("action").asText();
-            JsonNode dataNode = messageNode.get("data");
-
-            LOGGER.info("Type: " + type);
-            LOGGER.info("Action: " + action);
-            LOGGER.info("Data presente: " + (dataNode != null && !dataNode.isNull()));
-            LOGGER.info("Listeners paciente registrados: " + pacienteListeners.size());
-
-            switch (type) {
-                case "paciente":
-                    LOGGER.info("Processando notificação de paciente...");
-                    processPacienteNotification(action, dataNode);
-                    break;
-
-                case "paciente_especialidade":
-                    LOGGER.info("Processando notificação de associação...");
-                    processPacienteEspecialidadeNotification(action, dataNode, messageNode);
-                    break;
-
-                default:
-                    LOGGER.warning("Tipo de notificação desconhecido: " + type);
+            case PEDIR_REPLAY -> {
+                sendMessage("{\"action\":\"replay\",\"fromSeq\":" + sequencia.getUltimoSeq() + "}");
+                return;
             }
-
-            LOGGER.info("=== FIM PROCESSAMENTO MENSAGEM ===");
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao processar mensagem WebSocket: " + message, e);
+            case RESSINCRONIZAR -> sequencia.ressincronizar("lacuna na sequência de eventos");
+            case DESPACHAR -> { }
         }
-    }
-    
-    private void processPacienteNotification(String action, JsonNode dataNode) {
+        
+        EventoWebSocket evento = mensagem.evento();
         try {
-            String actionLower = action.toLowerCase();
-            
-            switch (actionLower) {
-                case "created":
-                case "create":
-                    if (dataNode != null && !dataNode.isNull()) {
-                        PacienteDTO pacienteDto = objectMapper.treeToValue(dataNode, PacienteDTO.class);
-                        Paciente novoPaciente = DtoMapper.toModel(pacienteDto);
-                        if (novoPaciente != null) {
-                            notifyPacienteAdded(novoPaciente);
-                        }
-                    }
-                    break;
-                case "updated":
-                case "update":
-                    if (dataNode != null && !dataNode.isNull()) {
-                        PacienteDTO pacienteDto = objectMapper.treeToValue(dataNode, PacienteDTO.class);
-                        Paciente pacienteAtualizado = DtoMapper.toModel(pacienteDto);
-                        if (pacienteAtualizado != null) {
-                            LOGGER.info("✅ Processando atualização de paciente: " + pacienteAtualizado.getNome() + " (ID: " + pacienteAtualizado.getId() + ")");
-                            notifyPacienteUpdated(pacienteAtualizado);
-                        } else {
-                            LOGGER.warning("⚠️ Falha ao converter DTO para modelo - paciente nulo");
-                        }
-                    } else {
-                        LOGGER.warning("⚠️ DataNode nulo ou vazio para ação de atualização");
-                    }
-                    break;
-                case "deleted":
-                case "delete":
-                    if (dataNode != null && dataNode.has("id")) {
-                        int pacienteId = dataNode.get("id").asInt();
-                        LOGGER.info("✅ Processando remoção de paciente ID: " + pacienteId);
-                        notifyPacienteDeleted(pacienteId);
-                    } else {
-                        LOGGER.warning("⚠️ ID não encontrado nos dados para remoção");
-                    }
-                    break;
-                default:
-                    LOGGER.warning("❌ Ação desconhecida para paciente: '" + action + "' (original) / '" + actionLower + "' (lowercase)");
-            }
+            despachar(evento);
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "❌ Erro ao processar notificação de paciente: " + action, e);
+            LOGGER.log(Level.SEVERE, "❌ Erro ao processar notificação " + evento.getClass().getSimpleName(), e);
         }
     }
     
     /**
-     * Processa notificações de mudanças em PacienteEspecialidade, incluindo operações em lote.
-     * Remove duplicatas e sincroniza corretamente com a interface
+     * Converte os DTOs do evento para o modelo e avisa os listeners
      */
-    private void processPacienteEspecialidadeNotification(String action, JsonNode dataNode, JsonNode messageNode) {
-        try {
-            LOGGER.info("=== PROCESSANDO NOTIFICAÇÃO PACIENTE-ESPECIALIDADE ===");
-            LOGGER.info("Action: " + action);
-            LOGGER.info("DataNode disponível: " + (dataNode != null && !dataNode.isNull()));
-
-            switch (action.toLowerCase()) {
-                case "created" -> {
-                    LOGGER.info("Processando CREATED...");
-                    // ✅ CORREÇÃO CRÍTICA: Processar corretamente dados CREATED
-                    if (dataNode != null) {
-                        if (dataNode.isArray()) {
-                            // Múltiplas associações
-                            LOGGER.info("CREATED com array de " + dataNode.size() + " associações");
-                            List<PacienteEspecialidadeDTO> dtos = objectMapper.convertValue(
-                                dataNode, new TypeReference<List<PacienteEspecialidadeDTO>>() {});
-                            List<PacienteEspecialidade> associacoes = DtoMapper.toPacienteEspecialidadeModelList(dtos);
-
-                            // Extrair pacienteId da primeira associação
-                            Integer pacienteId = associacoes.isEmpty() ? null : associacoes.get(0).getPacienteId();
-
-                            if (pacienteId != null && !associacoes.isEmpty()) {
-                                LOGGER.info("✅ Notificando batch created: " + associacoes.size() + " associações para paciente " + pacienteId);
-                                notifyPacienteEspecialidadeBatchCreated(pacienteId, associacoes);
-                            }
-                        } else if (dataNode.isObject()) {
-                            // Associação única
-                            LOGGER.info("CREATED com objeto único");
-                            PacienteEspecialidadeDTO dto = objectMapper.treeToValue(dataNode, PacienteEspecialidadeDTO.class);
-                            PacienteEspecialidade associacao = DtoMapper.toModel(dto);
-                            if (associacao != null) {
-                                LOGGER.info("✅ Notificando associação individual criada");
-                                notifyPacienteEspecialidadeAdded(associacao);
-                            }
-                        }
-                    }
-                }
-
-                case "created_batch" -> {
-                    LOGGER.info("Processando CREATED_BATCH...");
-                    if (dataNode != null && dataNode.isArray()) {
-                        List<PacienteEspecialidadeDTO> dtos = objectMapper.convertValue(
-                            dataNode, new TypeReference<List<PacienteEspecialidadeDTO>>() {});
-                        List<PacienteEspecialidade> associacoes = DtoMapper.toPacienteEspecialidadeModelList(dtos);
-
-                        Integer pacienteId = messageNode.has("pacienteId") ? messageNode.get("pacienteId").asInt() : null;
-
-                        if (pacienteId != null) {
-                            LOGGER.info("✅ Notificando batch created: " + associacoes.size() + " associações");
-                            notifyPacienteEspecialidadeBatchCreated(pacienteId, associacoes);
-                        }
-                    }
-                }
-
-                case "updated" -> {
-                    LOGGER.info("Processando UPDATED...");
-                    if (dataNode != null && dataNode.isObject()) {
-                        PacienteEspecialidadeDTO dto = objectMapper.treeToValue(dataNode, PacienteEspecialidadeDTO.class);
-                        PacienteEspecialidade associacao = DtoMapper.toModel(dto);
-                        if (associacao != null) {
-                            notifyPacienteEspecialidadeUpdated(associacao);
-                        }
-                    }
+    private void despachar(EventoWebSocket evento) {
+        switch (evento) {
+            case EventoWebSocket.Sistema sistema ->
+                LOGGER.info("Mensagem do sistema: " + sistema.mensagem());
+            
+            case EventoWebSocket.RetomadaRecusada recusada ->
+                sequencia.ressincronizar("servidor sem os eventos perdidos" + 
+                        (recusada.mensagem() != null ? " (" + recusada.mensagem() + ")" : ""));
+            
+            case EventoWebSocket.PacienteCriado criado -> {
+                Paciente novoPaciente = DtoMapper.toModel(criado.paciente());
+                if (novoPaciente != null) {
+                    notifyPacienteAdded(novoPaciente);
                 }
-
-                case "deleted" -> {
-                    LOGGER.info("Processando DELETED individual...");
-                    if (dataNode != null && dataNode.has("pacienteId") && dataNode.has("especialidadeId")) {
-                        int pacienteId = dataNode.get("pacienteId").asInt();
-                        int especialidadeId = dataNode.get("especialidadeId").asInt();
-                        notifyPacienteEspecialidadeDeleted(pacienteId, especialidadeId);
-                    }
+            }
+            
+            case EventoWebSocket.PacienteAtualizado atualizado -> {
+                Paciente pacienteAtualizado = DtoMapper.toModel(atualizado.paciente());
+                if (pacienteAtualizado != null) {
+                    notifyPacienteUpdated(pacienteAtualizado);
+                } else {
+                    LOGGER.warning("⚠️ Falha ao converter DTO para modelo - paciente nulo");
                 }
-
-                case "deleted_batch" -> {
-                    LOGGER.info("Processando DELETED_BATCH...");
-                    Integer pacienteId = messageNode.has("pacienteId") ? messageNode.get("pacienteId").asInt() : null;
-
-                    if (pacienteId != null) {
-                        List<PacienteEspecialidade> associacoesDeletadas = null;
-
-                        if (dataNode != null && dataNode.isArray() && dataNode.size() > 0) {
-                            try {
-                                List<PacienteEspecialidadeDTO> dtosRemovidos = objectMapper.convertValue(
-                                    dataNode, new TypeReference<List<PacienteEspecialidadeDTO>>() {});
-                                associacoesDeletadas = DtoMapper.toPacienteEspecialidadeModelList(dtosRemovidos);
-                                LOGGER.info("Associações específicas a serem removidas: " + associacoesDeletadas.size());
-                            } catch (Exception e) {
-                                LOGGER.log(Level.WARNING, "Erro ao processar lista de associações deletadas", e);
-                            }
-                        }
-
-                        LOGGER.info("✅ Notificando batch deleted para paciente " + pacienteId);
-                        notifyPacienteEspecialidadeBatchDeleted(pacienteId, associacoesDeletadas);
-                    }
+            }
+            
+            case EventoWebSocket.PacienteRemovido removido ->
+                notifyPacienteDeleted(removido.pacienteId());
+            
+            case EventoWebSocket.AssociacaoCriada criada -> {
+                PacienteEspecialidade associacao = DtoMapper.toModel(criada.associacao());
+                if (associacao != null) {
+                    notifyPacienteEspecialidadeAdded(associacao);
                 }
-
-                case "complete_update" -> {
-                    LOGGER.info("Processando COMPLETE_UPDATE...");
-                    Integer pacienteId = messageNode.has("pacienteId") ? messageNode.get("pacienteId").asInt() : null;
-
-                    if (pacienteId != null && dataNode != null && dataNode.isArray()) {
-                        List<PacienteEspecialidadeDTO> dtos = objectMapper.convertValue(
-                            dataNode, new TypeReference<List<PacienteEspecialidadeDTO>>() {});
-                        List<PacienteEspecialidade> novasAssociacoes = DtoMapper.toPacienteEspecialidadeModelList(dtos);
-
-                        LOGGER.info("✅ Notificando complete update: " + novasAssociacoes.size() + " associações");
-                        notifyPacienteEspecialidadeCompleteUpdate(pacienteId, novasAssociacoes);
-                    }
+            }
+            
+            case EventoWebSocket.AssociacoesCriadas criadas -> {
+                List<PacienteEspecialidade> associacoes = DtoMapper.toPacienteEspecialidadeModelList(criadas.associacoes());
+                // Em "created" com array o paciente vem da primeira associação
+                Integer pacienteId = criadas.pacienteId() != null ? criadas.pacienteId()
+                        : associacoes.isEmpty() ? null : associacoes.get(0).getPacienteId();
+                if (pacienteId != null && !associacoes.isEmpty()) {
+                    notifyPacienteEspecialidadeBatchCreated(pacienteId, associacoes);
                 }
-
-                default -> {
-                    LOGGER.warning("❌ Ação desconhecida para paciente_especialidade: " + action);
+            }
+            
+            case EventoWebSocket.AssociacaoAtualizada atualizada -> {
+                PacienteEspecialidade associacao = DtoMapper.toModel(atualizada.associacao());
+                if (associacao != null) {
+                    notifyPacienteEspecialidadeUpdated(associacao);
                 }
             }
-
-            LOGGER.info("=== FIM PROCESSAMENTO PACIENTE-ESPECIALIDADE ===");
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "❌ Erro ao processar notificação de paciente_especialidade: " + action, e);
+            
+            case EventoWebSocket.AssociacaoRemovida removida ->
+                notifyPacienteEspecialidadeDeleted(removida.pacienteId(), removida.especialidadeId());
+            
+            case EventoWebSocket.AssociacoesRemovidas removidas ->
+                notifyPacienteEspecialidadeBatchDeleted(removidas.pacienteId(), removidas.associacoes() != null
+                        ? DtoMapper.toPacienteEspecialidadeModelList(removidas.associacoes()) : null);
+            
+            case EventoWebSocket.AssociacoesSubstituidas substituidas ->
+                notifyPacienteEspecialidadeCompleteUpdate(substituidas.pacienteId(),
+                        DtoMapper.toPacienteEspecialidadeModelList(substituidas.associacoes()));
+            
+            case EventoWebSocket.Ignorado ignorado ->
+                LOGGER.warning(ignorado.motivo());
         }
     }
     
@@ -407,49 +368,56 @@ public class WebSocketClient {
         }
     }
     
-    private void scheduleReconnect() {
-        if (reconnecting || !shouldReconnect) {
+    /**
+     * Sessão derrubada pelo ping cujo fechamento chegou depois da reconexão
+     */
+    private boolean isSessaoAntiga(Session session) {
+        return this.session != null && session != this.session;
+    }
+    
+    private Session sessaoConectada() {
+        Session atual = session;
+        return connected && atual != null && atual.isOpen() ? atual : null;
+    }
+    
+    /**
+     * Conexão meio aberta: dá a sessão como perdida antes de tentar fechá-la, para o
+     * fechamento (que pode demorar num socket morto) não atrasar a reconexão
+     */
+    private void semRespostaAoPing(String motivo) {
+        Session atual = session;
+        connected = false;
+        LOGGER.warning("⚠ WebSocket sem resposta (" + motivo + ") - conexão dada como perdida");
+        avisarPerdaConexao("sem resposta ao ping");
+        try {
+            atual.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "sem resposta ao ping"));
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Erro ao fechar sessão sem resposta", e);
+        }
+    }
+    
+    private void avisarPerdaConexao(String motivo) {
+        Runnable aviso = aoPerderConexao;
+        if (aviso == null) {
+            LOGGER.warning("WebSocket perdido (" + motivo + ") e ninguém para reconectar");
             return;
         }
-        
-        reconnecting = true;
-        LOGGER.info("Agendando tentativas de reconexão...");
-        
-        Thread reconnectThread = new Thread(() -> {
-            int tentativas = 0;
-            int maxTentativas = 5;
-            long intervalo = 5000; // 5 segundos
-            
-            while (tentativas < maxTentativas && !connected && shouldReconnect) {
-                try {
-                    Thread.sleep(intervalo);
-                    tentativas++;
-                    
-                    LOGGER.info("⟳ Tentativa de reconexão " + tentativas + "/" + maxTentativas);
-                    
-                    if (connect(5000)) { 
-                        LOGGER.info("✓ Reconexão bem-sucedida!");
-                        return;
-                    }
-                    
-                    intervalo = Math.min(intervalo * 2, 60000); 
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            
-            reconnecting = false;
-            LOGGER.warning("✗ Falha na reconexão após " + maxTentativas + " tentativas");
-        });
-        
-        reconnectThread.setDaemon(true);
-        reconnectThread.setName("WebSocket-Reconnect");
-        reconnectThread.start();
+        LOGGER.info("WebSocket perdido (" + motivo + ")");
+        aviso.run();
+    }
+    
+    /**
+     * Chamado (na thread do WebSocket) quando a conexão cai sem disconnect(); não deve bloquear
+     */
+    public void setAoPerderConexao(Runnable aoPerderConexao) {
+        this.aoPerderConexao = aoPerderConexao;
     }
     
     public void addPacienteListener(PacienteChangeListener listener) {
         synchronized (pacienteListeners) {
+            if (pacienteListeners.contains(listener)) {
+                return;
+            }
             pacienteListeners.add(listener);
             LOGGER.info("PacienteChangeListener adicionado - total: " + pacienteListeners.size());
         }
@@ -464,6 +432,9 @@ public class WebSocketClient {
     
     public void addPacienteEspecialidadeListener(PacienteEspecialidadeChangeListener listener) {
         synchronized (pacienteEspecialidadeListeners) {
+            if (pacienteEspecialidadeListeners.contains(listener)) {
+                return;
+            }
             pacienteEspecialidadeListeners.add(listener);
             LOGGER.info("PacienteEspecialidadeChangeListener adicionado - total: " + pacienteEspecialidadeListeners.size());
         }
@@ -626,7 +597,17 @@ public class WebSocketClient {
         return connected && session != null && session.isOpen();
     }
     
-    public boolean isReconnecting() {
-        return reconnecting;
+    /**
+     * Profundidade, descartes e atraso da fila de processamento
+     */
+    public FilaMensagens.Estatisticas getEstatisticasFila() {
+        return filaMensagens.getEstatisticas();
+    }
+    
+    /**
+     * RTT e pings sem resposta (null com o ping desligado)
+     */
+    public PingWebSocket.Estatisticas getEstatisticasPing() {
+        return ping != null ? ping.getEstatisticas() : null;
     }
 }
\ No newline at end of file
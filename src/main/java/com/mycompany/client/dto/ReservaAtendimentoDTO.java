@@ -0,0 +1,49 @@
+package com.mycompany.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado da reserva de um atendimento em POST /especialidades/reservar-atendimentos
+ * Sem atendimentos restantes, reservado vem false e numeracao null
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReservaAtendimentoDTO {
+
+    @JsonProperty("especialidade_id")
+    private Integer especialidadeId;
+
+    private String numeracao;
+
+    private Boolean reservado;
+
+    @JsonProperty("atendimentos_restantes_hoje")
+    private Integer atendimentosRestantesHoje;
+
+    public ReservaAtendimentoDTO() {}
+
+    // Getters e Setters
+    public Integer getEspecialidadeId() { return especialidadeId; }
+    public void setEspecialidadeId(Integer especialidadeId) { this.especialidadeId = especialidadeId; }
+
+    public String getNumeracao() { return numeracao; }
+    public void setNumeracao(String numeracao) { this.numeracao = numeracao; }
+
+    public Boolean getReservado() { return reservado; }
+    public void setReservado(Boolean reservado) { this.reservado = reservado; }
+
+    public Integer getAtendimentosRestantesHoje() { return atendimentosRestantesHoje; }
+    public void setAtendimentosRestantesHoje(Integer atendimentosRestantesHoje) {
+        this.atendimentosRestantesHoje = atendimentosRestantesHoje;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservaAtendimentoDTO{" +
+                "especialidadeId=" + especialidadeId +
+                ", numeracao='" + numeracao + '\'' +
+                ", reservado=" + reservado +
+                ", atendimentosRestantesHoje=" + atendimentosRestantesHoje +
+                '}';
+    }
+}
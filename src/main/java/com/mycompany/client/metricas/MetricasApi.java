@@ -0,0 +1,110 @@
+package com.mycompany.client.metricas;
+
+import com.mycompany.client.Rotas;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Métricas das requisições por modelo de rota, em memória
+ *
+ * Para cada "MÉTODO /rota/{id}": histograma de latência (p50/p95/p99), espera por
+ * conexão do pool, erros e bytes de corpo enviados e recebidos. A latência é a que
+ * o chamador sente: inclui repetições, espera do bulkhead e a leitura da resposta.
+ * O relatório ordena os endpoints pelo tempo total, que é o que mais pesa para o usuário
+ */
+public final class MetricasApi {
+
+    /**
+     * Uma chamada em andamento; o cliente soma nela a espera pelo pool e os bytes
+     * lidos (de todas as tentativas) e chama concluir() no fim
+     */
+    public static final class Medicao {
+        private final MetricasApi metricas;
+        private final String metodo;
+        private final String endpoint;
+        private final long inicio = System.nanoTime();
+        private long esperaPoolNanos = 0;
+        private long bytesEnviados = 0;
+        private long bytesRecebidos = 0;
+
+        private Medicao(MetricasApi metricas, String metodo, String endpoint) {
+            this.metricas = metricas;
+            this.metodo = metodo;
+            this.endpoint = endpoint;
+        }
+
+        public void adicionarEsperaPool(long nanos) {
+            esperaPoolNanos += nanos;
+        }
+
+        public void adicionarEnviados(long bytes) {
+            bytesEnviados += bytes;
+        }
+
+        public void adicionarRecebidos(long bytes) {
+            bytesRecebidos += bytes;
+        }
+
+        public void concluir(boolean erro) {
+            metricas.registrar(metodo, endpoint, System.nanoTime() - inicio, esperaPoolNanos,
+                    bytesEnviados, bytesRecebidos, erro);
+        }
+    }
+
+    private final ConcurrentHashMap<String, MetricasEndpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long desde = System.currentTimeMillis();
+
+    /**
+     * Abre a medição de uma chamada (não é thread-safe: pertence à thread da chamada)
+     */
+    public Medicao iniciar(String metodo, String endpoint) {
+        return new Medicao(this, metodo, endpoint);
+    }
+
+    /**
+     * Registra uma chamada já medida
+     * @param esperaPoolNanos -1 quando o cliente não mede a espera pelo pool
+     */
+    public void registrar(String metodo, String endpoint, long duracaoNanos, long esperaPoolNanos,
+                          long bytesEnviados, long bytesRecebidos, boolean erro) {
+        String chave = metodo + " " + Rotas.modelo(endpoint);
+        endpoints.computeIfAbsent(chave, MetricasEndpoint::new)
+                .registrar(duracaoNanos, esperaPoolNanos, bytesEnviados, bytesRecebidos, erro);
+    }
+
+    /**
+     * Endpoints do maior para o menor tempo total
+     */
+    public List<MetricasEndpoint> getEndpoints() {
+        List<MetricasEndpoint> lista = new ArrayList<>(endpoints.values());
+        lista.sort(Comparator.comparingLong(MetricasEndpoint::getTempoTotalUs).reversed());
+        return lista;
+    }
+
+    /**
+     * Uma linha por endpoint, limitado aos maxEndpoints de maior tempo total
+     */
+    public String relatorio(int maxEndpoints) {
+        List<MetricasEndpoint> lista = getEndpoints();
+        if (lista.isEmpty()) {
+            return "sem requisições desde " + Instant.ofEpochMilli(desde);
+        }
+        StringBuilder sb = new StringBuilder("desde " + Instant.ofEpochMilli(desde) + " (ordenado por tempo total)");
+        for (int i = 0; i < Math.min(maxEndpoints, lista.size()); i++) {
+            sb.append("\n  ").append(lista.get(i));
+        }
+        if (lista.size() > maxEndpoints) {
+            sb.append("\n  ... mais ").append(lista.size() - maxEndpoints).append(" endpoints");
+        }
+        return sb.toString();
+    }
+
+    public void limpar() {
+        endpoints.clear();
+        desde = System.currentTimeMillis();
+    }
+}
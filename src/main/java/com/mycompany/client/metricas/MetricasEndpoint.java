@@ -0,0 +1,79 @@
+package com.mycompany.client.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de um modelo de rota ("GET /pacientes/{id}")
+ */
+public final class MetricasEndpoint {
+
+    private final String chave;
+    private final HistogramaLatencia latencia = new HistogramaLatencia();
+    private final HistogramaLatencia esperaPool = new HistogramaLatencia();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder bytesEnviados = new LongAdder();
+    private final LongAdder bytesRecebidos = new LongAdder();
+
+    MetricasEndpoint(String chave) {
+        this.chave = chave;
+    }
+
+    /**
+     * @param esperaPoolNanos tempo esperando conexão livre (-1 quando o cliente não mede)
+     */
+    void registrar(long duracaoNanos, long esperaPoolNanos, long enviados, long recebidos, boolean erro) {
+        latencia.registrarNanos(duracaoNanos);
+        if (esperaPoolNanos >= 0) {
+            esperaPool.registrarNanos(esperaPoolNanos);
+        }
+        if (erro) {
+            erros.increment();
+        }
+        bytesEnviados.add(enviados);
+        bytesRecebidos.add(recebidos);
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public HistogramaLatencia.Resumo getLatencia() {
+        return latencia.resumo();
+    }
+
+    public HistogramaLatencia.Resumo getEsperaPool() {
+        return esperaPool.resumo();
+    }
+
+    /**
+     * Soma das durações: quanto tempo de espera do usuário passou por este endpoint
+     */
+    public long getTempoTotalUs() {
+        return latencia.getSomaUs();
+    }
+
+    public long getErros() {
+        return erros.sum();
+    }
+
+    public long getBytesEnviados() {
+        return bytesEnviados.sum();
+    }
+
+    public long getBytesRecebidos() {
+        return bytesRecebidos.sum();
+    }
+
+    @Override
+    public String toString() {
+        HistogramaLatencia.Resumo resumo = latencia.resumo();
+        HistogramaLatencia.Resumo pool = esperaPool.resumo();
+        long chamadas = Math.max(1, resumo.contagem());
+        return chave + ": " + resumo.contagem() + " chamadas, " + getErros() + " erros, "
+                + resumo.percentis()
+                + ", total=" + HistogramaLatencia.ms(getTempoTotalUs())
+                + ", pool p95=" + HistogramaLatencia.ms(pool.p95Us())
+                + ", enviados=" + getBytesEnviados() / chamadas + "B/chamada"
+                + ", recebidos=" + getBytesRecebidos() / chamadas + "B/chamada";
+    }
+}
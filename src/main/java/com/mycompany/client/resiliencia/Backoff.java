@@ -0,0 +1,35 @@
+package com.mycompany.client.resiliencia;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Espera exponencial com jitter completo
+ *
+ * A tentativa n espera um valor aleatório entre 0 e min(max, base * 2^(n-1)); o
+ * sorteio espalha as repetições de vários clientes em vez de sincronizá-las
+ */
+public final class Backoff {
+
+    private final long baseMs;
+    private final long maxMs;
+
+    public Backoff(long baseMs, long maxMs) {
+        this.baseMs = Math.max(1, baseMs);
+        this.maxMs = Math.max(this.baseMs, maxMs);
+    }
+
+    /**
+     * Espera antes da tentativa seguinte à tentativa informada (a partir de 1)
+     */
+    public long atraso(int tentativa) {
+        return ThreadLocalRandom.current().nextLong(teto(tentativa) + 1);
+    }
+
+    /**
+     * Maior espera possível para a tentativa, sem o sorteio
+     */
+    public long teto(int tentativa) {
+        int expoente = Math.min(Math.max(0, tentativa - 1), 30);
+        return Math.min(maxMs, baseMs << expoente);
+    }
+}
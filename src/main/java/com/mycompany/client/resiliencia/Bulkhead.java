@@ -0,0 +1,64 @@
+package com.mycompany.client.resiliencia;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições simultâneas de um recurso
+ *
+ * Um recurso lento ocupa no máximo estas vagas do pool de conexões; as demais
+ * chamadas para ele são recusadas em vez de se acumularem, e os outros recursos
+ * continuam com conexões livres
+ */
+public final class Bulkhead {
+
+    private final String nome;
+    private final int maxSimultaneas;
+    private final Semaphore vagas;
+    private final AtomicLong rejeitadas = new AtomicLong();
+
+    Bulkhead(String nome, int maxSimultaneas) {
+        this.nome = nome;
+        this.maxSimultaneas = Math.max(1, maxSimultaneas);
+        this.vagas = new Semaphore(this.maxSimultaneas);
+    }
+
+    /**
+     * Ocupa uma vaga, esperando no máximo esperaMs; false se continuar cheio
+     */
+    boolean entrar(long esperaMs) {
+        boolean entrou;
+        try {
+            entrou = esperaMs > 0 ? vagas.tryAcquire(esperaMs, TimeUnit.MILLISECONDS) : vagas.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entrou = false;
+        }
+        if (!entrou) {
+            rejeitadas.incrementAndGet();
+        }
+        return entrou;
+    }
+
+    void sair() {
+        vagas.release();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getEmUso() {
+        return maxSimultaneas - vagas.availablePermits();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.get();
+    }
+
+    @Override
+    public String toString() {
+        return nome + ": " + getEmUso() + "/" + maxSimultaneas + " em uso, rejeitadas=" + getRejeitadas();
+    }
+}
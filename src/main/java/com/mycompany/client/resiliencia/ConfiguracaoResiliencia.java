@@ -0,0 +1,35 @@
+package com.mycompany.client.resiliencia;
+
+/**
+ * Parâmetros dos disjuntores, repetições e bulkheads do ApiClient
+ *
+ * @param habilitada desligada, as requisições vão direto ao servidor como antes
+ * @param falhasParaAbrir falhas seguidas (rede ou 5xx) que abrem o disjuntor de um endpoint
+ * @param tempoAbertoMs quanto tempo o disjuntor fica aberto antes de deixar passar uma requisição de teste
+ * @param tentativasGet tentativas de um GET (1 = sem repetição); outros métodos nunca são repetidos
+ * @param backoffBaseMs espera base entre tentativas, dobrada a cada uma
+ * @param backoffMaxMs teto da espera entre tentativas
+ * @param maxSimultaneasPorRecurso requisições simultâneas por recurso (/pacientes, /especialidades...)
+ * @param esperaBulkheadMs quanto uma requisição espera por vaga no bulkhead antes de ser rejeitada
+ * @param healthTimeoutMs timeout das sondagens de disponibilidade (isApiAvailable)
+ */
+public record ConfiguracaoResiliencia(boolean habilitada, int falhasParaAbrir, long tempoAbertoMs,
+                                      int tentativasGet, long backoffBaseMs, long backoffMaxMs,
+                                      int maxSimultaneasPorRecurso, long esperaBulkheadMs,
+                                      int healthTimeoutMs) {
+
+    public static ConfiguracaoResiliencia padrao() {
+        return new ConfiguracaoResiliencia(true, 5, 10000, 3, 200, 2000, 10, 200, 3000);
+    }
+
+    @Override
+    public String toString() {
+        if (!habilitada) {
+            return "resiliência desligada";
+        }
+        return "disjuntor=" + falhasParaAbrir + " falhas/" + tempoAbertoMs + "ms"
+                + ", tentativas GET=" + tentativasGet + " (" + backoffBaseMs + "-" + backoffMaxMs + "ms)"
+                + ", bulkhead=" + maxSimultaneasPorRecurso + " por recurso"
+                + ", health=" + healthTimeoutMs + "ms";
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.client.resiliencia;
+
+/**
+ * Disjuntor (circuit breaker) de um endpoint
+ *
+ * FECHADO: tudo passa; falhas seguidas demais abrem o disjuntor.
+ * ABERTO: as requisições são recusadas na hora, sem esperar timeout, até o prazo vencer.
+ * MEIO_ABERTO: uma única requisição de teste passa; sucesso fecha, falha reabre
+ */
+public final class Disjuntor {
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final String nome;
+    private final int falhasParaAbrir;
+    private final long tempoAbertoMs;
+
+    // Protegidos por this
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas = 0;
+    private long abertoAte = 0;
+    private boolean testeEmAndamento = false;
+    private long recusadas = 0;
+
+    Disjuntor(String nome, int falhasParaAbrir, long tempoAbertoMs) {
+        this.nome = nome;
+        this.falhasParaAbrir = Math.max(1, falhasParaAbrir);
+        this.tempoAbertoMs = tempoAbertoMs;
+    }
+
+    /**
+     * Decide se a requisição pode seguir; quem recebe true deve chamar registrarSucesso ou registrarFalha
+     */
+    synchronized boolean permitir() {
+        switch (estado) {
+            case FECHADO:
+                return true;
+            case ABERTO:
+                if (System.currentTimeMillis() < abertoAte) {
+                    recusadas++;
+                    return false;
+                }
+                estado = Estado.MEIO_ABERTO;
+                testeEmAndamento = true;
+                return true;
+            default:
+                if (testeEmAndamento) {
+                    recusadas++;
+                    return false;
+                }
+                testeEmAndamento = true;
+                return true;
+        }
+    }
+
+    synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        testeEmAndamento = false;
+        estado = Estado.FECHADO;
+    }
+
+    synchronized void registrarFalha() {
+        falhasSeguidas++;
+        testeEmAndamento = false;
+        if (estado == Estado.MEIO_ABERTO || falhasSeguidas >= falhasParaAbrir) {
+            estado = Estado.ABERTO;
+            abertoAte = System.currentTimeMillis() + tempoAbertoMs;
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Tempo até a próxima requisição de teste (0 se não estiver aberto)
+     */
+    public synchronized long getRestanteAbertoMs() {
+        return estado == Estado.ABERTO ? Math.max(0, abertoAte - System.currentTimeMillis()) : 0;
+    }
+
+    public synchronized long getRecusadas() {
+        return recusadas;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return nome + ": " + estado
+                + (estado == Estado.ABERTO ? " (" + getRestanteAbertoMs() + "ms)" : "")
+                + ", falhas seguidas=" + falhasSeguidas + ", recusadas=" + recusadas;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mycompany.client.resiliencia;
+
+import com.mycompany.client.ApiException;
+
+/**
+ * Requisição recusada localmente, sem ir ao servidor: disjuntor aberto ou bulkhead cheio
+ */
+public class RequisicaoRejeitadaException extends ApiException {
+
+    public RequisicaoRejeitadaException(String message) {
+        super(message);
+    }
+}
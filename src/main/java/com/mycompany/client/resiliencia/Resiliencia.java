@@ -0,0 +1,186 @@
+package com.mycompany.client.resiliencia;
+
+import com.mycompany.client.ApiException;
+import com.mycompany.client.Rotas;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Camada de resiliência entre os services e o servidor
+ *
+ * Cada endpoint (com os IDs trocados por {id}) tem um disjuntor, e cada recurso
+ * (primeiro segmento do caminho, que corresponde a um service) tem um bulkhead.
+ * Com o disjuntor aberto ou o bulkhead cheio a chamada falha na hora com
+ * RequisicaoRejeitadaException, e o service devolve seu valor padrão em
+ * milissegundos em vez de esperar o timeout.
+ *
+ * Só GETs são repetidos: PUT /reduzir-atendimento e POSTs alteram contadores e
+ * não podem ser reenviados às cegas. A repetição acontece em falhas de conexão e
+ * em 502/503/504; timeouts de leitura não são repetidos, porque um servidor lento
+ * só ficaria mais lento com o dobro de requisições
+ */
+public final class Resiliencia {
+
+    private static final Logger LOGGER = Logger.getLogger(Resiliencia.class.getName());
+
+    @FunctionalInterface
+    public interface Chamada<T> {
+        T executar() throws ApiException;
+    }
+
+    /**
+     * Vaga obtida em entrar(); concluir() libera o bulkhead e informa o resultado ao disjuntor
+     */
+    public static final class Permissao {
+        private final Disjuntor disjuntor;
+        private final Bulkhead bulkhead;
+        private boolean concluida = false;
+
+        private Permissao(Disjuntor disjuntor, Bulkhead bulkhead) {
+            this.disjuntor = disjuntor;
+            this.bulkhead = bulkhead;
+        }
+
+        public synchronized void concluir(boolean falhaDoServidor) {
+            if (concluida) {
+                return;
+            }
+            concluida = true;
+            bulkhead.sair();
+            if (falhaDoServidor) {
+                disjuntor.registrarFalha();
+            } else {
+                disjuntor.registrarSucesso();
+            }
+        }
+    }
+
+    private final ConfiguracaoResiliencia configuracao;
+    private final Backoff backoff;
+    private final ConcurrentHashMap<String, Disjuntor> disjuntores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final AtomicLong repeticoes = new AtomicLong();
+
+    public Resiliencia(ConfiguracaoResiliencia configuracao) {
+        this.configuracao = configuracao;
+        this.backoff = new Backoff(configuracao.backoffBaseMs(), configuracao.backoffMaxMs());
+    }
+
+    /**
+     * Executa a chamada com disjuntor e bulkhead, repetindo GETs em falhas passageiras
+     */
+    public <T> T executar(String metodo, String endpoint, Chamada<T> chamada) throws ApiException {
+        int tentativas = isIdempotente(metodo) ? Math.max(1, configuracao.tentativasGet()) : 1;
+
+        for (int tentativa = 1; ; tentativa++) {
+            Permissao permissao = entrar(endpoint, configuracao.esperaBulkheadMs());
+            try {
+                T resultado = chamada.executar();
+                permissao.concluir(false);
+                return resultado;
+            } catch (ApiException e) {
+                permissao.concluir(e.isFalhaDoServidor());
+                if (tentativa >= tentativas || !isPassageira(e)) {
+                    throw e;
+                }
+                long atraso = backoff.atraso(tentativa);
+                repeticoes.incrementAndGet();
+                LOGGER.info("Repetindo " + metodo + " " + endpoint + " em " + atraso + "ms (tentativa " +
+                           (tentativa + 1) + "/" + tentativas + "): " + e.getMessage());
+                aguardar(atraso);
+            } catch (RuntimeException e) {
+                permissao.concluir(true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Ocupa uma vaga do recurso e consulta o disjuntor do endpoint
+     * Para chamadas assíncronas, que concluem a permissão quando a resposta chega
+     */
+    public Permissao entrar(String endpoint, long esperaBulkheadMs) throws RequisicaoRejeitadaException {
+        String chave = Rotas.modelo(endpoint);
+        String recurso = Rotas.recurso(chave);
+
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(recurso,
+                r -> new Bulkhead(r, configuracao.maxSimultaneasPorRecurso()));
+        Disjuntor disjuntor = disjuntores.computeIfAbsent(chave,
+                c -> new Disjuntor(c, configuracao.falhasParaAbrir(), configuracao.tempoAbertoMs()));
+
+        if (!bulkhead.entrar(esperaBulkheadMs)) {
+            throw new RequisicaoRejeitadaException("Muitas requisições simultâneas para " + recurso);
+        }
+        if (!disjuntor.permitir()) {
+            bulkhead.sair();
+            throw new RequisicaoRejeitadaException("Servidor indisponível para " + chave +
+                    " - nova tentativa em " + disjuntor.getRestanteAbertoMs() + "ms");
+        }
+        return new Permissao(disjuntor, bulkhead);
+    }
+
+    public ConfiguracaoResiliencia getConfiguracao() {
+        return configuracao;
+    }
+
+    /**
+     * Disjuntores que não estão fechados
+     */
+    public List<Disjuntor> getDisjuntoresAbertos() {
+        List<Disjuntor> abertos = new ArrayList<>();
+        for (Disjuntor disjuntor : disjuntores.values()) {
+            if (disjuntor.getEstado() != Disjuntor.Estado.FECHADO) {
+                abertos.add(disjuntor);
+            }
+        }
+        return abertos;
+    }
+
+    public List<Bulkhead> getBulkheads() {
+        return new ArrayList<>(bulkheads.values());
+    }
+
+    public long getRepeticoes() {
+        return repeticoes.get();
+    }
+
+    @Override
+    public String toString() {
+        long rejeitadasBulkhead = bulkheads.values().stream().mapToLong(Bulkhead::getRejeitadas).sum();
+        long recusadasDisjuntor = disjuntores.values().stream().mapToLong(Disjuntor::getRecusadas).sum();
+        return "disjuntores abertos=" + getDisjuntoresAbertos().size() + "/" + disjuntores.size()
+                + ", recusadas=" + recusadasDisjuntor
+                + ", bulkhead cheio=" + rejeitadasBulkhead
+                + ", repetições=" + repeticoes.get();
+    }
+
+    private static boolean isIdempotente(String metodo) {
+        return "GET".equals(metodo) || "HEAD".equals(metodo);
+    }
+
+    private static boolean isPassageira(ApiException e) {
+        if (e instanceof RequisicaoRejeitadaException) {
+            return false;
+        }
+        int status = e.getStatusCode();
+        if (status == 502 || status == 503 || status == 504) {
+            return true;
+        }
+        // Conexão recusada ou derrubada sim; timeout (de conexão ou leitura) não
+        return e.isFalhaDeRede() && !(e.getCause() instanceof InterruptedIOException);
+    }
+
+    private static void aguardar(long atrasoMs) throws ApiException {
+        try {
+            Thread.sleep(atrasoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrompido aguardando nova tentativa", e);
+        }
+    }
+}
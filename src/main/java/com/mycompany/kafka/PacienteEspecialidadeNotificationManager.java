@@ -6,9 +6,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.model.bean.PacienteEspecialidade;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.List;
-import javax.swing.SwingUtilities;
 
 /**
  * Gerenciador de notificações para mudanças na tabela Paciente_has_Especialidade
@@ -16,7 +15,7 @@ import javax.swing.SwingUtilities;
  */
 public class PacienteEspecialidadeNotificationManager {
     private static PacienteEspecialidadeNotificationManager instance;
-    private List<PacienteEspecialidadeChangeListener> listeners = new ArrayList<>();
+    private List<PacienteEspecialidadeChangeListener> listeners = new CopyOnWriteArrayList<>(); // Notificados na thread do consumidor
     private ObjectMapper objectMapper = new ObjectMapper();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
@@ -74,52 +73,50 @@ public class PacienteEspecialidadeNotificationManager {
             System.out.println("JsonNode afterNode: " + afterNode);
             System.out.println("JsonNode beforeNode: " + beforeNode);
             
-            // Executar na EDT (Event Dispatch Thread) do Swing
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    switch (operation) {
-                        case "c": // CREATE
-                            if (afterNode != null && !afterNode.isNull()) {
-                                PacienteEspecialidade novaAssociacao = parseJsonToPacienteEspecialidade(afterNode);
-                                notifyPacienteEspecialidadeAdded(novaAssociacao);
-                            } else {
-                                System.out.println("Operação CREATE sem dados 'after' válidos");
-                            }
-                            break;
-                            
-                        case "u": // UPDATE
-                            if (afterNode != null && !afterNode.isNull()) {
-                                PacienteEspecialidade associacaoAtualizada = parseJsonToPacienteEspecialidade(afterNode);
-                                notifyPacienteEspecialidadeUpdated(associacaoAtualizada);
-                            } else {
-                                System.out.println("Operação UPDATE sem dados 'after' válidos");
-                            }
-                            break;
-                            
-                        case "d": // DELETE
-                            if (beforeNode != null && !beforeNode.isNull()) {
-                                // Verifica se os campos ID existem antes de tentar acessá-los
-                                if (beforeNode.has("Paciente_id") && beforeNode.has("Especialidade_id")) {
-                                    Integer pacienteId = beforeNode.get("Paciente_id").asInt();
-                                    Integer especialidadeId = beforeNode.get("Especialidade_id").asInt();
-                                    notifyPacienteEspecialidadeDeleted(pacienteId, especialidadeId);
-                                } else {
-                                    System.out.println("Operação DELETE sem campos de ID nos dados 'before'");
-                                }
+            // Notifica na thread do consumidor; o PacienteEventBus leva as alterações à EDT em lote
+            try {
+                switch (operation) {
+                    case "c": // CREATE
+                        if (afterNode != null && !afterNode.isNull()) {
+                            PacienteEspecialidade novaAssociacao = parseJsonToPacienteEspecialidade(afterNode);
+                            notifyPacienteEspecialidadeAdded(novaAssociacao);
+                        } else {
+                            System.out.println("Operação CREATE sem dados 'after' válidos");
+                        }
+                        break;
+                        
+                    case "u": // UPDATE
+                        if (afterNode != null && !afterNode.isNull()) {
+                            PacienteEspecialidade associacaoAtualizada = parseJsonToPacienteEspecialidade(afterNode);
+                            notifyPacienteEspecialidadeUpdated(associacaoAtualizada);
+                        } else {
+                            System.out.println("Operação UPDATE sem dados 'after' válidos");
+                        }
+                        break;
+                        
+                    case "d": // DELETE
+                        if (beforeNode != null && !beforeNode.isNull()) {
+                            // Verifica se os campos ID existem antes de tentar acessá-los
+                            if (beforeNode.has("Paciente_id") && beforeNode.has("Especialidade_id")) {
+                                Integer pacienteId = beforeNode.get("Paciente_id").asInt();
+                                Integer especialidadeId = beforeNode.get("Especialidade_id").asInt();
+                                notifyPacienteEspecialidadeDeleted(pacienteId, especialidadeId);
                             } else {
-                                System.out.println("Operação DELETE sem dados 'before' válidos");
+                                System.out.println("Operação DELETE sem campos de ID nos dados 'before'");
                             }
-                            break;
-                            
-                        default:
-                            System.out.println("Operação desconhecida: " + operation);
-                            break;
-                    }
-                } catch (Exception e) {
-                    System.out.println("Erro ao processar operação '" + operation + "': " + e.getMessage());
-                    e.printStackTrace();
+                        } else {
+                            System.out.println("Operação DELETE sem dados 'before' válidos");
+                        }
+                        break;
+                        
+                    default:
+                        System.out.println("Operação desconhecida: " + operation);
+                        break;
                 }
-            });
+            } catch (Exception e) {
+                System.out.println("Erro ao processar operação '" + operation + "': " + e.getMessage());
+                e.printStackTrace();
+            }
             
         } catch (Exception e) {
             System.out.println("Erro ao processar mensagem Kafka: " + e.getMessage());
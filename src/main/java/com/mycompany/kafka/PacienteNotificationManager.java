@@ -6,9 +6,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.List;
-import javax.swing.SwingUtilities;
 
 /**
  *
@@ -17,7 +16,7 @@ import javax.swing.SwingUtilities;
 public class PacienteNotificationManager {
     
     private static PacienteNotificationManager instance;
-    private List<PacienteChangeListener> listeners = new ArrayList<>();
+    private List<PacienteChangeListener> listeners = new CopyOnWriteArrayList<>(); // Notificados na thread do consumidor
     private ObjectMapper objectMapper = new ObjectMapper();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
@@ -77,51 +76,49 @@ public class PacienteNotificationManager {
             System.out.println("JsonNode afterNode: " + afterNode);
             System.out.println("JsonNode beforeNode: " + beforeNode);
             
-            // Executar na EDT (Event Dispatch Thread) do Swing
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    switch (operation) {
-                        case "c": // CREATE
-                            if (afterNode != null && !afterNode.isNull()) {
-                                Paciente novoPaciente = parseJsonToPaciente(afterNode);
-                                notifyPacienteAdded(novoPaciente);
-                            } else {
-                                System.out.println("Operação CREATE sem dados 'after' válidos");
-                            }
-                            break;
-                            
-                        case "u": // UPDATE
-                            if (afterNode != null && !afterNode.isNull()) {
-                                Paciente pacienteAtualizado = parseJsonToPaciente(afterNode);
-                                notifyPacienteUpdated(pacienteAtualizado);
-                            } else {
-                                System.out.println("Operação UPDATE sem dados 'after' válidos");
-                            }
-                            break;
-                            
-                        case "d": // DELETE
-                            if (beforeNode != null && !beforeNode.isNull()) {
-                                // Verifica se o campo ID existe antes de tentar acessá-lo
-                                if (beforeNode.has("id")) {
-                                    int pacienteId = beforeNode.get("id").asInt();
-                                    notifyPacienteDeleted(pacienteId);
-                                } else {
-                                    System.out.println("Operação DELETE sem campo 'id' nos dados 'before'");
-                                }
+            // Notifica na thread do consumidor; o PacienteEventBus leva as alterações à EDT em lote
+            try {
+                switch (operation) {
+                    case "c": // CREATE
+                        if (afterNode != null && !afterNode.isNull()) {
+                            Paciente novoPaciente = parseJsonToPaciente(afterNode);
+                            notifyPacienteAdded(novoPaciente);
+                        } else {
+                            System.out.println("Operação CREATE sem dados 'after' válidos");
+                        }
+                        break;
+                        
+                    case "u": // UPDATE
+                        if (afterNode != null && !afterNode.isNull()) {
+                            Paciente pacienteAtualizado = parseJsonToPaciente(afterNode);
+                            notifyPacienteUpdated(pacienteAtualizado);
+                        } else {
+                            System.out.println("Operação UPDATE sem dados 'after' válidos");
+                        }
+                        break;
+                        
+                    case "d": // DELETE
+                        if (beforeNode != null && !beforeNode.isNull()) {
+                            // Verifica se o campo ID existe antes de tentar acessá-lo
+                            if (beforeNode.has("id")) {
+                                int pacienteId = beforeNode.get("id").asInt();
+                                notifyPacienteDeleted(pacienteId);
                             } else {
-                                System.out.println("Operação DELETE sem dados 'before' válidos");
+                                System.out.println("Operação DELETE sem campo 'id' nos dados 'before'");
                             }
-                            break;
-                            
-                        default:
-                            System.out.println("Operação desconhecida: " + operation);
-                            break;
-                    }
-                } catch (Exception e) {
-                    System.out.println("Erro ao processar operação '" + operation + "': " + e.getMessage());
-                    e.printStackTrace();
+                        } else {
+                            System.out.println("Operação DELETE sem dados 'before' válidos");
+                        }
+                        break;
+                        
+                    default:
+                        System.out.println("Operação desconhecida: " + operation);
+                        break;
                 }
-            });
+            } catch (Exception e) {
+                System.out.println("Erro ao processar operação '" + operation + "': " + e.getMessage());
+                e.printStackTrace();
+            }
             
         } catch (Exception e) {
             System.out.println("Erro ao processar mensagem Kafka: " + e.getMessage());
@@ -0,0 +1,273 @@
+package com.mycompany.listener;
+
+import com.mycompany.model.bean.Paciente;
+import com.mycompany.model.bean.PacienteEspecialidade;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Barramento entre as fontes de eventos (WebSocket, Kafka) e a EDT
+ *
+ * Os eventos chegam de qualquer thread e são acumulados durante uma janela curta
+ * (um "quadro"). Várias alterações do mesmo paciente no quadro viram uma só
+ * (a última vence; remoção prevalece). No fim do quadro o destino recebe, na EDT,
+ * as associações em ordem e depois um único Lote com os pacientes consolidados.
+ * Uma rajada de 500 atualizações vira poucos lotes em vez de 500 invokeLater
+ */
+public class PacienteEventBus implements PacienteChangeListener, PacienteEspecialidadeChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(PacienteEventBus.class.getName());
+
+    public static final int JANELA_PADRAO_MS = 50;
+
+    /**
+     * Quem aplica os lotes (chamado sempre na EDT)
+     * As associações são repassadas pelos métodos de PacienteEspecialidadeChangeListener
+     * antes de onLote, na ordem em que chegaram
+     */
+    public interface Destino extends PacienteEspecialidadeChangeListener {
+        void onLote(Lote lote);
+    }
+
+    /**
+     * Alterações de pacientes consolidadas em um quadro
+     * @param salvos pacientes criados ou atualizados (versão mais recente de cada ID)
+     * @param removidos IDs removidos
+     * @param criados quantos dos salvos chegaram como criação
+     * @param eventosRecebidos eventos de paciente e associação recebidos no quadro
+     */
+    public record Lote(List<Paciente> salvos, List<Integer> removidos, int criados, int eventosRecebidos) {
+
+        public boolean temPacientes() {
+            return !salvos.isEmpty() || !removidos.isEmpty();
+        }
+    }
+
+    /**
+     * Contadores acumulados desde a criação do barramento
+     */
+    public record Metricas(long eventosRecebidos, long alteracoesAplicadas, long lotes, int filaAtual, int filaMaxima) {
+
+        /**
+         * Fração dos eventos absorvida pela consolidação (0 = nenhuma, 0.9 = 9 de cada 10)
+         */
+        public double razaoCoalescencia() {
+            return eventosRecebidos == 0 ? 0.0 : 1.0 - (double) alteracoesAplicadas / eventosRecebidos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("recebidos=%d, aplicados=%d, lotes=%d, fila=%d (máx %d), coalescência=%.1f%%",
+                    eventosRecebidos, alteracoesAplicadas, lotes, filaAtual, filaMaxima, razaoCoalescencia() * 100);
+        }
+    }
+
+    // Estado de um paciente no quadro atual
+    private static final class Pendente {
+        Paciente paciente;
+        boolean removido;
+        boolean criado;
+    }
+
+    private final Destino destino;
+    private final Timer timer;
+
+    // Quadro atual; protegido por lock
+    private final Object lock = new Object();
+    private Map<Integer, Pendente> pacientesPendentes = new LinkedHashMap<>();
+    private List<Consumer<PacienteEspecialidadeChangeListener>> associacoesPendentes = new ArrayList<>();
+    private int eventosNoQuadro = 0;
+    private boolean quadroAgendado = false;
+    private boolean parado = false;
+
+    private final AtomicLong eventosRecebidos = new AtomicLong();
+    private final AtomicLong alteracoesAplicadas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private volatile int filaMaxima = 0;
+
+    public PacienteEventBus(Destino destino) {
+        this(destino, JANELA_PADRAO_MS);
+    }
+
+    public PacienteEventBus(Destino destino, int janelaMs) {
+        this.destino = destino;
+        this.timer = new Timer(janelaMs, e -> despachar());
+        this.timer.setRepeats(false);
+    }
+
+    // ===== ENTRADA (qualquer thread) =====
+
+    @Override
+    public void onPacienteAdded(Paciente paciente) {
+        registrarPaciente(paciente, false, true);
+    }
+
+    @Override
+    public void onPacienteUpdated(Paciente paciente) {
+        registrarPaciente(paciente, false, false);
+    }
+
+    @Override
+    public void onPacienteDeleted(int pacienteId) {
+        Paciente marcador = new Paciente();
+        marcador.setId(pacienteId);
+        registrarPaciente(marcador, true, false);
+    }
+
+    @Override
+    public void onPacienteEspecialidadeAdded(PacienteEspecialidade associacao) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeAdded(associacao));
+    }
+
+    @Override
+    public void onPacienteEspecialidadeUpdated(PacienteEspecialidade associacao) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeUpdated(associacao));
+    }
+
+    @Override
+    public void onPacienteEspecialidadeDeleted(Integer pacienteId, Integer especialidadeId) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeDeleted(pacienteId, especialidadeId));
+    }
+
+    @Override
+    public void onPacienteEspecialidadeBatchCreated(Integer pacienteId, List<PacienteEspecialidade> associacoes) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeBatchCreated(pacienteId, associacoes));
+    }
+
+    @Override
+    public void onPacienteEspecialidadeBatchDeleted(Integer pacienteId, List<PacienteEspecialidade> associacoes) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeBatchDeleted(pacienteId, associacoes));
+    }
+
+    @Override
+    public void onPacienteEspecialidadeCompleteUpdate(Integer pacienteId, List<PacienteEspecialidade> associacoes) {
+        registrarAssociacao(l -> l.onPacienteEspecialidadeCompleteUpdate(pacienteId, associacoes));
+    }
+
+    private void registrarPaciente(Paciente paciente, boolean removido, boolean criado) {
+        if (paciente == null || paciente.getId() == null) {
+            LOGGER.warning("Evento de paciente sem ID ignorado");
+            return;
+        }
+        synchronized (lock) {
+            if (parado) {
+                return;
+            }
+            Pendente pendente = pacientesPendentes.computeIfAbsent(paciente.getId(), id -> new Pendente());
+            // A primeira ação do quadro (ou a que recria um removido) define se é criação
+            if (pendente.paciente == null || (pendente.removido && !removido)) {
+                pendente.criado = criado;
+            }
+            pendente.paciente = paciente;
+            pendente.removido = removido;
+            contarEAgendar();
+        }
+    }
+
+    private void registrarAssociacao(Consumer<PacienteEspecialidadeChangeListener> evento) {
+        synchronized (lock) {
+            if (parado) {
+                return;
+            }
+            associacoesPendentes.add(evento);
+            contarEAgendar();
+        }
+    }
+
+    // Chamado com lock
+    private void contarEAgendar() {
+        eventosRecebidos.incrementAndGet();
+        eventosNoQuadro++;
+        if (eventosNoQuadro > filaMaxima) {
+            filaMaxima = eventosNoQuadro;
+        }
+        if (!quadroAgendado) {
+            quadroAgendado = true;
+            SwingUtilities.invokeLater(timer::restart);
+        }
+    }
+
+    // ===== SAÍDA (EDT) =====
+
+    private void despachar() {
+        Map<Integer, Pendente> pacientes;
+        List<Consumer<PacienteEspecialidadeChangeListener>> associacoes;
+        int eventos;
+        synchronized (lock) {
+            pacientes = pacientesPendentes;
+            associacoes = associacoesPendentes;
+            eventos = eventosNoQuadro;
+            pacientesPendentes = new LinkedHashMap<>();
+            associacoesPendentes = new ArrayList<>();
+            eventosNoQuadro = 0;
+            quadroAgendado = false;
+            if (parado) {
+                return;
+            }
+        }
+
+        for (Consumer<PacienteEspecialidadeChangeListener> evento : associacoes) {
+            try {
+                evento.accept(destino);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Erro ao aplicar evento de associação", e);
+            }
+        }
+
+        List<Paciente> salvos = new ArrayList<>();
+        List<Integer> removidos = new ArrayList<>();
+        int criados = 0;
+        for (Pendente pendente : pacientes.values()) {
+            if (pendente.removido) {
+                removidos.add(pendente.paciente.getId());
+            } else {
+                salvos.add(pendente.paciente);
+                if (pendente.criado) {
+                    criados++;
+                }
+            }
+        }
+
+        alteracoesAplicadas.addAndGet(associacoes.size() + pacientes.size());
+        lotes.incrementAndGet();
+        if (eventos > associacoes.size() + pacientes.size()) {
+            LOGGER.fine("Quadro consolidou " + eventos + " eventos em " + (associacoes.size() + pacientes.size()) + " alterações");
+        }
+
+        try {
+            destino.onLote(new Lote(salvos, removidos, criados, eventos));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro ao aplicar lote de pacientes", e);
+        }
+    }
+
+    /**
+     * Descarta eventos pendentes e ignora os próximos (fechamento da aplicação)
+     */
+    public void parar() {
+        synchronized (lock) {
+            parado = true;
+            pacientesPendentes.clear();
+            associacoesPendentes.clear();
+            eventosNoQuadro = 0;
+        }
+        timer.stop();
+    }
+
+    public Metricas getMetricas() {
+        int filaAtual;
+        synchronized (lock) {
+            filaAtual = eventosNoQuadro;
+        }
+        return new Metricas(eventosRecebidos.get(), alteracoesAplicadas.get(), lotes.get(), filaAtual, filaMaxima);
+    }
+}
@@ -1,13 +1,27 @@
 package com.mycompany.manager;
 
 import com.mycompany.client.ApiClient;
+import com.mycompany.client.ApiClientConfig;
+import com.mycompany.client.AsyncApiClient;
+import com.mycompany.client.PingWebSocket;
+import com.mycompany.client.SequenciaEventos;
 import com.mycompany.client.WebSocketClient;
+import com.mycompany.client.metricas.MetricasApi;
 import com.mycompany.service.PacienteService;
 import com.mycompany.service.EspecialidadeService;
 import com.mycompany.service.PacienteEspecialidadeService;
+import com.mycompany.service.PacienteSyncService;
 import com.mycompany.listener.PacienteChangeListener;
 import com.mycompany.listener.PacienteEspecialidadeChangeListener;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.swing.JOptionPane;
@@ -21,27 +35,55 @@ public class ApiManager {
     private static final Logger LOGGER = Logger.getLogger(ApiManager.class.getName());
     private static ApiManager instance;
     
+    // Endpoints listados no status e no despejo periódico das métricas
+    private static final int MAX_ENDPOINTS_RELATORIO = 15;
+    
+    // Espera pela abertura do WebSocket em cada tentativa de reconexão
+    private static final long TIMEOUT_RECONEXAO_WEBSOCKET_MS = 5000;
+    
     // Configurações da API
     private String apiBaseUrl = "http://meuservidor.local/api"; // URL da sua API REST
     private String webSocketUrl = "ws://meuservidor.local"; // URL do seu WebSocket
     
     // Clientes de comunicação
     private ApiClient apiClient;
-    private WebSocketClient webSocketClient;
+    private AsyncApiClient asyncApiClient;
+    private volatile WebSocketClient webSocketClient;
+    
+    // Guardados aqui para valerem também no WebSocket criado por uma reconexão
+    private final List<PacienteChangeListener> pacienteListeners = new CopyOnWriteArrayList<>();
+    private final List<PacienteEspecialidadeChangeListener> pacienteEspecialidadeListeners = new CopyOnWriteArrayList<>();
     
     // Services que substituem os DAOs
     private PacienteService pacienteService;
     private EspecialidadeService especialidadeService;
     private PacienteEspecialidadeService pacienteEspecialidadeService;
+    private PacienteSyncService pacienteSyncService;
     
-    // Status de conexão
-    private volatile boolean apiDisponivel = false;
+    // Status de conexão; a disponibilidade da API vem do HealthMonitor
+    private HealthMonitor healthMonitor;
     private volatile boolean webSocketConectado = false;
     
+    // Reconexão em segundo plano da API e do WebSocket, sem limite de tentativas
+    private final GerenciadorConectividade conectividade;
+    
+    // Log periódico das métricas por endpoint (null se api.metrics.dump.interval.ms=0)
+    private ScheduledExecutorService despejoMetricas;
+    
+    // Configurações lidas do config.properties (vazio se o arquivo não existir)
+    private final Properties configuracoes;
+    
+    // Último evento recebido pelo WebSocket; sobrevive às reconexões e à troca do cliente
+    private final SequenciaEventos sequenciaEventos;
+    
     // Construtor privado para Singleton
     private ApiManager(String apiBaseUrl, String webSocketUrl) {
         this.apiBaseUrl = apiBaseUrl;
         this.webSocketUrl = webSocketUrl;
+        this.configuracoes = carregarConfiguracoes();
+        this.sequenciaEventos = new SequenciaEventos(getConfigInt("websocket.replay.max.gap", 500));
+        this.conectividade = new GerenciadorConectividade(this::tentarReconectar,
+                getConfigInt("connectivity.backoff.base.ms", 1000), getConfigInt("connectivity.backoff.max.ms", 60000));
         inicializar();
     }
     
@@ -65,6 +107,39 @@ public class ApiManager {
         return instance;
     }
     
+    /**
+     * Carrega o config.properties do classpath
+     */
+    private static Properties carregarConfiguracoes() {
+        Properties config = new Properties();
+        try (InputStream input = ApiManager.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                config.load(input);
+            } else {
+                LOGGER.info("Arquivo config.properties não encontrado - usando configurações padrão");
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar config.properties", e);
+        }
+        return config;
+    }
+    
+    /**
+     * Lê uma configuração inteira, usando o padrão se ausente ou inválida
+     */
+    private int getConfigInt(String chave, int padrao) {
+        String valor = configuracoes.getProperty(chave);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Valor inválido para " + chave + ": " + valor + " - usando " + padrao);
+            return padrao;
+        }
+    }
+    
     /**
      * Inicializa todos os componentes
      */
@@ -73,24 +148,43 @@ public class ApiManager {
             LOGGER.info("Inicializando ApiManager...");
             
             // Inicializa o cliente HTTP
-            apiClient = new ApiClient(apiBaseUrl, 5000, 10000); 
+            // Pool, keep-alive, compressão e timeouts vêm das chaves api.* do config.properties
+            apiClient = new ApiClient(apiBaseUrl, ApiClientConfig.fromProperties(configuracoes));
+            asyncApiClient = new AsyncApiClient(apiClient);
             
-            // Verifica se a API está disponível
+            // Verifica se a API está disponível; depois disso as sondagens seguem em segundo plano
+            healthMonitor = new HealthMonitor(apiClient, 
+                    getConfigInt("api.health.interval.ms", 5000), getConfigInt("api.health.history", 60));
             verificarDisponibilidadeApi();
+            healthMonitor.adicionarOuvinte(estado -> {
+                if (estado.disponivel()) {
+                    // Servidor de volta: não espera o resto do backoff
+                    conectividade.antecipar();
+                } else {
+                    conectividade.solicitarReconexao("API deixou de responder");
+                }
+            });
+            healthMonitor.iniciar();
+            iniciarDespejoMetricas(getConfigInt("api.metrics.dump.interval.ms", 0));
             
-            if (apiDisponivel) {
+            if (isApiDisponivel()) {
                 // Inicializa os services
                 inicializarServices();
                 
                 // Inicializa o WebSocket para notificações em tempo real
                 inicializarWebSocket();
+                if (!webSocketConectado) {
+                    conectividade.solicitarReconexao("WebSocket não conectou na inicialização");
+                }
                 
                 LOGGER.info("ApiManager inicializado com sucesso!");
             } else {
                 LOGGER.warning("API não disponível. Alguns recursos podem não funcionar.");
+                conectividade.solicitarReconexao("API indisponível na inicialização");
                 JOptionPane.showMessageDialog(null, 
                     "⚠️ API não disponível\n\nVerifique se o servidor Spring Boot está rodando.\n" +
-                    "Alguns recursos podem não funcionar corretamente.", 
+                    "Alguns recursos podem não funcionar corretamente.\n" +
+                    "A conexão será tentada novamente em segundo plano.", 
                     "Aviso de Conectividade", 
                     JOptionPane.WARNING_MESSAGE);
             }
@@ -101,18 +195,17 @@ public class ApiManager {
     }
     
     /**
-     * Verifica se a API está disponível
+     * Verifica agora se a API está disponível (bloqueia até o fim da sondagem)
      */
     private void verificarDisponibilidadeApi() {
         try {
-            apiDisponivel = apiClient.isApiAvailable();
-            if (apiDisponivel) {
-                LOGGER.info("✓ API disponível em: " + apiBaseUrl);
+            HealthMonitor.Estado estado = healthMonitor.verificarAgora();
+            if (estado.disponivel()) {
+                LOGGER.info("✓ API disponível em: " + apiBaseUrl + " (" + estado.latenciaMs() + "ms)");
             } else {
                 LOGGER.warning("✗ API não disponível em: " + apiBaseUrl);
             }
         } catch (Exception e) {
-            apiDisponivel = false;
             LOGGER.log(Level.WARNING, "Erro ao verificar disponibilidade da API", e);
         }
     }
@@ -123,9 +216,13 @@ public class ApiManager {
     private void inicializarServices() {
         LOGGER.info("Inicializando services...");
         
-        pacienteService = new PacienteService(apiClient);
-        especialidadeService = new EspecialidadeService(apiClient);
-        pacienteEspecialidadeService = new PacienteEspecialidadeService(apiClient);
+        int tamanhoPagina = getConfigInt("api.pacientes.page.size", PacienteService.TAMANHO_PAGINA_PADRAO);
+        pacienteService = new PacienteService(apiClient, asyncApiClient, tamanhoPagina,
+                getConfigInt("api.pacientes.page.timeout.ms", (int) PacienteService.TEMPO_LIMITE_PAGINA_PADRAO_MS));
+        especialidadeService = new EspecialidadeService(apiClient, asyncApiClient);
+        pacienteEspecialidadeService = new PacienteEspecialidadeService(apiClient, asyncApiClient);
+        pacienteSyncService = new PacienteSyncService(apiClient,
+                Boolean.parseBoolean(configuracoes.getProperty("sync.delta.enabled", "true").trim()));
         
         LOGGER.info("✓ Services inicializados");
     }
@@ -137,8 +234,16 @@ public class ApiManager {
         try {
             LOGGER.info("Inicializando WebSocket...");
             
-            webSocketClient = new WebSocketClient(webSocketUrl);
-            boolean conectado = webSocketClient.connect();
+            WebSocketClient cliente = new WebSocketClient(webSocketUrl, getConfigInt("websocket.queue.capacity", 1000),
+                    sequenciaEventos, getConfigInt("websocket.ping.interval.ms", 3000), getConfigInt("websocket.ping.max.missed", 2));
+            cliente.setAoPerderConexao(() -> {
+                webSocketConectado = false;
+                conectividade.solicitarReconexao("WebSocket desconectado");
+            });
+            pacienteListeners.forEach(cliente::addPacienteListener);
+            pacienteEspecialidadeListeners.forEach(cliente::addPacienteEspecialidadeListener);
+            webSocketClient = cliente;
+            boolean conectado = cliente.connect();
             
             if (conectado) {
                 webSocketConectado = true;
@@ -155,60 +260,59 @@ public class ApiManager {
     }
     
     /**
-     * Reconecta à API e WebSocket se necessário
+     * Uma tentativa do GerenciadorConectividade: true se API e WebSocket ficaram conectados
+     * O WebSocketClient existente é reaproveitado, com seus listeners e sua fila
+     */
+    private boolean tentarReconectar() {
+        if (!healthMonitor.verificarAgora().disponivel()) {
+            LOGGER.fine("API ainda indisponível");
+            return false;
+        }
+        if (pacienteService == null) {
+            inicializarServices();
+        }
+        
+        WebSocketClient cliente = webSocketClient;
+        if (cliente == null) {
+            inicializarWebSocket();
+        } else if (!cliente.isConnected()) {
+            webSocketConectado = cliente.connect(TIMEOUT_RECONEXAO_WEBSOCKET_MS);
+        } else {
+            webSocketConectado = true;
+        }
+        return isWebSocketConectado();
+    }
+    
+    /**
+     * Reconecta à API e WebSocket agora, se necessário (bloqueia; não chamar da EDT)
+     * Se não conseguir, as tentativas continuam em segundo plano
      */
     public void reconectar() {
         LOGGER.info("Iniciando processo de reconexão completa...");
-
-        try {
-            // 1. Verificar e reconectar API
-            LOGGER.info("1/3 - Verificando API...");
-            verificarDisponibilidadeApi();
-
-            // 2. Reconectar WebSocket se necessário
-            LOGGER.info("2/3 - Verificando WebSocket...");
-            if (apiDisponivel) {
-                // Se WebSocket não estiver conectado, tentar reconectar
-                if (webSocketClient == null || !webSocketClient.isConnected()) {
-                    LOGGER.info("WebSocket desconectado - tentando reconectar...");
-
-                    // Fechar conexão antiga se existir
-                    if (webSocketClient != null) {
-                        try {
-                            webSocketClient.disconnect();
-                        } catch (Exception e) {
-                            LOGGER.log(Level.WARNING, "Erro ao fechar WebSocket anterior", e);
-                        }
-                    }
-
-                    // Criar nova conexão
-                    inicializarWebSocket();
-
-                } else {
-                    LOGGER.info("WebSocket já conectado");
-                    webSocketConectado = true;
-                }
-            }
-
-            // 3. Atualizar status final
-            LOGGER.info("3/3 - Atualizando status final...");
-            webSocketConectado = (webSocketClient != null && webSocketClient.isConnected());
-
-            // Log do resultado
-            if (apiDisponivel && webSocketConectado) {
-                LOGGER.info("✅ Reconexão completa bem-sucedida! API: OK, WebSocket: OK");
-            } else if (apiDisponivel) {
-                LOGGER.info("⚠️ Reconexão parcial - API: OK, WebSocket: FALHOU");
-            } else {
-                LOGGER.warning("❌ Falha na reconexão - API e WebSocket indisponíveis");
-            }
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro durante reconexão", e);
-            throw new RuntimeException("Falha no processo de reconexão", e);
+        
+        if (conectividade.reconectarAgora("reconexão solicitada")) {
+            LOGGER.info("✅ Reconexão completa bem-sucedida! API: OK, WebSocket: OK");
+        } else if (isApiDisponivel()) {
+            LOGGER.info("⚠️ Reconexão parcial - API: OK, WebSocket: FALHOU (tentando em segundo plano)");
+        } else {
+            LOGGER.warning("❌ Falha na reconexão - API e WebSocket indisponíveis (tentando em segundo plano)");
         }
     }
     
+    /**
+     * Passa a reconectar em segundo plano sem bloquear; não faz nada se já estiver reconectando
+     */
+    public void solicitarReconexao(String motivo) {
+        conectividade.solicitarReconexao(motivo);
+    }
+    
+    /**
+     * Estado da reconexão, para consultar ou ouvir quando a conexão cai e volta
+     */
+    public GerenciadorConectividade getConectividade() {
+        return conectividade;
+    }
+    
     /**
      * Finaliza todas as conexões
      */
@@ -216,18 +320,34 @@ public class ApiManager {
         LOGGER.info("Finalizando ApiManager...");
         
         try {
+            conectividade.parar();
+            
+            if (healthMonitor != null) {
+                healthMonitor.parar();
+            }
+            
+            if (despejoMetricas != null) {
+                despejoMetricas.shutdownNow();
+                despejarMetricas();
+            }
+            
+            sequenciaEventos.parar();
+            
             if (webSocketClient != null) {
-                webSocketClient.disconnect();
+                webSocketClient.fechar();
                 webSocketConectado = false;
                 LOGGER.info("✓ WebSocket desconectado");
             }
             
             if (apiClient != null) {
                 apiClient.close();
-                apiDisponivel = false;
                 LOGGER.info("✓ ApiClient fechado");
             }
             
+            if (asyncApiClient != null) {
+                asyncApiClient.close();
+            }
+            
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Erro ao finalizar ApiManager", e);
         }
@@ -258,17 +378,28 @@ public class ApiManager {
         return pacienteEspecialidadeService;
     }
     
+    public PacienteSyncService getPacienteSyncService() {
+        if (pacienteSyncService == null) {
+            throw new IllegalStateException("PacienteSyncService não inicializado. Verifique se a API está disponível.");
+        }
+        return pacienteSyncService;
+    }
+    
     // Métodos para gerenciar listeners do WebSocket (substitui o sistema Kafka)
     
     /**
      * Adiciona listener para mudanças em Paciente
      */
     public void addPacienteChangeListener(PacienteChangeListener listener) {
-        if (webSocketClient != null) {
-            webSocketClient.addPacienteListener(listener);
+        if (!pacienteListeners.contains(listener)) {
+            pacienteListeners.add(listener);
+        }
+        WebSocketClient cliente = webSocketClient;
+        if (cliente != null) {
+            cliente.addPacienteListener(listener);
             LOGGER.info("PacienteChangeListener adicionado");
         } else {
-            LOGGER.warning("WebSocket não disponível. Listener não será adicionado.");
+            LOGGER.info("PacienteChangeListener guardado até o WebSocket conectar");
         }
     }
     
@@ -276,8 +407,10 @@ public class ApiManager {
      * Remove listener para mudanças em Paciente
      */
     public void removePacienteChangeListener(PacienteChangeListener listener) {
-        if (webSocketClient != null) {
-            webSocketClient.removePacienteListener(listener);
+        pacienteListeners.remove(listener);
+        WebSocketClient cliente = webSocketClient;
+        if (cliente != null) {
+            cliente.removePacienteListener(listener);
             LOGGER.info("PacienteChangeListener removido");
         }
     }
@@ -286,11 +419,15 @@ public class ApiManager {
      * Adiciona listener para mudanças em PacienteEspecialidade
      */
     public void addPacienteEspecialidadeChangeListener(PacienteEspecialidadeChangeListener listener) {
-        if (webSocketClient != null) {
-            webSocketClient.addPacienteEspecialidadeListener(listener);
+        if (!pacienteEspecialidadeListeners.contains(listener)) {
+            pacienteEspecialidadeListeners.add(listener);
+        }
+        WebSocketClient cliente = webSocketClient;
+        if (cliente != null) {
+            cliente.addPacienteEspecialidadeListener(listener);
             LOGGER.info("PacienteEspecialidadeChangeListener adicionado");
         } else {
-            LOGGER.warning("WebSocket não disponível. Listener não será adicionado.");
+            LOGGER.info("PacienteEspecialidadeChangeListener guardado até o WebSocket conectar");
         }
     }
     
@@ -298,16 +435,41 @@ public class ApiManager {
      * Remove listener para mudanças em PacienteEspecialidade
      */
     public void removePacienteEspecialidadeChangeListener(PacienteEspecialidadeChangeListener listener) {
-        if (webSocketClient != null) {
-            webSocketClient.removePacienteEspecialidadeListener(listener);
+        pacienteEspecialidadeListeners.remove(listener);
+        WebSocketClient cliente = webSocketClient;
+        if (cliente != null) {
+            cliente.removePacienteEspecialidadeListener(listener);
             LOGGER.info("PacienteEspecialidadeChangeListener removido");
         }
     }
     
+    /**
+     * Avisado quando o WebSocket perdeu eventos que não podem ser repostos (queda longa,
+     * replay recusado, fila cheia) e o estado local precisa de uma sincronização
+     * Roda na thread do WebSocket
+     */
+    public void addRessincronizacaoListener(Runnable listener) {
+        sequenciaEventos.adicionarOuvinte(listener);
+    }
+    
+    public void removeRessincronizacaoListener(Runnable listener) {
+        sequenciaEventos.removerOuvinte(listener);
+    }
+    
     // Métodos de status e diagnóstico
     
+    /**
+     * Disponibilidade segundo a última sondagem do HealthMonitor (leitura O(1), sem requisição)
+     */
     public boolean isApiDisponivel() {
-        return apiDisponivel;
+        return healthMonitor != null && healthMonitor.isDisponivel();
+    }
+    
+    /**
+     * Monitor de disponibilidade, para consultar latências ou ouvir quedas e retornos da API
+     */
+    public HealthMonitor getHealthMonitor() {
+        return healthMonitor;
     }
     
     public boolean isWebSocketConectado() {
@@ -319,11 +481,57 @@ public class ApiManager {
         status.append("=== STATUS DO APIMANAGER ===\n");
         status.append("API Base URL: ").append(apiBaseUrl).append("\n");
         status.append("WebSocket URL: ").append(webSocketUrl).append("\n");
-        status.append("API Disponível: ").append(apiDisponivel ? "✓ SIM" : "✗ NÃO").append("\n");
+        status.append("API Disponível: ").append(isApiDisponivel() ? "✓ SIM" : "✗ NÃO").append("\n");
+        if (healthMonitor != null) {
+            status.append("Última Verificação: ").append(healthMonitor.getEstado()).append("\n");
+            status.append("Latência das Sondagens: ").append(healthMonitor.getResumoLatencias()).append("\n");
+        }
         status.append("WebSocket Conectado: ").append(isWebSocketConectado() ? "✓ SIM" : "✗ NÃO").append("\n");
+        status.append("Conectividade: ").append(conectividade.getSituacao()).append("\n");
         
         if (webSocketClient != null) {
-            status.append("WebSocket Reconectando: ").append(webSocketClient.isReconnecting() ? "SIM" : "NÃO").append("\n");
+            PingWebSocket.Estatisticas ping = webSocketClient.getEstatisticasPing();
+            if (ping != null) {
+                status.append("WebSocket Ping: ").append(ping).append("\n");
+            }
+            status.append("Fila de Mensagens: ").append(webSocketClient.getEstatisticasFila()).append("\n");
+            status.append("Eventos WebSocket: ").append(sequenciaEventos).append("\n");
+        }
+        
+        if (apiClient != null) {
+            status.append("Transporte HTTP: ").append(apiClient.getConfiguracao()).append("\n");
+            ApiClient.EstatisticasPool pool = apiClient.getEstatisticasPool();
+            status.append("Pool HTTP: ").append(pool)
+                  .append(pool.esgotado() ? " ⚠️ ESGOTADO" : "").append("\n");
+            apiClient.getEstatisticasPorRota().forEach((rota, stats) ->
+                status.append("  Rota ").append(rota).append(": ").append(stats).append("\n"));
+            if (apiClient.isCacheHabilitado()) {
+                status.append("Cache HTTP: ").append(apiClient.getMetricasCache()).append("\n");
+            }
+            if (apiClient.getResiliencia() != null) {
+                status.append("Resiliência: ").append(apiClient.getResiliencia()).append("\n");
+                apiClient.getResiliencia().getDisjuntoresAbertos().forEach(disjuntor ->
+                    status.append("  ⚠️ Disjuntor ").append(disjuntor).append("\n"));
+            }
+            if (apiClient.isCoalescenciaHabilitada()) {
+                long coalescidos = apiClient.getGetsCoalescidos()
+                        + (asyncApiClient != null ? asyncApiClient.getGetsCoalescidos() : 0);
+                status.append("GETs coalescidos: ").append(coalescidos).append("\n");
+            }
+            if (apiClient.getEsperasEsgotadas() > 0) {
+                status.append("Requisições sem conexão livre: ").append(apiClient.getEsperasEsgotadas()).append("\n");
+            }
+            if (apiClient.getMetricas() != null) {
+                status.append("Métricas por Endpoint: ").append(apiClient.getMetricas().relatorio(MAX_ENDPOINTS_RELATORIO)).append("\n");
+            }
+        }
+        
+        if (pacienteSyncService != null) {
+            long marca = pacienteSyncService.getMarca();
+            status.append("Sincronização Incremental: ").append(
+                pacienteSyncService.isDisponivel() ? "✓ desde " + Instant.ofEpochMilli(marca)
+                    : "✗ carga completa" + (marca < 0 ? " (sem marca)" : "")
+            ).append("\n");
         }
         
         status.append("Services Inicializados: ").append(
@@ -334,6 +542,38 @@ public class ApiManager {
         return status.toString();
     }
     
+    /**
+     * Métricas por endpoint do ApiClient e do AsyncApiClient (null se desligadas ou sem cliente)
+     */
+    public MetricasApi getMetricas() {
+        return apiClient != null ? apiClient.getMetricas() : null;
+    }
+    
+    /**
+     * Registra no log, a cada intervalo, as métricas dos endpoints que mais pesam
+     */
+    private void iniciarDespejoMetricas(long intervaloMs) {
+        if (intervaloMs <= 0 || getMetricas() == null) {
+            return;
+        }
+        despejoMetricas = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metricas-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        despejoMetricas.scheduleAtFixedRate(this::despejarMetricas, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Métricas por endpoint no log a cada " + intervaloMs + "ms");
+    }
+    
+    private void despejarMetricas() {
+        try {
+            LOGGER.info("=== MÉTRICAS POR ENDPOINT ===\n" + getMetricas().relatorio(MAX_ENDPOINTS_RELATORIO));
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria o agendamento
+            LOGGER.log(Level.WARNING, "Erro ao registrar métricas", e);
+        }
+    }
+    
     /**
      * Executa diagnóstico completo da conectividade
      */
@@ -344,7 +584,7 @@ public class ApiManager {
         LOGGER.info("Testando API...");
         verificarDisponibilidadeApi();
         
-        if (apiDisponivel && pacienteService != null) {
+        if (isApiDisponivel() && pacienteService != null) {
             try {
                 int totalPacientes = pacienteService.contarTotal();
                 LOGGER.info("✓ API funcional - Total de pacientes: " + totalPacientes);
@@ -357,8 +597,8 @@ public class ApiManager {
         LOGGER.info("Testando WebSocket...");
         if (isWebSocketConectado()) {
             LOGGER.info("✓ WebSocket conectado e funcional");
-        } else if (webSocketClient != null && webSocketClient.isReconnecting()) {
-            LOGGER.info("⟳ WebSocket tentando reconectar...");
+        } else if (conectividade.isReconectando()) {
+            LOGGER.info("⟳ WebSocket tentando reconectar: " + conectividade.getSituacao());
         } else {
             LOGGER.warning("✗ WebSocket não conectado");
         }
@@ -0,0 +1,196 @@
+package com.mycompany.manager;
+
+import com.mycompany.client.resiliencia.Backoff;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reconexão com a API e o WebSocket, num único agendador
+ *
+ * Quem percebe a queda (WebSocket fechado, HealthMonitor, inicialização offline)
+ * chama solicitarReconexao(); as tentativas seguem em segundo plano, sem limite,
+ * com espera exponencial e jitter completo (Backoff). O sorteio espalha as
+ * reconexões dos vários computadores da clínica depois de um reinício do servidor,
+ * em vez de todos baterem no mesmo instante. Os ouvintes são avisados quando o
+ * estado muda
+ */
+public class GerenciadorConectividade {
+
+    private static final Logger LOGGER = Logger.getLogger(GerenciadorConectividade.class.getName());
+
+    public enum Estado { CONECTADO, RECONECTANDO, PARADO }
+
+    /**
+     * @param tentativas tentativas que já falharam nesta queda
+     * @param proximaTentativaEm instante (epoch ms) da próxima tentativa; 0 se não houver
+     * @param motivo o que levou à reconexão
+     */
+    public record Situacao(Estado estado, int tentativas, long proximaTentativaEm, String motivo) {
+
+        static final Situacao CONECTADO = new Situacao(Estado.CONECTADO, 0, 0, null);
+
+        @Override
+        public String toString() {
+            return switch (estado) {
+                case CONECTADO -> "conectado";
+                case PARADO -> "parado";
+                case RECONECTANDO -> "reconectando (" + motivo + ") - " + tentativas + " tentativas, próxima em "
+                        + Instant.ofEpochMilli(proximaTentativaEm);
+            };
+        }
+    }
+
+    private final BooleanSupplier tentativa;
+    private final Backoff backoff;
+    private final ScheduledExecutorService agendador;
+    private final AtomicReference<Situacao> situacao = new AtomicReference<>(Situacao.CONECTADO);
+    private final List<Consumer<Situacao>> ouvintes = new CopyOnWriteArrayList<>();
+
+    // Tentativa agendada e reconectarAgora nunca rodam juntas
+    private final Object travaTentativa = new Object();
+    private ScheduledFuture<?> proxima;
+
+    /**
+     * @param tentativa reconecta o que estiver fora; true se tudo ficou conectado
+     */
+    public GerenciadorConectividade(BooleanSupplier tentativa, long esperaBaseMs, long esperaMaxMs) {
+        this.tentativa = tentativa;
+        this.backoff = new Backoff(esperaBaseMs, esperaMaxMs);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "conectividade");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Passa a reconectar em segundo plano; não faz nada se já estiver reconectando
+     * Até a primeira tentativa espera um atraso sorteado
+     */
+    public synchronized void solicitarReconexao(String motivo) {
+        if (agendador.isShutdown() || situacao.get().estado() == Estado.RECONECTANDO) {
+            return;
+        }
+        LOGGER.info("Reconexão solicitada: " + motivo);
+        agendar(1, motivo);
+    }
+
+    /**
+     * Sinal de que o servidor voltou: antecipa a próxima tentativa (ainda com um atraso curto sorteado)
+     */
+    public synchronized void antecipar() {
+        Situacao atual = situacao.get();
+        if (atual.estado() == Estado.RECONECTANDO) {
+            agendar(1, atual.motivo());
+        }
+    }
+
+    /**
+     * Tenta agora, na thread chamadora; se falhar, as tentativas continuam em segundo plano
+     * Não chamar da EDT
+     */
+    public boolean reconectarAgora(String motivo) {
+        synchronized (this) {
+            if (agendador.isShutdown()) {
+                return false;
+            }
+            cancelarAgendada();
+        }
+        return tentar(1, motivo);
+    }
+
+    public Situacao getSituacao() {
+        return situacao.get();
+    }
+
+    public boolean isReconectando() {
+        return situacao.get().estado() == Estado.RECONECTANDO;
+    }
+
+    /**
+     * Avisado (na thread que concluiu a tentativa) quando o estado muda
+     */
+    public void adicionarOuvinte(Consumer<Situacao> ouvinte) {
+        if (!ouvintes.contains(ouvinte)) {
+            ouvintes.add(ouvinte);
+        }
+    }
+
+    public void removerOuvinte(Consumer<Situacao> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    public void parar() {
+        agendador.shutdownNow();
+        publicar(new Situacao(Estado.PARADO, 0, 0, null));
+    }
+
+    private boolean tentar(int numero, String motivo) {
+        boolean conectado;
+        synchronized (travaTentativa) {
+            try {
+                conectado = tentativa.getAsBoolean();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Erro na tentativa de reconexão", e);
+                conectado = false;
+            }
+        }
+
+        if (conectado) {
+            if (numero > 1 || situacao.get().estado() == Estado.RECONECTANDO) {
+                LOGGER.info("✓ Conexão restabelecida após " + numero + " tentativa(s)");
+            }
+            synchronized (this) {
+                // antecipar() pode ter agendado outra durante esta tentativa
+                cancelarAgendada();
+            }
+            publicar(Situacao.CONECTADO);
+        } else {
+            agendar(numero + 1, motivo);
+        }
+        return conectado;
+    }
+
+    private synchronized void agendar(int numero, String motivo) {
+        if (agendador.isShutdown()) {
+            return;
+        }
+        cancelarAgendada();
+        long atraso = backoff.atraso(numero);
+        proxima = agendador.schedule(() -> tentar(numero, motivo), atraso, TimeUnit.MILLISECONDS);
+        LOGGER.fine("Tentativa de reconexão " + numero + " em " + atraso + "ms");
+        publicar(new Situacao(Estado.RECONECTANDO, numero - 1, System.currentTimeMillis() + atraso, motivo));
+    }
+
+    private void cancelarAgendada() {
+        if (proxima != null) {
+            proxima.cancel(false);
+            proxima = null;
+        }
+    }
+
+    private void publicar(Situacao nova) {
+        Situacao anterior = situacao.getAndSet(nova);
+        if (anterior.estado() == nova.estado()) {
+            return;
+        }
+        for (Consumer<Situacao> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(nova);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Erro em ouvinte de conectividade", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mycompany.manager;
+
+import com.mycompany.client.ApiClient;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Verificação periódica da disponibilidade da API, em segundo plano
+ *
+ * As sondagens (ApiClient.isApiAvailable) rodam numa thread própria em intervalo
+ * fixo; o resultado fica num Estado imutável publicado por referência atômica,
+ * então isDisponivel() é uma leitura O(1) que pode ser feita da EDT.
+ * Guarda também as latências das últimas sondagens bem-sucedidas e avisa os
+ * ouvintes quando a API cai ou volta
+ */
+public class HealthMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(HealthMonitor.class.getName());
+
+    /**
+     * Resultado da última sondagem
+     * @param disponivel algum endpoint de saúde respondeu 2xx
+     * @param latenciaMs duração da sondagem bem-sucedida (-1 se falhou)
+     * @param verificadoEm instante da sondagem (epoch ms, 0 se ainda não houve)
+     * @param falhasSeguidas sondagens com falha desde o último sucesso
+     */
+    public record Estado(boolean disponivel, long latenciaMs, long verificadoEm, int falhasSeguidas) {
+
+        static final Estado DESCONHECIDO = new Estado(false, -1, 0, 0);
+
+        @Override
+        public String toString() {
+            if (verificadoEm == 0) {
+                return "não verificado";
+            }
+            return (disponivel ? "disponível (" + latenciaMs + "ms)" : "indisponível (" + falhasSeguidas + " falhas)")
+                    + " em " + Instant.ofEpochMilli(verificadoEm);
+        }
+    }
+
+    private final ApiClient apiClient;
+    private final long intervaloMs;
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.DESCONHECIDO);
+    private final List<Consumer<Estado>> ouvintes = new CopyOnWriteArrayList<>();
+
+    // Latências das últimas sondagens bem-sucedidas (buffer circular, protegido pelo próprio array)
+    private final long[] latencias;
+    private int proximaLatencia = 0;
+    private int totalLatencias = 0;
+
+    // Sondagem agendada e verificarAgora nunca rodam juntas
+    private final Object travaSondagem = new Object();
+
+    private final ScheduledExecutorService agendador;
+    private ScheduledFuture<?> tarefa;
+
+    public HealthMonitor(ApiClient apiClient, long intervaloMs, int tamanhoHistorico) {
+        this.apiClient = apiClient;
+        this.intervaloMs = Math.max(500, intervaloMs);
+        this.latencias = new long[Math.max(1, tamanhoHistorico)];
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia as sondagens periódicas (a primeira após um intervalo)
+     */
+    public synchronized void iniciar() {
+        if (tarefa == null) {
+            tarefa = agendador.scheduleWithFixedDelay(this::verificarAgendado, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+            LOGGER.info("HealthMonitor iniciado (intervalo " + intervaloMs + "ms)");
+        }
+    }
+
+    public void parar() {
+        agendador.shutdownNow();
+        LOGGER.info("HealthMonitor parado");
+    }
+
+    /**
+     * Sonda agora, na thread chamadora, e devolve o novo estado
+     * Para quem precisa da resposta antes de seguir (inicialização, reconexão); não chamar da EDT
+     */
+    public Estado verificarAgora() {
+        return verificar();
+    }
+
+    /**
+     * Pede uma sondagem imediata em segundo plano
+     */
+    public void solicitarVerificacao() {
+        if (!agendador.isShutdown()) {
+            agendador.execute(this::verificarAgendado);
+        }
+    }
+
+    public boolean isDisponivel() {
+        return estado.get().disponivel();
+    }
+
+    public Estado getEstado() {
+        return estado.get();
+    }
+
+    /**
+     * Avisado (na thread do monitor) sempre que a disponibilidade muda
+     */
+    public void adicionarOuvinte(Consumer<Estado> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(Consumer<Estado> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    /**
+     * Latências das últimas sondagens bem-sucedidas, da mais antiga para a mais recente
+     */
+    public long[] getHistoricoLatencias() {
+        synchronized (latencias) {
+            long[] historico = new long[totalLatencias];
+            int inicio = (proximaLatencia - totalLatencias + latencias.length) % latencias.length;
+            for (int i = 0; i < totalLatencias; i++) {
+                historico[i] = latencias[(inicio + i) % latencias.length];
+            }
+            return historico;
+        }
+    }
+
+    /**
+     * Resumo do histórico: mínima, média e máxima
+     */
+    public String getResumoLatencias() {
+        long[] historico = getHistoricoLatencias();
+        if (historico.length == 0) {
+            return "sem amostras";
+        }
+        long min = Long.MAX_VALUE, max = 0, soma = 0;
+        for (long latencia : historico) {
+            min = Math.min(min, latencia);
+            max = Math.max(max, latencia);
+            soma += latencia;
+        }
+        return historico.length + " amostras, min=" + min + "ms, média=" + (soma / historico.length) + "ms, max=" + max + "ms";
+    }
+
+    private void verificarAgendado() {
+        try {
+            verificar();
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria o agendamento
+            LOGGER.log(Level.WARNING, "Erro na sondagem de disponibilidade", e);
+        }
+    }
+
+    private Estado verificar() {
+        synchronized (travaSondagem) {
+            return sondar();
+        }
+    }
+
+    private Estado sondar() {
+        long inicio = System.nanoTime();
+        boolean disponivel = apiClient.isApiAvailable();
+        long latenciaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        Estado anterior = estado.get();
+        Estado novo = disponivel
+                ? new Estado(true, latenciaMs, System.currentTimeMillis(), 0)
+                : new Estado(false, -1, System.currentTimeMillis(), anterior.falhasSeguidas() + 1);
+        estado.set(novo);
+
+        if (disponivel) {
+            synchronized (latencias) {
+                latencias[proximaLatencia] = latenciaMs;
+                proximaLatencia = (proximaLatencia + 1) % latencias.length;
+                totalLatencias = Math.min(totalLatencias + 1, latencias.length);
+            }
+        }
+
+        if (anterior.verificadoEm() != 0 && anterior.disponivel() != disponivel) {
+            LOGGER.info(disponivel ? "✓ API voltou a responder (" + latenciaMs + "ms)" : "✗ API deixou de responder");
+            for (Consumer<Estado> ouvinte : ouvintes) {
+                try {
+                    ouvinte.accept(novo);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Erro em ouvinte do HealthMonitor", e);
+                }
+            }
+        }
+        return novo;
+    }
+}
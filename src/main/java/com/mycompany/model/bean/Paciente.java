@@ -25,6 +25,10 @@ public class Paciente {
     private float altura;             // Altura em metros (m)
     private float imc;                // Índice de Massa Corporal calculado (IMC = peso / altura²)
 
+    // Classificação dos sinais vitais (VitalSignsClassifier): versão dos limiares nos 32 bits altos,
+    // status nos baixos; -1 = ainda não classificado. Um único long para leitura/escrita atômica
+    private transient volatile long statusVitais = -1L;
+
     public Paciente() {
         // Construtor padrão
     }
@@ -109,6 +113,7 @@ public class Paciente {
 
     public void setPaXMmhg(String paXMmhg) {
         this.paXMmhg = paXMmhg != null ? paXMmhg.trim() : "";
+        invalidarStatusVitais();
     }
 
     public Float getFcBpm() {
@@ -117,6 +122,7 @@ public class Paciente {
 
     public void setFcBpm(Float fcBpm) {
         this.fcBpm = (fcBpm != null) ? fcBpm : 0.0f;
+        invalidarStatusVitais();
     }
 
     public Float getFrIbpm() {
@@ -133,6 +139,7 @@ public class Paciente {
 
     public void setTemperaturaC(Float temperaturaC) {
         this.temperaturaC = (temperaturaC != null) ? temperaturaC : 0.0f;
+        invalidarStatusVitais();
     }
 
     public Float getHgtMgld() {
@@ -141,6 +148,7 @@ public class Paciente {
 
     public void setHgtMgld(Float hgtMgld) {
         this.hgtMgld = (hgtMgld != null) ? hgtMgld : 0.0f;
+        invalidarStatusVitais();
     }
 
     public Float getSpo2() {
@@ -149,6 +157,7 @@ public class Paciente {
 
     public void setSpo2(Float spo2) {
         this.spo2 = (spo2 != null) ? spo2 : 0.0f;
+        invalidarStatusVitais();
     }
 
     public Float getPeso() {
@@ -173,8 +182,28 @@ public class Paciente {
 
     public void setImc(Float imc) {
         this.imc = (imc != null) ? imc : 0.0f;
+        invalidarStatusVitais();
     }
     
+    /**
+     * Status guardado pelo VitalSignsClassifier, ou -1 se não houver para essa versão dos limiares
+     */
+    public int getStatusVitaisEmCache(int versaoLimiares) {
+        long atual = statusVitais;
+        if (atual < 0 || (int) (atual >>> 32) != versaoLimiares) {
+            return -1;
+        }
+        return (int) atual;
+    }
+
+    public void guardarStatusVitais(int versaoLimiares, int status) {
+        statusVitais = ((long) versaoLimiares << 32) | (status & 0xFFFFFFFFL);
+    }
+
+    private void invalidarStatusVitais() {
+        statusVitais = -1L;
+    }
+
     public boolean isValid() {
         return id != null && 
                nome != null && !nome.trim().isEmpty();
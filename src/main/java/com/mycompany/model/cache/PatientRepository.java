@@ -0,0 +1,331 @@
+package com.mycompany.model.cache;
+
+import com.mycompany.model.bean.Especialidade;
+import com.mycompany.model.bean.Paciente;
+import com.mycompany.model.bean.PacienteEspecialidade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória dos dados vindos da API, indexado para que cada evento do
+ * WebSocket custe O(1)
+ *
+ * - Índice primário: id → Paciente
+ * - Índice secundário: pacienteId → associações do paciente (lista imutável, trocada inteira a cada escrita)
+ * - Leitores recebem snapshots imutáveis; nenhuma operação usa monitor,
+ *   então a EDT nunca disputa lock com a thread de eventos
+ */
+public class PatientRepository {
+
+    private static final Comparator<Paciente> POR_ID = Comparator.comparing(
+            Paciente::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ConcurrentHashMap<Integer, Paciente> pacientesPorId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, List<PacienteEspecialidade>> associacoesPorPaciente = new ConcurrentHashMap<>();
+    private volatile List<Especialidade> especialidades = List.of();
+
+    // Versões incrementadas a cada escrita; o snapshot só é reaproveitado se a versão bater
+    private final AtomicLong versaoPacientes = new AtomicLong();
+    private final AtomicLong versaoAssociacoes = new AtomicLong();
+    private final AtomicInteger totalAssociacoes = new AtomicInteger();
+    private volatile Snapshot<Paciente> snapshotPacientes;
+    private volatile Snapshot<PacienteEspecialidade> snapshotAssociacoes;
+
+    private record Snapshot<T>(long versao, List<T> itens) {}
+
+    // ===== PACIENTES =====
+
+    public Paciente getPaciente(int id) {
+        return pacientesPorId.get(id);
+    }
+
+    public boolean contemPaciente(int id) {
+        return pacientesPorId.containsKey(id);
+    }
+
+    public int getTotalPacientes() {
+        return pacientesPorId.size();
+    }
+
+    /**
+     * Insere o paciente apenas se o ID ainda não existir
+     * @return true se foi inserido
+     */
+    public boolean adicionarSeAusente(Paciente paciente) {
+        if (paciente == null || paciente.getId() == null) {
+            return false;
+        }
+        boolean inserido = pacientesPorId.putIfAbsent(paciente.getId(), paciente) == null;
+        if (inserido) {
+            versaoPacientes.incrementAndGet();
+        }
+        return inserido;
+    }
+
+    /**
+     * Insere ou substitui o paciente
+     * @return o paciente anterior com o mesmo ID, ou null se não existia
+     */
+    public Paciente salvarPaciente(Paciente paciente) {
+        if (paciente == null || paciente.getId() == null) {
+            return null;
+        }
+        Paciente anterior = pacientesPorId.put(paciente.getId(), paciente);
+        versaoPacientes.incrementAndGet();
+        return anterior;
+    }
+
+    /**
+     * Insere ou substitui um lote de pacientes (ex: uma página do carregamento)
+     */
+    public void salvarPacientes(Collection<Paciente> pacientes) {
+        for (Paciente paciente : pacientes) {
+            if (paciente != null && paciente.getId() != null) {
+                pacientesPorId.put(paciente.getId(), paciente);
+            }
+        }
+        versaoPacientes.incrementAndGet();
+    }
+
+    /**
+     * Remove o paciente
+     * @return o paciente removido, ou null se não existia
+     */
+    public Paciente removerPaciente(int id) {
+        Paciente removido = pacientesPorId.remove(id);
+        if (removido != null) {
+            versaoPacientes.incrementAndGet();
+        }
+        return removido;
+    }
+
+    public void limparPacientes() {
+        pacientesPorId.clear();
+        versaoPacientes.incrementAndGet();
+    }
+
+    /**
+     * Snapshot imutável de todos os pacientes, ordenado por ID
+     * (o mapa não tem ordem; assim as tabelas recriadas mostram sempre a mesma sequência)
+     */
+    public List<Paciente> getPacientes() {
+        long versao = versaoPacientes.get();
+        Snapshot<Paciente> atual = snapshotPacientes;
+        if (atual != null && atual.versao() == versao) {
+            return atual.itens();
+        }
+        List<Paciente> itens = new ArrayList<>(pacientesPorId.values());
+        itens.sort(POR_ID);
+        List<Paciente> imutavel = List.copyOf(itens);
+        snapshotPacientes = new Snapshot<>(versao, imutavel);
+        return imutavel;
+    }
+
+    // ===== ASSOCIAÇÕES PACIENTE-ESPECIALIDADE =====
+
+    /**
+     * Associações de um paciente (lista imutável, vazia se não houver)
+     */
+    public List<PacienteEspecialidade> getAssociacoes(int pacienteId) {
+        return associacoesPorPaciente.getOrDefault(pacienteId, List.of());
+    }
+
+    public int getTotalAssociacoes() {
+        return totalAssociacoes.get();
+    }
+
+    /**
+     * Adiciona a associação se o par paciente/especialidade ainda não existir
+     * @return true se foi adicionada
+     */
+    public boolean adicionarAssociacao(PacienteEspecialidade associacao) {
+        if (!isAssociacaoValida(associacao)) {
+            return false;
+        }
+        boolean[] adicionada = {false};
+        associacoesPorPaciente.compute(associacao.getPacienteId(), (id, atuais) -> {
+            List<PacienteEspecialidade> lista = atuais != null ? atuais : List.of();
+            if (indiceDe(lista, associacao.getEspecialidadeId()) >= 0) {
+                return atuais;
+            }
+            List<PacienteEspecialidade> novas = new ArrayList<>(lista);
+            novas.add(associacao);
+            adicionada[0] = true;
+            return List.copyOf(novas);
+        });
+        if (adicionada[0]) {
+            totalAssociacoes.incrementAndGet();
+            versaoAssociacoes.incrementAndGet();
+        }
+        return adicionada[0];
+    }
+
+    /**
+     * Substitui uma associação existente (mesmo par paciente/especialidade)
+     * @return true se a associação existia
+     */
+    public boolean atualizarAssociacao(PacienteEspecialidade associacao) {
+        if (!isAssociacaoValida(associacao)) {
+            return false;
+        }
+        boolean[] atualizada = {false};
+        associacoesPorPaciente.computeIfPresent(associacao.getPacienteId(), (id, atuais) -> {
+            int indice = indiceDe(atuais, associacao.getEspecialidadeId());
+            if (indice < 0) {
+                return atuais;
+            }
+            List<PacienteEspecialidade> novas = new ArrayList<>(atuais);
+            novas.set(indice, associacao);
+            atualizada[0] = true;
+            return List.copyOf(novas);
+        });
+        if (atualizada[0]) {
+            versaoAssociacoes.incrementAndGet();
+        }
+        return atualizada[0];
+    }
+
+    /**
+     * Remove a associação paciente/especialidade
+     * @return true se existia
+     */
+    public boolean removerAssociacao(Integer pacienteId, Integer especialidadeId) {
+        if (pacienteId == null || especialidadeId == null) {
+            return false;
+        }
+        boolean[] removida = {false};
+        associacoesPorPaciente.computeIfPresent(pacienteId, (id, atuais) -> {
+            int indice = indiceDe(atuais, especialidadeId);
+            if (indice < 0) {
+                return atuais;
+            }
+            List<PacienteEspecialidade> novas = new ArrayList<>(atuais);
+            novas.remove(indice);
+            removida[0] = true;
+            return novas.isEmpty() ? null : List.copyOf(novas);
+        });
+        if (removida[0]) {
+            totalAssociacoes.decrementAndGet();
+            versaoAssociacoes.incrementAndGet();
+        }
+        return removida[0];
+    }
+
+    /**
+     * Remove todas as associações do paciente
+     * @return quantidade removida
+     */
+    public int removerAssociacoesDoPaciente(Integer pacienteId) {
+        if (pacienteId == null) {
+            return 0;
+        }
+        List<PacienteEspecialidade> removidas = associacoesPorPaciente.remove(pacienteId);
+        if (removidas == null) {
+            return 0;
+        }
+        totalAssociacoes.addAndGet(-removidas.size());
+        versaoAssociacoes.incrementAndGet();
+        return removidas.size();
+    }
+
+    /**
+     * Troca todas as associações do paciente pelas informadas
+     * @return quantidade de associações que existiam antes
+     */
+    public int substituirAssociacoesDoPaciente(Integer pacienteId, List<PacienteEspecialidade> novas) {
+        if (pacienteId == null) {
+            return 0;
+        }
+        List<PacienteEspecialidade> validas = new ArrayList<>();
+        if (novas != null) {
+            for (PacienteEspecialidade associacao : novas) {
+                if (isAssociacaoValida(associacao) && indiceDe(validas, associacao.getEspecialidadeId()) < 0) {
+                    validas.add(associacao);
+                }
+            }
+        }
+        List<PacienteEspecialidade> anteriores = validas.isEmpty()
+                ? associacoesPorPaciente.remove(pacienteId)
+                : associacoesPorPaciente.put(pacienteId, List.copyOf(validas));
+        int quantidadeAnterior = anteriores != null ? anteriores.size() : 0;
+        totalAssociacoes.addAndGet(validas.size() - quantidadeAnterior);
+        versaoAssociacoes.incrementAndGet();
+        return quantidadeAnterior;
+    }
+
+    /**
+     * Substitui o conjunto completo de associações (carga inicial / recarregamento)
+     */
+    public void substituirAssociacoes(Collection<PacienteEspecialidade> associacoes) {
+        Map<Integer, List<PacienteEspecialidade>> agrupadas = new HashMap<>();
+        int total = 0;
+        for (PacienteEspecialidade associacao : associacoes) {
+            if (!isAssociacaoValida(associacao)) {
+                continue;
+            }
+            List<PacienteEspecialidade> lista = agrupadas.computeIfAbsent(associacao.getPacienteId(), id -> new ArrayList<>());
+            if (indiceDe(lista, associacao.getEspecialidadeId()) < 0) {
+                lista.add(associacao);
+                total++;
+            }
+        }
+        associacoesPorPaciente.clear();
+        agrupadas.forEach((pacienteId, lista) -> associacoesPorPaciente.put(pacienteId, List.copyOf(lista)));
+        totalAssociacoes.set(total);
+        versaoAssociacoes.incrementAndGet();
+    }
+
+    /**
+     * Snapshot imutável de todas as associações
+     */
+    public List<PacienteEspecialidade> getTodasAssociacoes() {
+        long versao = versaoAssociacoes.get();
+        Snapshot<PacienteEspecialidade> atual = snapshotAssociacoes;
+        if (atual != null && atual.versao() == versao) {
+            return atual.itens();
+        }
+        List<PacienteEspecialidade> itens = new ArrayList<>(totalAssociacoes.get());
+        associacoesPorPaciente.values().forEach(itens::addAll);
+        List<PacienteEspecialidade> imutavel = List.copyOf(itens);
+        snapshotAssociacoes = new Snapshot<>(versao, imutavel);
+        return imutavel;
+    }
+
+    // ===== ESPECIALIDADES =====
+
+    public List<Especialidade> getEspecialidades() {
+        return especialidades;
+    }
+
+    public void substituirEspecialidades(Collection<Especialidade> novas) {
+        especialidades = List.copyOf(novas);
+    }
+
+    public int getTotalEspecialidades() {
+        return especialidades.size();
+    }
+
+    // ===== AUXILIARES =====
+
+    private static boolean isAssociacaoValida(PacienteEspecialidade associacao) {
+        return associacao != null && associacao.getPacienteId() != null && associacao.getEspecialidadeId() != null;
+    }
+
+    // As listas por paciente são curtas (poucas especialidades), a busca linear é O(1) na prática
+    private static int indiceDe(List<PacienteEspecialidade> lista, Integer especialidadeId) {
+        for (int i = 0; i < lista.size(); i++) {
+            if (especialidadeId.equals(lista.get(i).getEspecialidadeId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
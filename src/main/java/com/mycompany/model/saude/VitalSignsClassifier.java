@@ -0,0 +1,248 @@
+package com.mycompany.model.saude;
+
+import com.mycompany.model.bean.Paciente;
+
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classificação dos sinais vitais do paciente (normal / alerta / crítico)
+ *
+ * O resultado é um int com 2 bits por sinal, calculado uma vez e guardado no
+ * próprio Paciente; os setters de sinais vitais descartam o valor guardado.
+ * Tabela, impressão e filtros leem esse int em vez de refazer a avaliação.
+ *
+ * Os limiares vêm do config.properties (chaves vitais.*) e podem ser trocados
+ * em tempo de execução com configurar(); a troca invalida as classificações antigas
+ */
+public final class VitalSignsClassifier {
+
+    private static final Logger LOGGER = Logger.getLogger(VitalSignsClassifier.class.getName());
+
+    // Status de um sinal
+    public static final int NORMAL = 0;
+    public static final int ALERTA = 1;
+    public static final int CRITICO = 2;
+
+    // Sinais classificados (posição no int de status)
+    public static final int PRESSAO = 0;
+    public static final int FREQUENCIA_CARDIACA = 1;
+    public static final int TEMPERATURA = 2;
+    public static final int GLICEMIA = 3;
+    public static final int SATURACAO = 4;
+    public static final int IMC = 5;
+
+    private static final float SEM_LIMITE = Float.MAX_VALUE;
+
+    /**
+     * Faixa de um sinal: crítico abaixo de criticoAbaixoDe ou a partir de criticoAPartirDe,
+     * alerta abaixo de alertaAbaixoDe ou a partir de alertaAPartirDe
+     * Com abaixoInclusivo os limites de baixo também valem no próprio valor (temperatura e
+     * glicemia: 35,0 °C e 70 mg/dL já são críticos)
+     */
+    public record Faixa(float criticoAbaixoDe, float alertaAbaixoDe, float alertaAPartirDe, float criticoAPartirDe,
+                        boolean abaixoInclusivo) {
+
+        public Faixa(float criticoAbaixoDe, float alertaAbaixoDe, float alertaAPartirDe, float criticoAPartirDe) {
+            this(criticoAbaixoDe, alertaAbaixoDe, alertaAPartirDe, criticoAPartirDe, false);
+        }
+
+        int classificar(float valor) {
+            if (abaixoDe(valor, criticoAbaixoDe) || valor >= criticoAPartirDe) return CRITICO;
+            if (abaixoDe(valor, alertaAbaixoDe) || valor >= alertaAPartirDe) return ALERTA;
+            return NORMAL;
+        }
+
+        private boolean abaixoDe(float valor, float limite) {
+            return abaixoInclusivo ? valor <= limite : valor < limite;
+        }
+    }
+
+    /**
+     * Conjunto de limiares usado na classificação
+     */
+    public record Limiares(Faixa sistolica, Faixa diastolica, Faixa frequenciaCardiaca,
+                           Faixa temperatura, Faixa glicemia, Faixa saturacao, Faixa imc) {
+
+        public static Limiares padrao() {
+            return new Limiares(
+                    new Faixa(0, 0, 130, 140),                    // PA sistólica (mmHg)
+                    new Faixa(0, 0, 80, 90),                      // PA diastólica (mmHg)
+                    new Faixa(60, 65, 91, 101),                   // FC (bpm)
+                    new Faixa(35.0f, 35.5f, 37.5f, 38.0f, true),  // Temperatura (°C), <= 35,0 / <= 35,5
+                    new Faixa(70, 80, 140, 200, true),            // Glicemia (mg/dL), <= 70 / <= 80
+                    new Faixa(95, 97, SEM_LIMITE, SEM_LIMITE),    // SpO2 (%)
+                    new Faixa(18.5f, 20.0f, 25.0f, 30.0f));       // IMC
+        }
+
+        /**
+         * Limiares do arquivo de configuração; chaves ausentes ou inválidas usam o padrão
+         * Ex: vitais.fc.critico.abaixo=60, vitais.fc.critico.apartir=101, vitais.glicemia.abaixo.inclusivo=true
+         */
+        public static Limiares fromProperties(Properties config) {
+            Limiares p = padrao();
+            return new Limiares(
+                    lerFaixa(config, "vitais.pa.sistolica", p.sistolica()),
+                    lerFaixa(config, "vitais.pa.diastolica", p.diastolica()),
+                    lerFaixa(config, "vitais.fc", p.frequenciaCardiaca()),
+                    lerFaixa(config, "vitais.temperatura", p.temperatura()),
+                    lerFaixa(config, "vitais.glicemia", p.glicemia()),
+                    lerFaixa(config, "vitais.spo2", p.saturacao()),
+                    lerFaixa(config, "vitais.imc", p.imc()));
+        }
+
+        private static Faixa lerFaixa(Properties config, String prefixo, Faixa padrao) {
+            return new Faixa(
+                    lerFloat(config, prefixo + ".critico.abaixo", padrao.criticoAbaixoDe()),
+                    lerFloat(config, prefixo + ".alerta.abaixo", padrao.alertaAbaixoDe()),
+                    lerFloat(config, prefixo + ".alerta.apartir", padrao.alertaAPartirDe()),
+                    lerFloat(config, prefixo + ".critico.apartir", padrao.criticoAPartirDe()),
+                    lerBoolean(config, prefixo + ".abaixo.inclusivo", padrao.abaixoInclusivo()));
+        }
+
+        private static boolean lerBoolean(Properties config, String chave, boolean padrao) {
+            String valor = config.getProperty(chave);
+            if (valor == null || valor.trim().isEmpty()) {
+                return padrao;
+            }
+            return Boolean.parseBoolean(valor.trim());
+        }
+
+        private static float lerFloat(Properties config, String chave, float padrao) {
+            String valor = config.getProperty(chave);
+            if (valor == null || valor.trim().isEmpty()) {
+                return padrao;
+            }
+            try {
+                return Float.parseFloat(valor.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Valor inválido para " + chave + ": " + valor + " - usando " + padrao);
+                return padrao;
+            }
+        }
+    }
+
+    // Limiares e versão trocados juntos para o leitor nunca ver uma combinação misturada
+    private record Configuracao(int versao, Limiares limiares) {}
+
+    private volatile Configuracao configuracao;
+
+    private static final class Holder {
+        private static final VitalSignsClassifier INSTANCE =
+                new VitalSignsClassifier(Limiares.fromProperties(carregarConfiguracoes()));
+    }
+
+    public static VitalSignsClassifier getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private VitalSignsClassifier(Limiares limiares) {
+        this.configuracao = new Configuracao(0, limiares);
+    }
+
+    private static Properties carregarConfiguracoes() {
+        Properties config = new Properties();
+        try (InputStream input = VitalSignsClassifier.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                config.load(input);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar limiares de sinais vitais - usando padrão", e);
+        }
+        return config;
+    }
+
+    public Limiares getLimiares() {
+        return configuracao.limiares();
+    }
+
+    /**
+     * Troca os limiares; pacientes já classificados são reavaliados na próxima leitura
+     */
+    public synchronized void configurar(Limiares limiares) {
+        if (limiares == null) {
+            throw new IllegalArgumentException("Limiares não podem ser nulos");
+        }
+        configuracao = new Configuracao(configuracao.versao() + 1, limiares);
+    }
+
+    /**
+     * Status compacto do paciente (use statusDe para ler cada sinal)
+     * Só avalia os sinais se o paciente mudou desde a última classificação
+     */
+    public int classificar(Paciente paciente) {
+        if (paciente == null) {
+            return 0;
+        }
+        Configuracao atual = configuracao;
+        int emCache = paciente.getStatusVitaisEmCache(atual.versao());
+        if (emCache >= 0) {
+            return emCache;
+        }
+        int status = avaliar(paciente, atual.limiares());
+        paciente.guardarStatusVitais(atual.versao(), status);
+        return status;
+    }
+
+    /**
+     * Status de um sinal (NORMAL, ALERTA ou CRITICO) dentro do int de status
+     */
+    public static int statusDe(int status, int sinal) {
+        return (status >>> (sinal * 2)) & 0b11;
+    }
+
+    /**
+     * Pior status entre todos os sinais (útil para triagem)
+     */
+    public static int piorStatus(int status) {
+        int pior = NORMAL;
+        for (int sinal = PRESSAO; sinal <= IMC; sinal++) {
+            pior = Math.max(pior, statusDe(status, sinal));
+        }
+        return pior;
+    }
+
+    private static int avaliar(Paciente p, Limiares l) {
+        int status = 0;
+        status |= statusPressao(p.getPaXMmhg(), l) << (PRESSAO * 2);
+        status |= statusFaixa(p.getFcBpm(), l.frequenciaCardiaca()) << (FREQUENCIA_CARDIACA * 2);
+        status |= statusFaixa(p.getTemperaturaC(), l.temperatura()) << (TEMPERATURA * 2);
+        status |= statusFaixa(p.getHgtMgld(), l.glicemia()) << (GLICEMIA * 2);
+        status |= statusFaixa(p.getSpo2(), l.saturacao()) << (SATURACAO * 2);
+        status |= statusFaixa(p.getImc(), l.imc()) << (IMC * 2);
+        return status;
+    }
+
+    // Zero significa que o valor ainda não foi informado
+    private static int statusFaixa(Float valor, Faixa faixa) {
+        if (valor == null || valor <= 0f) {
+            return NORMAL;
+        }
+        return faixa.classificar(valor);
+    }
+
+    // Aceita "120/80" e "120/80 mmHg"
+    private static int statusPressao(String pressao, Limiares l) {
+        if (pressao == null) return NORMAL;
+        int barra = pressao.indexOf('/');
+        if (barra <= 0) return NORMAL;
+        int sistolica = lerInteiro(pressao, 0);
+        int diastolica = lerInteiro(pressao, barra + 1);
+        if (sistolica <= 0 || diastolica <= 0) return NORMAL;
+        return Math.max(l.sistolica().classificar(sistolica), l.diastolica().classificar(diastolica));
+    }
+
+    // Dígitos a partir de inicio (espaços à esquerda ignorados), ou -1 se não houver
+    private static int lerInteiro(String texto, int inicio) {
+        int i = inicio;
+        while (i < texto.length() && texto.charAt(i) == ' ') i++;
+        int valor = -1;
+        while (i < texto.length() && Character.isDigit(texto.charAt(i))) {
+            valor = (valor < 0 ? 0 : valor * 10) + (texto.charAt(i) - '0');
+            i++;
+        }
+        return valor;
+    }
+}
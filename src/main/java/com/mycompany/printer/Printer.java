@@ -18,6 +18,7 @@ import com.itextpdf.layout.properties.*;
 import com.mycompany.model.bean.Especialidade;
 import com.mycompany.model.bean.Paciente;
 import com.mycompany.model.bean.PacienteEspecialidade;
+import com.mycompany.model.saude.VitalSignsClassifier;
 import com.mycompany.service.PacienteEspecialidadeService;
 import com.mycompany.service.EspecialidadeService;
 
@@ -246,11 +247,25 @@ public class Printer {
     /**
      * Processa a impressão de múltiplos grupos
      */
-    private void processarImpressaoGrupos(Paciente paciente, List<GrupoImpressao> grupos) {
+    private void processarImpressaoGrupos(Paciente paciente, List<GrupoImpressao> grupos) throws ApiException {
         ResultadoImpressao resultado = new ResultadoImpressao();
         
+        // Fichas com especialidade esgotada são confirmadas antes da reserva: cancelar não consome numeração
+        Set<Integer> esgotadasConfirmadas = new HashSet<>();
+        List<GrupoImpressao> confirmados = confirmarGrupos(grupos, esgotadasConfirmadas);
         for (GrupoImpressao grupo : grupos) {
-            processarImpressaoGrupo(paciente, grupo, resultado);
+            if (!confirmados.contains(grupo)) {
+                resultado.adicionarResultado(grupo.obterNomeGrupo(especialidadesCache), STATUS_CANCELADA, StatusImpressao.CANCELADA);
+            }
+        }
+        
+        if (!confirmados.isEmpty()) {
+            // Uma única reserva para as fichas confirmadas, antes de gerar qualquer PDF
+            Map<Integer, String> reservas = reservarNumeracoes(confirmados, esgotadasConfirmadas);
+            
+            for (GrupoImpressao grupo : confirmados) {
+                processarImpressaoGrupo(paciente, grupo, reservas, esgotadasConfirmadas, resultado);
+            }
         }
         
         mostrarResumoImpressao(resultado);
@@ -258,59 +273,27 @@ public class Printer {
     
     /**
      * Processa a impressão de um grupo específico - USANDO SERVICES
+     * Se a ficha não sair, a numeração reservada para ela é devolvida
      */
-    private void processarImpressaoGrupo(Paciente paciente, GrupoImpressao grupo, ResultadoImpressao resultado) {
+    private void processarImpressaoGrupo(Paciente paciente, GrupoImpressao grupo, Map<Integer, String> reservas, 
+                                         Set<Integer> esgotadasConfirmadas, ResultadoImpressao resultado) {
+        String nomeGrupo = grupo.obterNomeGrupo(especialidadesCache);
         try {
-            // Obter numerações e verificar status para especialidades que contam
-            Map<Integer, String> numeracoes = new HashMap<>();
-            boolean algumaCancelada = false;
-            
-            for (PacienteEspecialidade pe : grupo.getEspecialidades()) {
-                String nomeEspecialidade = obterNomeEspecialidade(pe.getEspecialidadeId());
-                
-                // Para enfermagem adicionada automaticamente, não verificar status nem contar
-                if (grupo.isTemEnfermagemAutomatica() && 
-                    ESPECIALIDADE_ENFERMAGEM.equalsIgnoreCase(nomeEspecialidade) && 
-                    !grupo.isEspecialidadePrincipal(pe)) {
-                    numeracoes.put(pe.getEspecialidadeId(), "ACOMPANHAMENTO");
-                    continue;
-                }
-                
-                StatusAtendimento status = verificarStatusAtendimento(pe.getEspecialidadeId(), nomeEspecialidade);
-                
-                if (status.isCancelado()) {
-                    algumaCancelada = true;
-                    break;
-                }
-                
-                numeracoes.put(pe.getEspecialidadeId(), status.getNumeracao());
-            }
+            Map<Integer, String> numeracoes = obterNumeracoesGrupo(grupo, reservas, esgotadasConfirmadas);
             
-            if (algumaCancelada) {
-                String nomeGrupo = grupo.obterNomeGrupo(especialidadesCache);
+            if (numeracoes == null) {
                 resultado.adicionarResultado(nomeGrupo, STATUS_CANCELADA, StatusImpressao.CANCELADA);
                 return;
             }
             
-            boolean impressaoSucesso = executarImpressaoPDF(paciente, grupo, numeracoes);
-            String nomeGrupo = grupo.obterNomeGrupo(especialidadesCache);
-            
-            if (impressaoSucesso) {
-                resultado.incrementarSucesso();
-                resultado.adicionarResultado(nomeGrupo, "IMPRESSA COM SUCESSO", StatusImpressao.SUCESSO);
-            } else {
-                resultado.incrementarErro();
-                resultado.adicionarResultado(nomeGrupo, "FALHA NA IMPRESSÃO", StatusImpressao.ERRO);
-            }
+            executarImpressaoPDF(paciente, grupo, numeracoes);
+            resultado.incrementarSucesso();
+            resultado.adicionarResultado(nomeGrupo, "IMPRESSA COM SUCESSO", StatusImpressao.SUCESSO);
             
-        } catch (ApiException ex) {
-            String nomeGrupo = grupo.obterNomeGrupo(especialidadesCache);
-            resultado.incrementarErro();
-            resultado.adicionarResultado(nomeGrupo, STATUS_ERRO + ": " + ex.getMessage(), StatusImpressao.ERRO);
         } catch (Exception ex) {
-            String nomeGrupo = grupo.obterNomeGrupo(especialidadesCache);
             resultado.incrementarErro();
-            resultado.adicionarResultado(nomeGrupo, STATUS_ERRO + ": " + ex.getMessage(), StatusImpressao.ERRO);
+            resultado.adicionarResultado(nomeGrupo, STATUS_ERRO + ": " + ex.getMessage() + 
+                    descreverDevolucao(grupo, reservas), StatusImpressao.ERRO);
         }
     }
     
@@ -603,6 +586,9 @@ public class Printer {
                 .setMarginBottom(2);
         document.add(titulo);
 
+        // Classificação já calculada pelo classificador (a mesma que a tabela usa)
+        int statusVitais = VitalSignsClassifier.getInstance().classificar(paciente);
+
         // Tabela de parâmetros - 4 colunas
         Table paramTable = new Table(UnitValue.createPercentArray(new float[]{1, 1, 1, 1}))
                 .useAllAvailableWidth();
@@ -618,23 +604,28 @@ public class Printer {
 
         paramTable.addCell(criarCelulParametro("SPO2", 
                 paciente.getSpo2() != null ? String.format("%.1f%%", paciente.getSpo2()) : "", 
+                VitalSignsClassifier.statusDe(statusVitais, VitalSignsClassifier.SATURACAO),
                 fonteTitulo, fonteNormal));
 
         paramTable.addCell(criarCelulParametro("FC", 
                 paciente.getFcBpm() != null ? paciente.getFcBpm() + " bpm" : "", 
+                VitalSignsClassifier.statusDe(statusVitais, VitalSignsClassifier.FREQUENCIA_CARDIACA),
                 fonteTitulo, fonteNormal));
 
         // Linha 2: PA, HGT, T, FR
         paramTable.addCell(criarCelulParametro("PA", 
                 obterValorOuVazio(paciente.getPaXMmhg()), 
+                VitalSignsClassifier.statusDe(statusVitais, VitalSignsClassifier.PRESSAO),
                 fonteTitulo, fonteNormal));
 
         paramTable.addCell(criarCelulParametro("HGT", 
                 paciente.getHgtMgld() != null ? paciente.getHgtMgld() + " mg/dL" : "", 
+                VitalSignsClassifier.statusDe(statusVitais, VitalSignsClassifier.GLICEMIA),
                 fonteTitulo, fonteNormal));
 
         paramTable.addCell(criarCelulParametro("T", 
                 paciente.getTemperaturaC() != null ? String.format("%.1f°C", paciente.getTemperaturaC()) : "", 
+                VitalSignsClassifier.statusDe(statusVitais, VitalSignsClassifier.TEMPERATURA),
                 fonteTitulo, fonteNormal));
 
         paramTable.addCell(criarCelulParametro("FR", 
@@ -649,10 +640,19 @@ public class Printer {
      * Cria célula para parâmetro clínico 
      */
     private Cell criarCelulParametro(String rotulo, String valor, PdfFont fonteTitulo, PdfFont fonteNormal) {
+        return criarCelulParametro(rotulo, valor, VitalSignsClassifier.NORMAL, fonteTitulo, fonteNormal);
+    }
+
+    /**
+     * Célula de parâmetro com destaque: alerta em negrito, crítico em negrito com "(!)"
+     */
+    private Cell criarCelulParametro(String rotulo, String valor, int status, PdfFont fonteTitulo, PdfFont fonteNormal) {
+        boolean destacar = status != VitalSignsClassifier.NORMAL && !valor.isEmpty();
+        String texto = destacar && status == VitalSignsClassifier.CRITICO ? valor + " (!)" : valor;
         return new Cell()
                 .add(new Paragraph()
                         .add(new Text(rotulo + ": ").setFont(fonteTitulo).setFontSize(8))
-                        .add(new Text(valor).setFont(fonteNormal).setFontSize(8)))
+                        .add(new Text(texto).setFont(destacar ? fonteTitulo : fonteNormal).setFontSize(8)))
                 .setBorder(new SolidBorder(0.5f))
                 .setPadding(2)
                 .setMinHeight(18)
@@ -758,31 +758,140 @@ public class Printer {
     }
     
     /**
-     * Verifica o status de atendimento de uma especialidade - USANDO SERVICE
+     * Indica se a especialidade consome um atendimento na ficha do grupo
+     * A enfermagem adicionada automaticamente só acompanha e não é contada
+     */
+    private boolean contaAtendimento(GrupoImpressao grupo, PacienteEspecialidade pe) {
+        return !(grupo.isTemEnfermagemAutomatica() && 
+                 ESPECIALIDADE_ENFERMAGEM.equalsIgnoreCase(obterNomeEspecialidade(pe.getEspecialidadeId())) && 
+                 !grupo.isEspecialidadePrincipal(pe));
+    }
+    
+    /**
+     * Pergunta, antes de qualquer reserva, se as fichas com especialidade esgotada devem sair mesmo assim
+     * Sem a consulta de disponibilidade a pergunta fica para depois da reserva (obterNumeracoesGrupo)
+     * @param esgotadasConfirmadas recebe as especialidades esgotadas que o usuário aceitou imprimir
+     * @return grupos confirmados
      */
-    private StatusAtendimento verificarStatusAtendimento(int especialidadeId, String nomeEspecialidade) throws ApiException {
-        boolean temAtendimentos = especialidadeService.temAtendimentosDisponiveis(especialidadeId);
-        String numeracao = STATUS_ESGOTADO;
+    private List<GrupoImpressao> confirmarGrupos(List<GrupoImpressao> grupos, Set<Integer> esgotadasConfirmadas) {
+        Set<Integer> disponiveis = especialidadeService.idsComAtendimentosDisponiveis();
+        if (disponiveis == null) {
+            return grupos;
+        }
         
-        if (!temAtendimentos) {
-            String mensagem = String.format("A especialidade '%s' não possui mais atendimentos disponíveis hoje.\n" +
-                    "Deseja imprimir esta ficha mesmo assim?", nomeEspecialidade);
-            
-            int opcao = JOptionPane.showConfirmDialog(parent, mensagem, 
-                    "Atendimentos Esgotados - " + nomeEspecialidade, 
-                    JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
-            
-            if (opcao != JOptionPane.YES_OPTION) {
-                return new StatusAtendimento(null, true);
+        List<GrupoImpressao> confirmados = new ArrayList<>();
+        for (GrupoImpressao grupo : grupos) {
+            boolean confirmado = true;
+            for (PacienteEspecialidade pe : grupo.getEspecialidades()) {
+                if (!contaAtendimento(grupo, pe) || disponiveis.contains(pe.getEspecialidadeId())) {
+                    continue;
+                }
+                if (!confirmarFichaEsgotada(obterNomeEspecialidade(pe.getEspecialidadeId()))) {
+                    confirmado = false;
+                    break;
+                }
+                esgotadasConfirmadas.add(pe.getEspecialidadeId());
+            }
+            if (confirmado) {
+                confirmados.add(grupo);
+            }
+        }
+        return confirmados;
+    }
+    
+    /**
+     * Reserva de uma vez a numeração de todas as especialidades que contam - USANDO SERVICE
+     * Uma requisição no lugar de três por especialidade; o servidor decrementa cada contador atomicamente.
+     * Especialidades já confirmadas como esgotadas não entram na reserva
+     */
+    private Map<Integer, String> reservarNumeracoes(List<GrupoImpressao> grupos, Set<Integer> esgotadasConfirmadas) throws ApiException {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (GrupoImpressao grupo : grupos) {
+            for (PacienteEspecialidade pe : grupo.getEspecialidades()) {
+                if (contaAtendimento(grupo, pe) && !esgotadasConfirmadas.contains(pe.getEspecialidadeId())) {
+                    ids.add(pe.getEspecialidadeId());
+                }
+            }
+        }
+        
+        Map<Integer, String> reservas = especialidadeService.reservarAtendimentos(ids);
+        if (reservas == null) {
+            throw new ApiException("Não foi possível reservar os atendimentos");
+        }
+        return reservas;
+    }
+    
+    /**
+     * Monta as numerações da ficha de um grupo a partir das reservas
+     * @return numerações por especialidade, ou null se o usuário cancelou a ficha (numeração devolvida)
+     */
+    private Map<Integer, String> obterNumeracoesGrupo(GrupoImpressao grupo, Map<Integer, String> reservas, 
+                                                      Set<Integer> esgotadasConfirmadas) {
+        Map<Integer, String> numeracoes = new HashMap<>();
+        
+        for (PacienteEspecialidade pe : grupo.getEspecialidades()) {
+            if (!contaAtendimento(grupo, pe)) {
+                numeracoes.put(pe.getEspecialidadeId(), "ACOMPANHAMENTO");
+                continue;
             }
-        } else {
-            numeracao = especialidadeService.obterNumeracaoProximoAtendimento(especialidadeId);
-            if (numeracao != null) {
-                especialidadeService.reduzirAtendimentoRestante(especialidadeId);
+            
+            String reservada = reservas.get(pe.getEspecialidadeId());
+            if (reservada == null && !esgotadasConfirmadas.contains(pe.getEspecialidadeId())) {
+                // Esgotou entre a consulta e a reserva (ou não houve consulta)
+                if (!confirmarFichaEsgotada(obterNomeEspecialidade(pe.getEspecialidadeId()))) {
+                    devolverNumeracoes(grupo, reservas);
+                    return null;
+                }
             }
+            
+            numeracoes.put(pe.getEspecialidadeId(), reservada != null ? reservada : STATUS_ESGOTADO);
         }
+        return numeracoes;
+    }
+    
+    /**
+     * Sem atendimentos restantes, pergunta se a ficha deve sair mesmo assim
+     */
+    private boolean confirmarFichaEsgotada(String nomeEspecialidade) {
+        String mensagem = String.format("A especialidade '%s' não possui mais atendimentos disponíveis hoje.\n" +
+                "Deseja imprimir esta ficha mesmo assim?", nomeEspecialidade);
         
-        return new StatusAtendimento(numeracao, false);
+        int opcao = JOptionPane.showConfirmDialog(parent, mensagem, 
+                "Atendimentos Esgotados - " + nomeEspecialidade, 
+                JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        return opcao == JOptionPane.YES_OPTION;
+    }
+    
+    /**
+     * Devolve ao servidor as numerações reservadas para uma ficha que não saiu
+     * @return true se não havia numeração ou se o servidor aceitou a devolução
+     */
+    private boolean devolverNumeracoes(GrupoImpressao grupo, Map<Integer, String> reservas) {
+        return especialidadeService.devolverAtendimentos(numeracoesReservadas(grupo, reservas));
+    }
+    
+    private Map<Integer, String> numeracoesReservadas(GrupoImpressao grupo, Map<Integer, String> reservas) {
+        Map<Integer, String> reservadas = new LinkedHashMap<>();
+        for (PacienteEspecialidade pe : grupo.getEspecialidades()) {
+            String numeracao = reservas.get(pe.getEspecialidadeId());
+            if (numeracao != null && contaAtendimento(grupo, pe)) {
+                reservadas.put(pe.getEspecialidadeId(), numeracao);
+            }
+        }
+        return reservadas;
+    }
+    
+    /**
+     * Devolve a numeração de uma ficha que falhou e descreve o resultado para o resumo
+     */
+    private String descreverDevolucao(GrupoImpressao grupo, Map<Integer, String> reservas) {
+        Map<Integer, String> reservadas = numeracoesReservadas(grupo, reservas);
+        if (reservadas.isEmpty()) {
+            return "";
+        }
+        return especialidadeService.devolverAtendimentos(reservadas)
+                ? " (numeração devolvida)"
+                : " (numeração " + String.join(", ", reservadas.values()) + " não utilizada)";
     }
     
     /**
@@ -810,42 +919,28 @@ public class Printer {
             }
             
             GrupoImpressao grupo = grupos.get(0);
-            Map<Integer, String> numeracoes = new HashMap<>();
-            boolean algumaCancelada = false;
-            
-            for (PacienteEspecialidade peGrupo : grupo.getEspecialidades()) {
-                String nomeEsp = obterNomeEspecialidade(peGrupo.getEspecialidadeId());
-                
-                // Para enfermagem adicionada automaticamente
-                if (grupo.isTemEnfermagemAutomatica() && 
-                    ESPECIALIDADE_ENFERMAGEM.equalsIgnoreCase(nomeEsp) && 
-                    !grupo.isEspecialidadePrincipal(peGrupo)) {
-                    numeracoes.put(peGrupo.getEspecialidadeId(), "ACOMPANHAMENTO");
-                    continue;
-                }
-                
-                StatusAtendimento status = verificarStatusAtendimento(peGrupo.getEspecialidadeId(), nomeEsp);
-                
-                if (status.isCancelado()) {
-                    algumaCancelada = true;
-                    break;
-                }
-                
-                numeracoes.put(peGrupo.getEspecialidadeId(), status.getNumeracao());
+            Set<Integer> esgotadasConfirmadas = new HashSet<>();
+            if (confirmarGrupos(grupos, esgotadasConfirmadas).isEmpty()) {
+                return;
             }
+            Map<Integer, String> reservas = reservarNumeracoes(grupos, esgotadasConfirmadas);
+            Map<Integer, String> numeracoes = obterNumeracoesGrupo(grupo, reservas, esgotadasConfirmadas);
             
-            if (algumaCancelada) {
+            if (numeracoes == null) {
                 return;
             }
 
-            boolean sucesso = executarImpressaoPDF(paciente, grupo, numeracoes);
-
-            if (sucesso) {
-                String mensagem = String.format("Ficha impressa com sucesso!\n%s", 
-                        grupo.obterDescricaoDetalhada(especialidadesCache, numeracoes));
-                JOptionPane.showMessageDialog(parent, mensagem, "Impressão Realizada", JOptionPane.INFORMATION_MESSAGE);
+            try {
+                executarImpressaoPDF(paciente, grupo, numeracoes);
+            } catch (RuntimeException ex) {
+                mostrarErro("Erro ao imprimir: " + ex.getMessage() + descreverDevolucao(grupo, reservas));
+                return;
             }
 
+            String mensagem = String.format("Ficha impressa com sucesso!\n%s", 
+                    grupo.obterDescricaoDetalhada(especialidadesCache, numeracoes));
+            JOptionPane.showMessageDialog(parent, mensagem, "Impressão Realizada", JOptionPane.INFORMATION_MESSAGE);
+
         } catch (ApiException ex) {
             mostrarErro("Erro de comunicação com a API: " + ex.getMessage());
         } catch (Exception ex) {
@@ -920,19 +1015,6 @@ public class Printer {
     }
     
     // Classes internas para organização
-    private static class StatusAtendimento {
-        private final String numeracao;
-        private final boolean cancelado;
-        
-        public StatusAtendimento(String numeracao, boolean cancelado) {
-            this.numeracao = numeracao;
-            this.cancelado = cancelado;
-        }
-        
-        public String getNumeracao() { return numeracao; }
-        public boolean isCancelado() { return cancelado; }
-    }
-    
     /**
      * Classe para representar um grupo de especialidades que serão impressas juntas
      */
@@ -1,15 +1,17 @@
 package com.mycompany.projeto_ibg;
 
-import com.mycompany.listener.PacienteChangeListener;
-import com.mycompany.listener.PacienteEspecialidadeChangeListener;
+import com.mycompany.listener.PacienteEventBus;
 import com.mycompany.listener.PatientUpdateListener;
 import com.mycompany.manager.ApiManager;
+import com.mycompany.manager.GerenciadorConectividade;
 import com.mycompany.model.bean.Especialidade;
 import com.mycompany.model.bean.Paciente;
 import com.mycompany.model.bean.PacienteEspecialidade;
+import com.mycompany.model.cache.PatientRepository;
 import com.mycompany.service.EspecialidadeService;
 import com.mycompany.service.PacienteEspecialidadeService;
 import com.mycompany.service.PacienteService;
+import com.mycompany.service.PacienteSyncService;
 import com.mycompany.view.FormularioSaude2P;
 import com.mycompany.view.FormularioDados2P;
 import com.mycompany.view.MenuListener;
@@ -25,9 +27,23 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.swing.BorderFactory;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -42,12 +58,42 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.UIManager;
 
-public class Main extends javax.swing.JFrame implements MenuListener, PacienteChangeListener, PacienteEspecialidadeChangeListener, PatientUpdateListener {
+public class Main extends javax.swing.JFrame implements MenuListener, PacienteEventBus.Destino, PatientUpdateListener {
     
     private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
     private volatile boolean recarregandoDados = false;
     private volatile boolean inicializando = true;
     
+    // Carregamento paginado de pacientes em andamento; a geração descarta páginas de cargas anteriores
+    private volatile boolean carregandoPacientes = false;
+    private final AtomicInteger geracaoCarregamento = new AtomicInteger();
+    
+    // Cache de pacientes veio de uma carga completa concluída nesta sessão (base para a sincronização incremental)
+    private volatile boolean pacientesSincronizados = false;
+    
+    // Eventos do WebSocket perdidos sem replay possível: sincroniza na EDT (mesma referência para registrar e remover)
+    private final Runnable ressincronizacao = () -> SwingUtilities.invokeLater(this::ressincronizarAposLacuna);
+    
+    // Conexão caiu ou voltou (reconexão em segundo plano do ApiManager): trata na EDT.
+    // Vários CONECTADO seguidos antes de a EDT tratar o primeiro viram um só tratamento
+    private final AtomicBoolean reconexaoPendente = new AtomicBoolean();
+    private final Consumer<GerenciadorConectividade.Situacao> mudancaConectividade = situacao -> {
+        if (situacao.estado() == GerenciadorConectividade.Estado.CONECTADO && !reconexaoPendente.compareAndSet(false, true)) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> tratarMudancaConectividade(situacao));
+    };
+    
+    // Recarregamento pedido sem API: roda quando a conexão voltar
+    private volatile boolean recarregarAoReconectar = false;
+    
+    // Cargas de dados em paralelo (uma virtual thread por chamada HTTP)
+    private final ExecutorService executorCarga = Executors.newVirtualThreadPerTaskExecutor();
+    private long tempoLimiteCargaMs = 15000;
+    
+    // Carga de especialidades, associações e delta em andamento (lida e gravada só na EDT)
+    private CompletableFuture<Void> cargaDadosEmAndamento;
+    
     // CONFIGURAÇÕES DA API
     private String apiBaseUrl = "http://meuservidor.local/api";
     private String webSocketUrl = "ws://meuservidor.local";
@@ -59,11 +105,18 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
     private PacienteService pacienteService;
     private EspecialidadeService especialidadeService;
     private PacienteEspecialidadeService pacienteEspecialidadeService;
+    private PacienteSyncService pacienteSyncService;
+    
+    // Cache local de dados (sincronizado com a API), indexado por ID
+    private final PatientRepository repositorio = new PatientRepository();
     
-    // Cache local de dados (sincronizado com a API)
-    private volatile List<Paciente> pacientes = new ArrayList<>();
-    private volatile List<Especialidade> especialidades = new ArrayList<>();
-    private volatile List<PacienteEspecialidade> pacienteEspecialidades = new ArrayList<>();
+    // Eventos em tempo real chegam consolidados, um lote por quadro na EDT
+    private final PacienteEventBus eventBus = new PacienteEventBus(this);
+    
+    // Estado do lote em aplicação (somente EDT): a interface é atualizada uma vez no fim
+    private boolean associacoesAlteradasNoLote = false;
+    private final Set<Integer> associacoesParaValidar = new LinkedHashSet<>();
+    private final List<String> notificacoesDoLote = new ArrayList<>();
     
     // Referências para os painéis ativos
     private PainelSaude2 painelSaudeAtivo;
@@ -150,19 +203,20 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
                 // Inicializar ApiManager
                 inicializarApiManager();
 
-                // Carregar dados iniciais de forma sincronizada
-                carregarDadosCompletos();
-
-                // Registrar listeners para notificações em tempo real
-                registrarListeners();
-
-                // Inicializar painel padrão sem verificação de flag
-                inicializarPainelPadrao();
-
-                inicializando = false;
-                showNotification("✅ Sistema inicializado com sucesso!");
-
-                LOGGER.info("Sistema IBG inicializado completamente");
+                // Carregar dados iniciais; o restante segue quando as cargas chegarem, sem travar a EDT
+                carregarDadosCompletos().whenComplete((ignorado, erro) -> {
+                    if (erro != null) {
+                        LOGGER.log(Level.SEVERE, "Erro durante inicialização", erro);
+                        handleInitializationError(erro instanceof Exception e ? e : new RuntimeException(erro));
+                        return;
+                    }
+                    try {
+                        concluirInicializacao();
+                    } catch (Exception e) {
+                        LOGGER.log(Level.SEVERE, "Erro durante inicialização", e);
+                        handleInitializationError(e);
+                    }
+                });
 
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Erro durante inicialização", e);
@@ -171,19 +225,33 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         });
     }
     
+    //Conclui a inicialização depois da carga inicial dos dados (executa na EDT)
+    private void concluirInicializacao() {
+        // Registrar listeners para notificações em tempo real
+        registrarListeners();
+
+        // Inicializar painel padrão sem verificação de flag
+        inicializarPainelPadrao();
+
+        inicializando = false;
+        showNotification("✅ Sistema inicializado com sucesso!");
+
+        LOGGER.info("Sistema IBG inicializado completamente");
+    }
+    
     //Inicializa o painel padrão (Saúde) durante a inicialização do sistema
     private void inicializarPainelPadrao() {
         try {
             LOGGER.info("=== INICIALIZANDO PAINEL PADRÃO (Saúde) ===");
 
             // Criar painéis com dados atualizados
-            painelSaudeAtivo = new PainelSaude2(new ArrayList<>(pacientes));
+            painelSaudeAtivo = new PainelSaude2(new ArrayList<>(repositorio.getPacientes()));
 
             formularioSaudeAtivo = new FormularioSaude2P(
                 pacienteService, 
                 pacienteEspecialidadeService, 
                 especialidadeService, 
-                new ArrayList<>(especialidades)
+                new ArrayList<>(repositorio.getEspecialidades())
             );
 
             // Forçar tamanho se necessário
@@ -261,6 +329,11 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
                 config.load(input);
                 apiBaseUrl = config.getProperty("api.base.url", apiBaseUrl);
                 webSocketUrl = config.getProperty("websocket.url", webSocketUrl);
+                try {
+                    tempoLimiteCargaMs = Long.parseLong(config.getProperty("api.load.timeout", String.valueOf(tempoLimiteCargaMs)).trim());
+                } catch (NumberFormatException e) {
+                    LOGGER.warning("api.load.timeout inválido - usando " + tempoLimiteCargaMs + " ms");
+                }
                 LOGGER.info("Configurações carregadas do arquivo config.properties");
             } else {
                 LOGGER.info("Arquivo config.properties não encontrado - usando configurações padrão");
@@ -276,6 +349,7 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             pacienteService = apiManager.getPacienteService();
             especialidadeService = apiManager.getEspecialidadeService();
             pacienteEspecialidadeService = apiManager.getPacienteEspecialidadeService();
+            pacienteSyncService = apiManager.getPacienteSyncService();
             
             LOGGER.info("✅ Services inicializados com sucesso");
             
@@ -285,77 +359,272 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         }
     }
     
-    //Carrega dados de forma completa e sincronizada
-    private void carregarDadosCompletos() {
+    //Carrega dados de forma completa sem bloquear a EDT: as cargas rodam em paralelo no executorCarga,
+    //cada uma com o prazo tempoLimiteCargaMs, e o resultado é aplicado na EDT; pacientes chegam página a página.
+    //O futuro completa na EDT depois da aplicação; chamada com uma carga em andamento recebe o mesmo futuro
+    private CompletableFuture<Void> carregarDadosCompletos() {
+        if (isCargaDadosEmAndamento()) {
+            LOGGER.info("Carregamento de dados já em andamento");
+            return cargaDadosEmAndamento;
+        }
+        
         try {
             LOGGER.info("🔄 Iniciando carregamento completo dos dados...");
 
             if (!isApiDisponivel()) {
                 LOGGER.warning("⚠️ API não disponível - usando dados em cache ou modo offline");
-                return;
+                return CompletableFuture.completedFuture(null);
             }
 
-            // Carregar todos os dados de forma sequencial
-            LOGGER.info("Carregando pacientes...");
-            List<Paciente> novosPacientes = pacienteService.listarTodos();
-            LOGGER.info("✓ Pacientes carregados: " + novosPacientes.size());
+            // Pacientes: com o cache já completo busca só o que mudou desde a última sincronização;
+            // sem isso (ou se o delta falhar) o cache é esvaziado e as páginas entram pela EDT depois
+            CompletableFuture<PacienteSyncService.Delta> futuroDelta = null;
+            if (pacientesSincronizados && !carregandoPacientes && pacienteSyncService.isDisponivel()) {
+                LOGGER.info("Buscando alterações de pacientes (sincronização incremental)...");
+                futuroDelta = carregar(() -> pacienteSyncService.buscarAlteracoes());
+            } else {
+                iniciarCargaCompletaPacientes();
+            }
 
-            LOGGER.info("Carregando especialidades...");
-            List<Especialidade> novasEspecialidades = especialidadeService.listarTodas();
-            LOGGER.info("✓ Especialidades carregadas: " + novasEspecialidades.size());
+            LOGGER.info("Carregando especialidades e associações em paralelo...");
+            CompletableFuture<List<Especialidade>> futuroEspecialidades = carregar(() -> especialidadeService.listarTodas());
+            CompletableFuture<List<PacienteEspecialidade>> futuroAssociacoes = carregar(() -> pacienteEspecialidadeService.listarTodos());
+
+            // allOf completa com a última carga (ou prazo esgotado) numa thread de trabalho; a EDT só recebe o resultado
+            CompletableFuture<PacienteSyncService.Delta> delta = futuroDelta;
+            CompletableFuture<Void> concluida = new CompletableFuture<>();
+            CompletableFuture.allOf(futuroEspecialidades, futuroAssociacoes,
+                    delta != null ? delta : CompletableFuture.completedFuture(null))
+                .whenComplete((ignorado, erro) -> SwingUtilities.invokeLater(() -> {
+                    try {
+                        aplicarCargas(futuroEspecialidades, futuroAssociacoes, delta);
+                        concluida.complete(null);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.SEVERE, "Erro ao aplicar dados carregados", e);
+                        concluida.completeExceptionally(e);
+                    }
+                }));
+            cargaDadosEmAndamento = concluida;
+            return concluida;
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro ao carregar dados completos", e);
+            return CompletableFuture.failedFuture(new RuntimeException("Falha no carregamento completo de dados", e));
+        }
+    }
+    
+    //Executa uma carga no executorCarga com o prazo tempoLimiteCargaMs; estourado o prazo, a tarefa é interrompida
+    private <T> CompletableFuture<T> carregar(Callable<T> carga) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        Future<?> tarefa = executorCarga.submit(() -> {
+            try {
+                futuro.complete(carga.call());
+            } catch (Throwable e) {
+                futuro.completeExceptionally(e);
+            }
+        });
+        futuro.orTimeout(tempoLimiteCargaMs, TimeUnit.MILLISECONDS).whenComplete((valor, erro) -> {
+            if (erro instanceof TimeoutException) {
+                tarefa.cancel(true);
+            }
+        });
+        return futuro;
+    }
+    
+    //Aplica as cargas concluídas ao cache (executa na EDT); uma carga que falhou mantém os dados anteriores
+    private void aplicarCargas(CompletableFuture<List<Especialidade>> futuroEspecialidades,
+                               CompletableFuture<List<PacienteEspecialidade>> futuroAssociacoes,
+                               CompletableFuture<PacienteSyncService.Delta> futuroDelta) {
+        List<String> falhas = new ArrayList<>();
+        List<Especialidade> novasEspecialidades = resultadoCarga(futuroEspecialidades, "especialidades", falhas);
+        List<PacienteEspecialidade> novasAssociacoes = resultadoCarga(futuroAssociacoes, "associações", falhas);
+
+        // Uma carga completa iniciada enquanto o delta chegava já traz o estado atual
+        if (futuroDelta != null && !carregandoPacientes) {
+            // Falha do delta não é falha de carga: cai para a carga completa
+            PacienteSyncService.Delta delta = resultadoCarga(futuroDelta, "alterações de pacientes", new ArrayList<>());
+            if (delta != null) {
+                aplicarDeltaPacientes(delta);
+            } else {
+                LOGGER.warning("Sincronização incremental indisponível - recarregando todos os pacientes");
+                iniciarCargaCompletaPacientes();
+            }
+        }
 
-            LOGGER.info("Carregando associações paciente-especialidade...");
-            List<PacienteEspecialidade> novasAssociacoes = pacienteEspecialidadeService.listarTodos();
+        //  Atualizar cache local
+        if (novasEspecialidades != null) {
+            repositorio.substituirEspecialidades(novasEspecialidades);
+            LOGGER.info("✓ Especialidades carregadas: " + novasEspecialidades.size());
+        }
+        
+        if (novasAssociacoes != null) {
+            repositorio.substituirAssociacoes(novasAssociacoes);
             LOGGER.info("✓ Associações carregadas: " + novasAssociacoes.size());
+        }
 
-            //  Validar consistência dos dados
-            validarConsistenciaDados(novosPacientes, novasEspecialidades, novasAssociacoes);
+        if (!falhas.isEmpty()) {
+            LOGGER.warning("⚠️ Carregamento parcial - falharam: " + String.join(", ", falhas));
+            showNotification("⚠️ Falha ao carregar " + String.join(", ", falhas) + " - usando dados anteriores");
+        }
 
-            //  Atualizar cache local de forma atômica
-            synchronized (this) {
-                synchronized (pacientes) {
-                    pacientes.clear();
-                    pacientes.addAll(novosPacientes);
-                }
-                
-                synchronized (especialidades) {
-                    especialidades.clear();
-                    especialidades.addAll(novasEspecialidades);
-                }
-                
-                synchronized (pacienteEspecialidades) {
-                    pacienteEspecialidades.clear();
-                    pacienteEspecialidades.addAll(novasAssociacoes);
-                }
+        LOGGER.info("✅ Dados carregados: " + 
+                   repositorio.getTotalEspecialidades() + " especialidades, " + 
+                   repositorio.getTotalAssociacoes() + " associações - carregando pacientes...");
+    }
+    
+    //Resultado de uma carga já concluída; em caso de erro ou prazo esgotado registra a falha e retorna null
+    private <T> T resultadoCarga(CompletableFuture<T> futuro, String descricao, List<String> falhas) {
+        try {
+            return futuro.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            if (causa instanceof TimeoutException) {
+                LOGGER.warning("Tempo esgotado ao carregar " + descricao + " (" + tempoLimiteCargaMs + " ms)");
+                falhas.add(descricao + " (tempo esgotado)");
+            } else {
+                LOGGER.log(Level.SEVERE, "Erro ao carregar " + descricao, causa);
+                falhas.add(descricao);
             }
-
-            LOGGER.info("✅ Dados carregados com sucesso: " + 
-                       pacientes.size() + " pacientes, " + 
-                       especialidades.size() + " especialidades, " + 
-                       pacienteEspecialidades.size() + " associações");
-
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar dados completos", e);
-            throw new RuntimeException("Falha no carregamento completo de dados", e);
+            return null;
+        }
+    }
+    
+    //Esvazia o cache de pacientes e recarrega tudo; a marca de sincronização é tirada antes da primeira página
+    private void iniciarCargaCompletaPacientes() {
+        pacientesSincronizados = false;
+        repositorio.limparPacientes();
+        iniciarCarregamentoPacientes(pacienteSyncService.marcaParaCargaCompleta());
+    }
+    
+    //Aplica as alterações da sincronização incremental ao cache e aos painéis ativos (executa na EDT)
+    private void aplicarDeltaPacientes(PacienteSyncService.Delta delta) {
+        List<Integer> removidos = new ArrayList<>();
+        for (Integer pacienteId : delta.removidos()) {
+            if (repositorio.removerPaciente(pacienteId) != null) {
+                removidos.add(pacienteId);
+            }
+        }
+        repositorio.salvarPacientes(delta.alterados());
+        
+        if (painelSaudeAtivo != null) {
+            painelSaudeAtivo.aplicarLote(delta.alterados(), removidos);
+        }
+        if (painelDadosAtivo != null) {
+            painelDadosAtivo.aplicarLote(delta.alterados(), removidos);
+        }
+        
+        // Só depois de aplicado: se algo falhar antes, a próxima sincronização repete o mesmo intervalo
+        pacienteSyncService.confirmar(delta);
+        
+        LOGGER.info("✓ Pacientes sincronizados: " + delta.alterados().size() + " alterados, " + 
+                   removidos.size() + " removidos (" + repositorio.getTotalPacientes() + " no cache)");
+        if (!delta.isVazio()) {
+            showNotification("🔄 Pacientes sincronizados: " + delta.alterados().size() + " alterados, " + 
+                            removidos.size() + " removidos");
         }
+        
+        executorCarga.execute(this::validarConsistenciaDados);
+    }
+    
+    //WebSocket perdeu eventos: sincronização incremental no lugar do Recarregar completo (executa na EDT)
+    private void ressincronizarAposLacuna() {
+        if (recarregandoDados || inicializando || carregandoPacientes || isCargaDadosEmAndamento()) {
+            return; // A carga em andamento já traz o estado atual
+        }
+        LOGGER.info("🔄 Eventos em tempo real perdidos - sincronizando alterações com o servidor");
+        // Não espera na EDT: o delta é aplicado quando chegar
+        carregarDadosCompletos().whenComplete((ignorado, erro) -> {
+            if (erro != null) {
+                LOGGER.log(Level.WARNING, "Erro na ressincronização após perda de eventos", erro);
+            }
+        });
+    }
+    
+    private boolean isCargaDadosEmAndamento() {
+        return cargaDadosEmAndamento != null && !cargaDadosEmAndamento.isDone();
+    }
+    
+    //Busca os pacientes em segundo plano, entregando cada página à interface assim que chega
+    private void iniciarCarregamentoPacientes(long marcaSincronizacao) {
+        final int geracao = geracaoCarregamento.incrementAndGet();
+        carregandoPacientes = true;
+        
+        executorCarga.execute(() -> {
+            PacienteService.CargaPaginada carga = new PacienteService.CargaPaginada(0, false);
+            try {
+                carga = pacienteService.listarTodosPaginado(
+                    pagina -> SwingUtilities.invokeLater(() -> aplicarPaginaPacientes(geracao, pagina)),
+                    () -> geracao != geracaoCarregamento.get()
+                );
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Erro no carregamento paginado de pacientes", e);
+            }
+            
+            final PacienteService.CargaPaginada resultado = carga;
+            SwingUtilities.invokeLater(() -> finalizarCarregamentoPacientes(geracao, resultado, marcaSincronizacao));
+        });
     }
     
-    //Valida consistência dos dados carregados
-    private void validarConsistenciaDados(List<Paciente> pacientes, 
-                                         List<Especialidade> especialidades, 
-                                         List<PacienteEspecialidade> associacoes) {
+    //Acrescenta uma página ao cache e aos painéis ativos (executa na EDT)
+    private void aplicarPaginaPacientes(int geracao, List<Paciente> pagina) {
+        if (geracao != geracaoCarregamento.get()) {
+            return; // Página de um carregamento substituído
+        }
+        
+        repositorio.salvarPacientes(pagina);
+        
+        if (painelSaudeAtivo != null) {
+            painelSaudeAtivo.adicionarPacientes(pagina);
+        }
+        if (painelDadosAtivo != null) {
+            painelDadosAtivo.adicionarPacientes(pagina);
+        }
+    }
+    
+    //Conclui o carregamento paginado e valida a consistência com as associações (executa na EDT)
+    private void finalizarCarregamentoPacientes(int geracao, PacienteService.CargaPaginada carga, long marcaSincronizacao) {
+        if (geracao != geracaoCarregamento.get()) {
+            return;
+        }
+        carregandoPacientes = false;
+        int total = carga.total();
+        
+        if (carga.completa()) {
+            LOGGER.info("✓ Pacientes carregados: " + total);
+        } else {
+            LOGGER.warning("⚠️ Carga de pacientes incompleta: " + total + " recebidos antes da falha");
+            showNotification("⚠️ Lista de pacientes incompleta (" + total + " carregados) - use Recarregar");
+        }
+        
+        // Só uma carga completa serve de base para o delta; vazia pode ser falha de rede.
+        // Nos dois casos a próxima recarga volta a ser completa
+        if (carga.completa() && total > 0) {
+            pacienteSyncService.registrarCargaCompleta(marcaSincronizacao);
+            pacientesSincronizados = true;
+        } else {
+            pacienteSyncService.descartarMarca();
+            pacientesSincronizados = false;
+        }
+        
+        executorCarga.execute(this::validarConsistenciaDados);
+    }
+    
+    //Valida consistência dos dados carregados (consultas O(1) nos índices do repositório)
+    private void validarConsistenciaDados() {
         
         LOGGER.info("🔍 Validando consistência dos dados...");
         
+        Set<Integer> idsEspecialidades = repositorio.getEspecialidades().stream()
+            .map(Especialidade::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        
         // Validar se associações referenciam pacientes e especialidades existentes
         int associacoesInvalidas = 0;
         
-        for (PacienteEspecialidade assoc : associacoes) {
-            boolean pacienteExiste = pacientes.stream()
-                .anyMatch(p -> p.getId() != null && p.getId().equals(assoc.getPacienteId()));
-            
-            boolean especialidadeExiste = especialidades.stream()
-                .anyMatch(e -> e.getId() != null && e.getId().equals(assoc.getEspecialidadeId()));
+        for (PacienteEspecialidade assoc : repositorio.getTodasAssociacoes()) {
+            boolean pacienteExiste = repositorio.contemPaciente(assoc.getPacienteId());
+            boolean especialidadeExiste = idsEspecialidades.contains(assoc.getEspecialidadeId());
             
             if (!pacienteExiste || !especialidadeExiste) {
                 associacoesInvalidas++;
@@ -375,10 +644,11 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
     private void initializeOfflineMode() {
         LOGGER.info("🔄 Inicializando modo offline...");
         
-        // Inicializar listas vazias
-        pacientes = new ArrayList<>();
-        especialidades = new ArrayList<>();
-        pacienteEspecialidades = new ArrayList<>();
+        // Inicializar cache vazio
+        pacientesSincronizados = false;
+        repositorio.limparPacientes();
+        repositorio.substituirEspecialidades(List.of());
+        repositorio.substituirAssociacoes(List.of());
         
         // Mostrar aviso ao usuário
         SwingUtilities.invokeLater(() -> {
@@ -415,12 +685,14 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         try {
             if (apiManager != null) {
                 // Registrar independente do status da conexão
-                apiManager.addPacienteChangeListener(this);
-                apiManager.addPacienteEspecialidadeChangeListener(this);
+                apiManager.addPacienteChangeListener(eventBus);
+                apiManager.addPacienteEspecialidadeChangeListener(eventBus);
+                apiManager.addRessincronizacaoListener(ressincronizacao);
+                apiManager.getConectividade().adicionarOuvinte(mudancaConectividade);
 
-                // Se não estiver conectado, tentar conectar
+                // Se não estiver conectado, reconecta em segundo plano
                 if (!apiManager.isWebSocketConectado()) {
-                    apiManager.reconectar();
+                    apiManager.solicitarReconexao("WebSocket desconectado ao registrar listeners");
                 }
 
                 LOGGER.info("Listeners registrados");
@@ -441,24 +713,19 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
                 LOGGER.info("=== INICIANDO onSaudeSelected ===");
 
                 // Verificar se temos dados
-                if (pacientes == null || pacientes.isEmpty()) {
+                if (repositorio.getTotalPacientes() == 0) {
                     LOGGER.warning("ATENÇÃO: Sem pacientes para exibir!");
                     showNotification("⚠️ Nenhum paciente encontrado. Carregando dados...");
 
-                    // Tentar carregar dados se não temos
-                    if (isApiDisponivel()) {
+                    // Tentar carregar dados se não temos (e se não estiverem chegando)
+                    if (isApiDisponivel() && !carregandoPacientes) {
                         carregarDadosCompletos();
                     }
                 }
 
-                // Criar painéis com cópias thread-safe dos dados
-                List<Paciente> pacientesParaPainel;
-                List<Especialidade> especialidadesParaFormulario;
-                
-                synchronized (this) {
-                    pacientesParaPainel = new ArrayList<>(pacientes);
-                    especialidadesParaFormulario = new ArrayList<>(especialidades);
-                }
+                // Criar painéis com cópias dos snapshots do cache
+                List<Paciente> pacientesParaPainel = new ArrayList<>(repositorio.getPacientes());
+                List<Especialidade> especialidadesParaFormulario = new ArrayList<>(repositorio.getEspecialidades());
 
                 LOGGER.info("Criando PainelSaude2 com " + pacientesParaPainel.size() + " pacientes...");
                 painelSaudeAtivo = new PainelSaude2(pacientesParaPainel);
@@ -514,16 +781,10 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             try {
                 LOGGER.info("=== INICIANDO onDadosSelected ===");
 
-                // **CORREÇÃO: Criar cópias thread-safe dos dados**
-                List<Paciente> pacientesParaPainel;
-                List<Especialidade> especialidadesParaFormulario;
-                List<PacienteEspecialidade> associacoesParaPainel;
-                
-                synchronized (this) {
-                    pacientesParaPainel = new ArrayList<>(pacientes);
-                    especialidadesParaFormulario = new ArrayList<>(especialidades);
-                    associacoesParaPainel = new ArrayList<>(pacienteEspecialidades);
-                }
+                // Criar cópias dos snapshots do cache
+                List<Paciente> pacientesParaPainel = new ArrayList<>(repositorio.getPacientes());
+                List<Especialidade> especialidadesParaFormulario = new ArrayList<>(repositorio.getEspecialidades());
+                List<PacienteEspecialidade> associacoesParaPainel = repositorio.getTodasAssociacoes();
 
                 LOGGER.info("Criando PainelDados2 com " + pacientesParaPainel.size() + 
                           " pacientes e " + associacoesParaPainel.size() + " associações...");
@@ -581,6 +842,7 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             if (!isApiDisponivel()) {
                 LOGGER.warning("API não disponível para recarregamento");
                 showNotification("API não disponível para recarregamento");
+                recarregandoDados = false;
                 tentarReconexaoAutomatica();
                 return;
             }
@@ -593,11 +855,30 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             // Re-registrar Listeners 
             registrarListeners();
 
-            // 2. RECARREGAR TODOS OS DADOS
+            // 2. RECARREGAR TODOS OS DADOS (fora da EDT; os passos 3 e 4 seguem quando chegarem)
             LOGGER.info("2/4 - Carregando dados completos...");
             showNotification("Carregando dados do servidor...");
-            carregarDadosCompletos();
+            carregarDadosCompletos().whenComplete((ignorado, erro) -> {
+                try {
+                    if (erro != null) {
+                        falhaNoRecarregamento(erro);
+                    } else {
+                        concluirRecarregamento();
+                    }
+                } finally {
+                    recarregandoDados = false;
+                }
+            });
 
+        } catch (Exception e) {
+            recarregandoDados = false;
+            falhaNoRecarregamento(e);
+        }
+    }
+    
+    //Passos 3 e 4 do recarregamento, depois que os dados chegaram (executa na EDT)
+    private void concluirRecarregamento() {
+        try {
             // 3. RECRIAR TODOS OS PAINÉIS
             LOGGER.info("3/4 - Recriando painéis...");
             showNotification("Atualizando interface...");
@@ -618,22 +899,24 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             LOGGER.info("Recarregamento completo do sistema concluído com sucesso");
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro durante recarregamento completo do sistema", e);
-            showNotification("Erro ao recarregar: " + e.getMessage());
-
-            // Oferecer opção de reconexão
-            int opcao = JOptionPane.showConfirmDialog(this,
-                "Erro ao recarregar sistema:\n" + e.getMessage() + 
-                "\n\nDeseja tentar reconectar à API?",
-                "Erro de Recarregamento",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.WARNING_MESSAGE);
-
-            if (opcao == JOptionPane.YES_OPTION) {
-                tentarReconexao();
-            }
-        } finally {
-            recarregandoDados = false;
+            falhaNoRecarregamento(e);
+        }
+    }
+    
+    private void falhaNoRecarregamento(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Erro durante recarregamento completo do sistema", e);
+        showNotification("Erro ao recarregar: " + e.getMessage());
+
+        // Oferecer opção de reconexão
+        int opcao = JOptionPane.showConfirmDialog(this,
+            "Erro ao recarregar sistema:\n" + e.getMessage() + 
+            "\n\nDeseja tentar reconectar à API?",
+            "Erro de Recarregamento",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+
+        if (opcao == JOptionPane.YES_OPTION) {
+            tentarReconexao();
         }
     }
     
@@ -641,20 +924,14 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         try {
             LOGGER.info("=== RECRIANDO TODOS OS PAINÉIS ===");
 
-            // Criar cópias thread-safe dos dados atualizados
-            List<Paciente> pacientesAtualizados;
-            List<Especialidade> especialidadesAtualizadas;
-            List<PacienteEspecialidade> associacoesAtualizadas;
-
-            synchronized (this) {
-                pacientesAtualizados = new ArrayList<>(pacientes);
-                especialidadesAtualizadas = new ArrayList<>(especialidades);
-                associacoesAtualizadas = new ArrayList<>(pacienteEspecialidades);
-            }
+            // Snapshots imutáveis do cache
+            List<Paciente> pacientesAtualizados = repositorio.getPacientes();
+            List<Especialidade> especialidadesAtualizadas = new ArrayList<>(repositorio.getEspecialidades());
+            List<PacienteEspecialidade> associacoesAtualizadas = repositorio.getTodasAssociacoes();
 
             // RECRIAR PAINÉIS SAÚDE
             LOGGER.info("Recriando painéis Saúde...");
-            painelSaudeAtivo = new PainelSaude2(pacientesAtualizados);
+            painelSaudeAtivo = new PainelSaude2(new ArrayList<>(pacientesAtualizados));
             formularioSaudeAtivo = new FormularioSaude2P(
                 pacienteService, 
                 pacienteEspecialidadeService, 
@@ -674,7 +951,7 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
 
             // RECRIAR PAINÉIS DADOS
             LOGGER.info("Recriando painéis Dados...");
-            painelDadosAtivo = new PainelDados2(pacientesAtualizados, associacoesAtualizadas);
+            painelDadosAtivo = new PainelDados2(new ArrayList<>(pacientesAtualizados), associacoesAtualizadas);
             formularioDadosAtivo = new FormularioDados2P(
                 pacienteService, 
                 pacienteEspecialidadeService, 
@@ -711,22 +988,11 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         SwingUtilities.invokeLater(() -> {
             LOGGER.info("🔄 Paciente atualizado via formulário: " + pacienteAtualizado.getNome());
             
-            synchronized (pacientes) {
-                // Atualizar na lista local
-                boolean encontrado = false;
-                for (int i = 0; i < pacientes.size(); i++) {
-                    if (pacientes.get(i).getId() != null && 
-                        pacientes.get(i).getId().equals(pacienteAtualizado.getId())) {
-                        pacientes.set(i, pacienteAtualizado);
-                        encontrado = true;
-                        LOGGER.info("Paciente atualizado na lista local: posição " + i);
-                        break;
-                    }
-                }
-                
-                if (!encontrado) {
-                    LOGGER.warning("Paciente não encontrado na lista local para atualização");
-                }
+            // Atualizar no cache local
+            if (repositorio.salvarPaciente(pacienteAtualizado) != null) {
+                LOGGER.info("Paciente atualizado no cache local: ID " + pacienteAtualizado.getId());
+            } else {
+                LOGGER.warning("Paciente não encontrado no cache local para atualização - adicionado");
             }
             
             // **CORREÇÃO CRÍTICA**: Atualizar AMBOS os painéis, independente de qual está ativo
@@ -748,24 +1014,14 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         SwingUtilities.invokeLater(() -> {
             LOGGER.info("🗑️ Paciente removido via formulário: ID " + pacienteId);
             
-            String nomePaciente = "ID " + pacienteId;
+            // Remover do cache local (o nome é usado na notificação)
+            Paciente removido = repositorio.removerPaciente(pacienteId);
+            String nomePaciente = removido != null ? removido.getNome() : "ID " + pacienteId;
             
-            synchronized (pacientes) {
-                // Encontrar o nome antes de remover (para notificação)
-                nomePaciente = pacientes.stream()
-                    .filter(p -> p.getId() != null && p.getId().equals(pacienteId))
-                    .map(Paciente::getNome)
-                    .findFirst()
-                    .orElse("ID " + pacienteId);
-                
-                // Remover da lista local
-                boolean removido = pacientes.removeIf(p -> p.getId() != null && p.getId().equals(pacienteId));
-                
-                if (removido) {
-                    LOGGER.info("Paciente removido da lista local");
-                } else {
-                    LOGGER.warning("Paciente não encontrado na lista local para remoção");
-                }
+            if (removido != null) {
+                LOGGER.info("Paciente removido do cache local");
+            } else {
+                LOGGER.warning("Paciente não encontrado no cache local para remoção");
             }
             
             // **CORREÇÃO CRÍTICA**: Atualizar AMBOS os painéis, independente de qual está ativo
@@ -783,266 +1039,185 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
     }
     
     // ===== IMPLEMENTAÇÃO DOS LISTENERS DE MUDANÇAS =====
+    // Chamados na EDT pelo PacienteEventBus, em ordem, antes de onLote;
+    // só alteram o cache e a interface é atualizada uma vez em onLote
      
     @Override
     public void onPacienteEspecialidadeAdded(PacienteEspecialidade pacienteEspecialidade) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("🆕 Nova associação via WebSocket: Paciente " + 
-                       pacienteEspecialidade.getPacienteId() + " - Especialidade " + 
-                       pacienteEspecialidade.getEspecialidadeId());
+        LOGGER.info("🆕 Nova associação via WebSocket: Paciente " + 
+                   pacienteEspecialidade.getPacienteId() + " - Especialidade " + 
+                   pacienteEspecialidade.getEspecialidadeId());
 
-            synchronized (pacienteEspecialidades) {
-                // Verificar se já existe
-                boolean jaExiste = pacienteEspecialidades.stream()
-                    .anyMatch(pe -> pe.getPacienteId().equals(pacienteEspecialidade.getPacienteId()) && 
-                                   pe.getEspecialidadeId().equals(pacienteEspecialidade.getEspecialidadeId()));
+        // Adiciona apenas se o par paciente/especialidade ainda não existir
+        if (repositorio.adicionarAssociacao(pacienteEspecialidade)) {
+            // O painel de dados é atualizado uma vez, no fim do lote
+            associacoesAlteradasNoLote = true;
 
-                if (!jaExiste) {
-                    pacienteEspecialidades.add(pacienteEspecialidade);
-
-                    // **CORREÇÃO: Atualizar com cópia thread-safe**
-                    List<PacienteEspecialidade> associacoesAtualizadas = new ArrayList<>(pacienteEspecialidades);
-                    
-                    // Atualizar apenas o painel de dados se estiver ativo
-                    if (painelDadosAtivo != null) {
-                        painelDadosAtivo.atualizarPacienteEspecialidade(associacoesAtualizadas);
-                        LOGGER.info("PainelDados2 atualizado com nova associação");
-                    }
-
-                    showNotification("➕ Nova associação criada");
-                    LOGGER.info("Associação adicionada ao cache local");
-                } else {
-                    LOGGER.info("Associação já existe no cache local");
-                }
-            }
-        });
+            notificarNoLote("➕ Nova associação criada");
+            LOGGER.info("Associação adicionada ao cache local");
+        } else {
+            LOGGER.info("Associação já existe no cache local");
+        }
     }
 
     @Override
     public void onPacienteEspecialidadeUpdated(PacienteEspecialidade pacienteEspecialidade) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("🔄 Associação atualizada via WebSocket: Paciente " + 
-                       pacienteEspecialidade.getPacienteId() + " - Especialidade " + 
-                       pacienteEspecialidade.getEspecialidadeId());
-
-            synchronized (pacienteEspecialidades) {
-                // Encontrar e atualizar na lista local
-                boolean atualizado = false;
-                for (int i = 0; i < pacienteEspecialidades.size(); i++) {
-                    PacienteEspecialidade pe = pacienteEspecialidades.get(i);
-                    if (pe.getPacienteId().equals(pacienteEspecialidade.getPacienteId()) && 
-                        pe.getEspecialidadeId().equals(pacienteEspecialidade.getEspecialidadeId())) {
-                        pacienteEspecialidades.set(i, pacienteEspecialidade);
-                        atualizado = true;
-                        break;
-                    }
-                }
-
-                if (atualizado) {
-                    // **CORREÇÃO: Atualizar com cópia thread-safe**
-                    List<PacienteEspecialidade> associacoesAtualizadas = new ArrayList<>(pacienteEspecialidades);
-                    
-                    if (painelDadosAtivo != null) {
-                        painelDadosAtivo.atualizarPacienteEspecialidade(associacoesAtualizadas);
-                        LOGGER.info("PainelDados2 atualizado com associação modificada");
-                    }
-                    showNotification("🔄 Associação atualizada");
-                    LOGGER.info("Associação atualizada no cache local");
-                } else {
-                    LOGGER.warning("Associação para atualização não encontrada no cache");
-                }
-            }
-        });
+        LOGGER.info("🔄 Associação atualizada via WebSocket: Paciente " + 
+                   pacienteEspecialidade.getPacienteId() + " - Especialidade " + 
+                   pacienteEspecialidade.getEspecialidadeId());
+
+        // Encontrar e atualizar no índice do paciente
+        if (repositorio.atualizarAssociacao(pacienteEspecialidade)) {
+            associacoesAlteradasNoLote = true;
+            notificarNoLote("🔄 Associação atualizada");
+            LOGGER.info("Associação atualizada no cache local");
+        } else {
+            LOGGER.warning("Associação para atualização não encontrada no cache");
+        }
     }
 
 
     @Override
     public void onPacienteEspecialidadeDeleted(Integer pacienteId, Integer especialidadeId) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("🗑️ Associação removida via WebSocket: Paciente " + pacienteId + " - Especialidade " + especialidadeId);
-
-            synchronized (pacienteEspecialidades) {
-                // Remover da lista local
-                boolean removido = pacienteEspecialidades.removeIf(pe -> 
-                    pe.getPacienteId().equals(pacienteId) && pe.getEspecialidadeId().equals(especialidadeId));
+        LOGGER.info("🗑️ Associação removida via WebSocket: Paciente " + pacienteId + " - Especialidade " + especialidadeId);
 
-                if (removido) {
-                    // **CORREÇÃO: Atualizar com cópia thread-safe**
-                    List<PacienteEspecialidade> associacoesAtualizadas = new ArrayList<>(pacienteEspecialidades);
-                    
-                    if (painelDadosAtivo != null) {
-                        painelDadosAtivo.atualizarPacienteEspecialidade(associacoesAtualizadas);
-                        LOGGER.info("PainelDados2 atualizado após remoção de associação");
-                    }
-                    showNotification("🗑️ Associação removida");
-                    LOGGER.info("Associação removida do cache local");
-                } else {
-                    LOGGER.warning("Associação para remoção não encontrada no cache");
-                }
-            }
-        });
+        // Remover do índice do paciente
+        if (repositorio.removerAssociacao(pacienteId, especialidadeId)) {
+            associacoesAlteradasNoLote = true;
+            notificarNoLote("🗑️ Associação removida");
+            LOGGER.info("Associação removida do cache local");
+        } else {
+            LOGGER.warning("Associação para remoção não encontrada no cache");
+        }
     }
     
     @Override
     public void onPacienteEspecialidadeBatchCreated(Integer pacienteId, List<PacienteEspecialidade> novasAssociacoes) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("=== BATCH CREATED - Main ===");
-            LOGGER.info("🆕 Batch de associações criadas via WebSocket para paciente " + pacienteId + 
-                       ": " + (novasAssociacoes != null ? novasAssociacoes.size() : 0) + " associações");
-
-            if (novasAssociacoes != null && !novasAssociacoes.isEmpty()) {
-                synchronized (pacienteEspecialidades) {
-                    int adicionadas = 0;
-
-                    for (PacienteEspecialidade associacao : novasAssociacoes) {
-                        // ✅ CORREÇÃO: Verificar duplicatas antes de adicionar
-                        boolean jaExiste = pacienteEspecialidades.stream()
-                            .anyMatch(pe -> pe.getPacienteId().equals(associacao.getPacienteId()) && 
-                                           pe.getEspecialidadeId().equals(associacao.getEspecialidadeId()));
-
-                        if (!jaExiste) {
-                            pacienteEspecialidades.add(associacao);
-                            adicionadas++;
-                            LOGGER.info("✅ Nova associação adicionada: Paciente " + associacao.getPacienteId() + 
-                                       " - Especialidade " + associacao.getEspecialidadeId());
-                        } else {
-                            LOGGER.info("⚠️ Associação já existe: Paciente " + associacao.getPacienteId() + 
-                                       " - Especialidade " + associacao.getEspecialidadeId());
-                        }
-                    }
+        LOGGER.info("=== BATCH CREATED - Main ===");
+        LOGGER.info("🆕 Batch de associações criadas via WebSocket para paciente " + pacienteId + 
+                   ": " + (novasAssociacoes != null ? novasAssociacoes.size() : 0) + " associações");
+
+        if (novasAssociacoes != null && !novasAssociacoes.isEmpty()) {
+            int adicionadas = 0;
+
+            for (PacienteEspecialidade associacao : novasAssociacoes) {
+                // O repositório ignora duplicatas
+                if (repositorio.adicionarAssociacao(associacao)) {
+                    adicionadas++;
+                    LOGGER.info("✅ Nova associação adicionada: Paciente " + associacao.getPacienteId() + 
+                               " - Especialidade " + associacao.getEspecialidadeId());
+                } else {
+                    LOGGER.info("⚠️ Associação já existe: Paciente " + associacao.getPacienteId() + 
+                               " - Especialidade " + associacao.getEspecialidadeId());
+                }
+            }
 
-                    LOGGER.info("📊 Resultado: " + adicionadas + " associações novas adicionadas de " + novasAssociacoes.size());
-                    LOGGER.info("📊 Total de associações no cache: " + pacienteEspecialidades.size());
+            LOGGER.info("📊 Resultado: " + adicionadas + " associações novas adicionadas de " + novasAssociacoes.size());
+            LOGGER.info("📊 Total de associações no cache: " + repositorio.getTotalAssociacoes());
 
-                    if (adicionadas > 0) {
-                        atualizarPaineisComAssociacoes();
-                        showNotification("➕ " + adicionadas + " associações criadas para paciente " + pacienteId);
-                        validarConsistenciaAssociacoes(pacienteId);
-                    } else {
-                        LOGGER.info("⚠️ Nenhuma associação nova foi adicionada (todas já existiam)");
-                        showNotification("⚠️ Associações já existentes - nada foi alterado");
-                    }
-                }
+            if (adicionadas > 0) {
+                associacoesAlteradasNoLote = true;
+                notificarNoLote("➕ " + adicionadas + " associações criadas para paciente " + pacienteId);
+                associacoesParaValidar.add(pacienteId);
             } else {
-                LOGGER.warning("⚠️ Lista de novas associações está vazia ou nula");
+                LOGGER.info("⚠️ Nenhuma associação nova foi adicionada (todas já existiam)");
+                notificarNoLote("⚠️ Associações já existentes - nada foi alterado");
             }
-        });
+        } else {
+            LOGGER.warning("⚠️ Lista de novas associações está vazia ou nula");
+        }
     }
 
     @Override
     public void onPacienteEspecialidadeBatchDeleted(Integer pacienteId, List<PacienteEspecialidade> associacoesDeletadas) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("=== BATCH DELETED - Main ===");
-            LOGGER.info("🗑️ Batch de associações deletadas via WebSocket para paciente " + pacienteId);
-
-            synchronized (pacienteEspecialidades) {
-                if (associacoesDeletadas != null && !associacoesDeletadas.isEmpty()) {
-                    // ✅ CORREÇÃO: Remover associações específicas
-                    LOGGER.info("Removendo " + associacoesDeletadas.size() + " associações específicas");
-
-                    int removidas = 0;
-                    for (PacienteEspecialidade associacao : associacoesDeletadas) {
-                        boolean removido = pacienteEspecialidades.removeIf(pe -> 
-                            pe.getPacienteId().equals(associacao.getPacienteId()) && 
-                            pe.getEspecialidadeId().equals(associacao.getEspecialidadeId()));
-
-                        if (removido) {
-                            removidas++;
-                            LOGGER.info("✅ Associação removida: Paciente " + associacao.getPacienteId() + 
-                                       " - Especialidade " + associacao.getEspecialidadeId());
-                        } else {
-                            LOGGER.warning("⚠️ Associação não encontrada para remover: Paciente " + 
-                                         associacao.getPacienteId() + " - Especialidade " + associacao.getEspecialidadeId());
-                        }
-                    }
+        LOGGER.info("=== BATCH DELETED - Main ===");
+        LOGGER.info("🗑️ Batch de associações deletadas via WebSocket para paciente " + pacienteId);
 
-                    LOGGER.info("📊 Resultado: " + removidas + " associações removidas de " + associacoesDeletadas.size());
+        if (associacoesDeletadas != null && !associacoesDeletadas.isEmpty()) {
+            // ✅ CORREÇÃO: Remover associações específicas
+            LOGGER.info("Removendo " + associacoesDeletadas.size() + " associações específicas");
 
-                    if (removidas > 0) {
-                        atualizarPaineisComAssociacoes();
-                        showNotification("🗑️ " + removidas + " associações removidas do paciente " + pacienteId);
-                    }
+            int removidas = 0;
+            for (PacienteEspecialidade associacao : associacoesDeletadas) {
+                boolean removido = repositorio.removerAssociacao(
+                    associacao.getPacienteId(), associacao.getEspecialidadeId());
 
+                if (removido) {
+                    removidas++;
+                    LOGGER.info("✅ Associação removida: Paciente " + associacao.getPacienteId() + 
+                               " - Especialidade " + associacao.getEspecialidadeId());
                 } else {
-                    // ✅ CORREÇÃO: Remover TODAS as associações do paciente
-                    LOGGER.info("Removendo TODAS as associações do paciente " + pacienteId);
+                    LOGGER.warning("⚠️ Associação não encontrada para remover: Paciente " + 
+                                 associacao.getPacienteId() + " - Especialidade " + associacao.getEspecialidadeId());
+                }
+            }
+
+            LOGGER.info("📊 Resultado: " + removidas + " associações removidas de " + associacoesDeletadas.size());
 
-                    long removidasTotal = pacienteEspecialidades.stream()
-                        .filter(pe -> pe.getPacienteId().equals(pacienteId))
-                        .count();
+            if (removidas > 0) {
+                associacoesAlteradasNoLote = true;
+                notificarNoLote("🗑️ " + removidas + " associações removidas do paciente " + pacienteId);
+            }
 
-                    boolean removido = pacienteEspecialidades.removeIf(pe -> pe.getPacienteId().equals(pacienteId));
+        } else {
+            // ✅ CORREÇÃO: Remover TODAS as associações do paciente
+            LOGGER.info("Removendo TODAS as associações do paciente " + pacienteId);
 
-                    LOGGER.info("📊 Associações encontradas para remoção: " + removidasTotal);
-                    LOGGER.info("📊 Remoção executada: " + removido);
+            int removidasTotal = repositorio.removerAssociacoesDoPaciente(pacienteId);
 
-                    if (removido && removidasTotal > 0) {
-                        LOGGER.info("✅ Todas as " + removidasTotal + " associações do paciente foram removidas");
-                        atualizarPaineisComAssociacoes();
-                        showNotification("🗑️ Todas as " + removidasTotal + " associações removidas do paciente " + pacienteId);
-                    } else {
-                        LOGGER.info("⚠️ Nenhuma associação encontrada para remover do paciente " + pacienteId);
-                    }
-                }
+            LOGGER.info("📊 Associações removidas: " + removidasTotal);
 
-                LOGGER.info("📊 Total de associações no cache após remoção: " + pacienteEspecialidades.size());
+            if (removidasTotal > 0) {
+                LOGGER.info("✅ Todas as " + removidasTotal + " associações do paciente foram removidas");
+                associacoesAlteradasNoLote = true;
+                notificarNoLote("🗑️ Todas as " + removidasTotal + " associações removidas do paciente " + pacienteId);
+            } else {
+                LOGGER.info("⚠️ Nenhuma associação encontrada para remover do paciente " + pacienteId);
             }
-        });
+        }
+
+        LOGGER.info("📊 Total de associações no cache após remoção: " + repositorio.getTotalAssociacoes());
     }
 
     @Override
     public void onPacienteEspecialidadeCompleteUpdate(Integer pacienteId, List<PacienteEspecialidade> novasAssociacoes) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("=== COMPLETE UPDATE - Main ===");
-            LOGGER.info("🔄 Atualização completa das associações via WebSocket para paciente " + pacienteId + 
-                       ": " + (novasAssociacoes != null ? novasAssociacoes.size() : 0) + " associações");
-
-            synchronized (pacienteEspecialidades) {
-                // ✅ PASSO 1: Remover TODAS as associações existentes do paciente
-                long removidasAnteriormente = pacienteEspecialidades.stream()
-                    .filter(pe -> pe.getPacienteId().equals(pacienteId))
-                    .count();
-
-                boolean removido = pacienteEspecialidades.removeIf(pe -> pe.getPacienteId().equals(pacienteId));
-                LOGGER.info("📊 Associações anteriores removidas: " + removidasAnteriormente + " (operação: " + removido + ")");
-
-                // ✅ PASSO 2: Adicionar TODAS as novas associações
-                int adicionadas = 0;
-                if (novasAssociacoes != null && !novasAssociacoes.isEmpty()) {
-                    pacienteEspecialidades.addAll(novasAssociacoes);
-                    adicionadas = novasAssociacoes.size();
-                    LOGGER.info("📊 Novas associações adicionadas: " + adicionadas);
-
-                    // Log detalhado das associações adicionadas
-                    for (PacienteEspecialidade assoc : novasAssociacoes) {
-                        LOGGER.info("  → Associação: Paciente " + assoc.getPacienteId() + 
-                                   " - Especialidade " + assoc.getEspecialidadeId());
-                    }
-                }
+        LOGGER.info("=== COMPLETE UPDATE - Main ===");
+        LOGGER.info("🔄 Atualização completa das associações via WebSocket para paciente " + pacienteId + 
+                   ": " + (novasAssociacoes != null ? novasAssociacoes.size() : 0) + " associações");
+
+        // ✅ PASSOS 1 e 2: Trocar de uma vez TODAS as associações do paciente
+        int removidasAnteriormente = repositorio.substituirAssociacoesDoPaciente(pacienteId, novasAssociacoes);
+        LOGGER.info("📊 Associações anteriores removidas: " + removidasAnteriormente);
+
+        int adicionadas = repositorio.getAssociacoes(pacienteId).size();
+        if (adicionadas > 0) {
+            LOGGER.info("📊 Novas associações adicionadas: " + adicionadas);
+
+            // Log detalhado das associações adicionadas
+            for (PacienteEspecialidade assoc : novasAssociacoes) {
+                LOGGER.info("  → Associação: Paciente " + assoc.getPacienteId() + 
+                           " - Especialidade " + assoc.getEspecialidadeId());
+            }
+        }
 
-                // ✅ PASSO 3: Atualizar interface
-                atualizarPaineisComAssociacoes();
+        // ✅ PASSO 3: Atualizar interface
+        associacoesAlteradasNoLote = true;
 
-                showNotification("🔄 Associações atualizadas completamente para paciente " + pacienteId + 
-                               ": " + adicionadas + " associações ativas");
+        notificarNoLote("🔄 Associações atualizadas completamente para paciente " + pacienteId + 
+                       ": " + adicionadas + " associações ativas");
 
-                LOGGER.info("✅ Atualização completa concluída: " + removidasAnteriormente + 
-                           " removidas, " + adicionadas + " adicionadas");
-                LOGGER.info("📊 Total final de associações no cache: " + pacienteEspecialidades.size());
-            }
-            
-            validarConsistenciaAssociacoes(pacienteId);
-        });
+        LOGGER.info("✅ Atualização completa concluída: " + removidasAnteriormente + 
+                   " removidas, " + adicionadas + " adicionadas");
+        LOGGER.info("📊 Total final de associações no cache: " + repositorio.getTotalAssociacoes());
+        
+        associacoesParaValidar.add(pacienteId);
     }
     
     // Método para atualizar painéis com associações de forma thread-safe
     private void atualizarPaineisComAssociacoes() {
         try {
-            // Criar cópia thread-safe das associações atualizadas
-            List<PacienteEspecialidade> associacoesAtualizadas;
-            synchronized (pacienteEspecialidades) {
-                associacoesAtualizadas = new ArrayList<>(pacienteEspecialidades);
-            }
+            // Snapshot imutável das associações atualizadas
+            List<PacienteEspecialidade> associacoesAtualizadas = repositorio.getTodasAssociacoes();
 
             LOGGER.info("📊 Atualizando painéis com " + associacoesAtualizadas.size() + " associações");
 
@@ -1086,13 +1261,8 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
                 List<PacienteEspecialidade> associacoesServidor = 
                     pacienteEspecialidadeService.buscarPorPacienteId(pacienteId);
 
-                // Buscar associações locais
-                List<PacienteEspecialidade> associacoesLocais;
-                synchronized (pacienteEspecialidades) {
-                    associacoesLocais = pacienteEspecialidades.stream()
-                        .filter(pe -> pe.getPacienteId().equals(pacienteId))
-                        .collect(Collectors.toList());
-                }
+                // Buscar associações locais (índice por paciente)
+                List<PacienteEspecialidade> associacoesLocais = repositorio.getAssociacoes(pacienteId);
 
                 // Comparar
                 if (associacoesServidor.size() != associacoesLocais.size()) {
@@ -1123,129 +1293,70 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         });
     }
     
+    /**
+     * Fim do quadro do PacienteEventBus (EDT): aplica as alterações de pacientes já
+     * consolidadas, atualiza os painéis uma vez e mostra uma única notificação
+     */
     @Override
-    public void onPacienteAdded(Paciente paciente) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("🆕 Novo paciente via WebSocket: " + paciente.getNome());
-            
-            synchronized (pacientes) {
-                // Verificar se já existe (evitar duplicatas)
-                boolean jaExiste = pacientes.stream()
-                    .anyMatch(p -> p.getId() != null && p.getId().equals(paciente.getId()));
-                
-                if (!jaExiste) {
-                    pacientes.add(paciente);
-                    
-                    // Atualizar painéis ativos
-                    if (painelSaudeAtivo != null) {
-                        painelSaudeAtivo.adicionarPaciente(paciente);
-                    }
-                    if (painelDadosAtivo != null) {
-                        painelDadosAtivo.adicionarPaciente(paciente);
-                    }
-                    
-                    showNotification("➕ Novo paciente: " + paciente.getNome());
-                    LOGGER.info("Paciente adicionado ao cache local: " + paciente.getNome());
+    public void onLote(PacienteEventBus.Lote lote) {
+        if (lote.temPacientes()) {
+            LOGGER.info("Lote WebSocket: " + lote.salvos().size() + " salvos, " + lote.removidos().size() + 
+                       " removidos (" + lote.eventosRecebidos() + " eventos)");
+
+            List<Integer> removidos = new ArrayList<>();
+            String nomeRemovido = null;
+            for (Integer pacienteId : lote.removidos()) {
+                Paciente removido = repositorio.removerPaciente(pacienteId);
+                if (removido != null) {
+                    removidos.add(pacienteId);
+                    nomeRemovido = removido.getNome();
                 } else {
-                    LOGGER.info("Paciente já existe no cache local: " + paciente.getId());
+                    LOGGER.warning("Paciente para remoção não encontrado no cache: " + pacienteId);
                 }
             }
-        });
-    }
-
-    @Override
-    public void onPacienteUpdated(Paciente paciente) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("=== onPacienteUpdated WebSocket - Main ===");
-            LOGGER.info("Paciente recebido: " + 
-                       (paciente != null ? paciente.getNome() + " (ID: " + paciente.getId() + ")" : "NULL"));
+            repositorio.salvarPacientes(lote.salvos());
 
-            if (paciente == null) {
-                LOGGER.severe("❌ Paciente NULL recebido via WebSocket");
-                return;
+            if (painelSaudeAtivo != null) {
+                painelSaudeAtivo.aplicarLote(lote.salvos(), removidos);
             }
-
-            // Atualizar cache local de forma thread-safe
-            synchronized (pacientes) {
-                boolean atualizado = false;
-                for (int i = 0; i < pacientes.size(); i++) {
-                    if (pacientes.get(i).getId() != null && pacientes.get(i).getId().equals(paciente.getId())) {
-                        LOGGER.info("Atualizando paciente na posição " + i + " da lista local");
-                        pacientes.set(i, paciente);
-                        atualizado = true;
-                        break;
-                    }
-                }
-
-                if (!atualizado) {
-                    LOGGER.warning("⚠️ Paciente não encontrado na lista local - adicionando");
-                    pacientes.add(paciente);
-                }
+            if (painelDadosAtivo != null) {
+                painelDadosAtivo.aplicarLote(lote.salvos(), removidos);
             }
 
-            // Atualizar AMBOS os painéis de forma robusta
-            try {
-                boolean painelAtualizado = false;
-
-                if (painelSaudeAtivo != null) {
-                    LOGGER.info("Atualizando PainelSaude2...");
-                    painelSaudeAtivo.atualizarPaciente(paciente);
-                    painelAtualizado = true;
-                    LOGGER.info("✅ PainelSaude2 atualizado");
-                }
-
-                if (painelDadosAtivo != null) {
-                    LOGGER.info("Atualizando PainelDados2...");
-                    painelDadosAtivo.atualizarPaciente(paciente);
-                    painelAtualizado = true;
-                    LOGGER.info("✅ PainelDados2 atualizado");
-                }
+            // Um único paciente mantém a mensagem detalhada; rajadas viram um resumo
+            if (lote.salvos().size() == 1 && removidos.isEmpty()) {
+                Paciente paciente = lote.salvos().get(0);
+                notificarNoLote(lote.criados() == 1 ? "➕ Novo paciente: " + paciente.getNome()
+                                                    : "🔄 Dados atualizados via WebSocket: " + paciente.getNome());
+            } else if (lote.salvos().isEmpty() && removidos.size() == 1) {
+                notificarNoLote("🗑️ Paciente removido: " + nomeRemovido);
+            } else if (!lote.salvos().isEmpty() || !removidos.isEmpty()) {
+                notificarNoLote("🔄 Pacientes via WebSocket: " + lote.criados() + " novos, " + 
+                               (lote.salvos().size() - lote.criados()) + " atualizados, " + removidos.size() + " removidos");
+            }
+        }
 
-                if (painelAtualizado) {
-                    showNotification("🔄 Dados atualizados via WebSocket: " + paciente.getNome());
-                    LOGGER.info("✅ Notificação de atualização WebSocket concluída");
-                } else {
-                    LOGGER.warning("⚠️ Nenhum painel ativo para atualizar");
-                }
+        if (associacoesAlteradasNoLote) {
+            associacoesAlteradasNoLote = false;
+            atualizarPaineisComAssociacoes();
+        }
+        for (Integer pacienteId : associacoesParaValidar) {
+            validarConsistenciaAssociacoes(pacienteId);
+        }
+        associacoesParaValidar.clear();
 
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "❌ Erro ao atualizar painéis via WebSocket", e);
-            }
-        });
+        if (notificacoesDoLote.size() == 1) {
+            showNotification(notificacoesDoLote.get(0));
+        } else if (notificacoesDoLote.size() > 1) {
+            showNotification("🔄 " + notificacoesDoLote.size() + " alterações recebidas em tempo real");
+        }
+        notificacoesDoLote.clear();
     }
-
-    @Override
-    public void onPacienteDeleted(int pacienteId) {
-        SwingUtilities.invokeLater(() -> {
-            LOGGER.info("🗑️ Paciente removido via WebSocket: ID " + pacienteId);
-            
-            synchronized (pacientes) {
-                // Encontrar o nome antes de remover (para notificação)
-                String nomePaciente = pacientes.stream()
-                    .filter(p -> p.getId() != null && p.getId().equals(pacienteId))
-                    .map(Paciente::getNome)
-                    .findFirst()
-                    .orElse("ID " + pacienteId);
-                
-                // Remover da lista local
-                boolean removido = pacientes.removeIf(p -> p.getId() != null && p.getId().equals(pacienteId));
-                
-                if (removido) {
-                    // Atualizar painéis ativos
-                    if (painelSaudeAtivo != null) {
-                        painelSaudeAtivo.removerPaciente(pacienteId);
-                    }
-                    if (painelDadosAtivo != null) {
-                        painelDadosAtivo.removerPaciente(pacienteId);
-                    }
-                    
-                    showNotification("🗑️ Paciente removido: " + nomePaciente);
-                    LOGGER.info("Paciente removido do cache local: " + nomePaciente);
-                } else {
-                    LOGGER.warning("Paciente para remoção não encontrado no cache: " + pacienteId);
-                }
-            }
-        });
+    
+    // Notificações de um lote são agrupadas em onLote
+    private void notificarNoLote(String mensagem) {
+        LOGGER.info(mensagem);
+        notificacoesDoLote.add(mensagem);
     }
     
     // ===== MÉTODOS DE GERENCIAMENTO DE DADOS =====
@@ -1261,35 +1372,45 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
     // ===== MÉTODOS DE CONECTIVIDADE =====
     
     /**
-     * Tenta reconexão automática
+     * Tenta reconexão automática: o ApiManager reconecta em segundo plano e o
+     * recarregamento roda quando a conexão voltar
      */
     private void tentarReconexaoAutomatica() {
-        if (apiManager != null && !recarregandoDados) {
-            LOGGER.info("🔄 Tentando reconexão automática...");
-            
-            CompletableFuture.runAsync(() -> {
+        if (apiManager != null) {
+            LOGGER.info("🔄 Reconexão automática solicitada");
+            recarregarAoReconectar = true;
+            apiManager.solicitarReconexao("recarregamento sem API");
+            showNotification("🔄 Reconectando em segundo plano...");
+        }
+    }
+    
+    /**
+     * Conexão perdida ou restabelecida pelo GerenciadorConectividade (na EDT)
+     */
+    private void tratarMudancaConectividade(GerenciadorConectividade.Situacao situacao) {
+        switch (situacao.estado()) {
+            case RECONECTANDO -> showNotification("⚠️ Conexão perdida - reconectando em segundo plano...");
+            case CONECTADO -> {
+                reconexaoPendente.set(false);
+                if (recarregandoDados) {
+                    LOGGER.info("Conexão restabelecida durante recarregamento - nada a fazer");
+                    return;
+                }
+                // Sem services a aplicação abriu sem API: os dados ainda não foram carregados
+                boolean semDados = pacienteService == null;
                 try {
-                    apiManager.reconectar();
-                    
-                    if (apiManager.isApiDisponivel()) {
-                        SwingUtilities.invokeLater(() -> {
-                            showNotification("✅ Reconexão bem-sucedida!");
-                            
-                            // Tentar recarregar dados após reconexão
-                            onRecarregarClicked();
-                        });
-                    } else {
-                        SwingUtilities.invokeLater(() -> {
-                            showNotification("❌ Falha na reconexão automática");
-                        });
-                    }
+                    inicializarServices();
                 } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Erro na reconexão automática", e);
-                    SwingUtilities.invokeLater(() -> {
-                        showNotification("❌ Erro na reconexão: " + e.getMessage());
-                    });
+                    LOGGER.log(Level.SEVERE, "Erro ao reinicializar após reconexão", e);
+                    return;
                 }
-            });
+                showNotification("✅ Conexão restabelecida");
+                if (recarregarAoReconectar || semDados) {
+                    recarregarAoReconectar = false;
+                    onRecarregarClicked(); // Não bloqueia: os dados chegam fora da EDT
+                }
+            }
+            case PARADO -> { }
         }
     }
     
@@ -1471,27 +1592,21 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
      * Obtém a lista atual de pacientes (thread-safe)
      */
     public List<Paciente> getPacientes() {
-        synchronized (pacientes) {
-            return new ArrayList<>(pacientes);
-        }
+        return repositorio.getPacientes();
     }
     
     /**
      * Obtém a lista atual de especialidades (thread-safe)
      */
     public List<Especialidade> getEspecialidades() {
-        synchronized (especialidades) {
-            return new ArrayList<>(especialidades);
-        }
+        return repositorio.getEspecialidades();
     }
     
     /**
      * Obtém a lista atual de associações (thread-safe)
      */
     public List<PacienteEspecialidade> getPacienteEspecialidades() {
-        synchronized (pacienteEspecialidades) {
-            return new ArrayList<>(pacienteEspecialidades);
-        }
+        return repositorio.getTodasAssociacoes();
     }
     
     /**
@@ -1506,9 +1621,10 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
         status.append("=== STATUS DO SISTEMA IBG ===\n");
         status.append("Inicializando: ").append(inicializando ? "SIM" : "NÃO").append("\n");
         status.append("Recarregando: ").append(recarregandoDados ? "SIM" : "NÃO").append("\n");
-        status.append("Pacientes em cache: ").append(pacientes.size()).append("\n");
-        status.append("Especialidades em cache: ").append(especialidades.size()).append("\n");
-        status.append("Associações em cache: ").append(pacienteEspecialidades.size()).append("\n");
+        status.append("Pacientes em cache: ").append(repositorio.getTotalPacientes()).append("\n");
+        status.append("Especialidades em cache: ").append(repositorio.getTotalEspecialidades()).append("\n");
+        status.append("Associações em cache: ").append(repositorio.getTotalAssociacoes()).append("\n");
+        status.append("Eventos em tempo real: ").append(eventBus.getMetricas()).append("\n");
         status.append("\n");
         status.append(apiManager.getStatusCompleto());
         
@@ -1548,15 +1664,21 @@ public class Main extends javax.swing.JFrame implements MenuListener, PacienteCh
             
             // Remover listeners
             if (apiManager != null) {
-                apiManager.removePacienteChangeListener(this);
-                apiManager.removePacienteEspecialidadeChangeListener(this);
+                apiManager.removePacienteChangeListener(eventBus);
+                apiManager.removePacienteEspecialidadeChangeListener(eventBus);
+                apiManager.removeRessincronizacaoListener(ressincronizacao);
+                apiManager.getConectividade().removerOuvinte(mudancaConectividade);
             }
+            eventBus.parar();
             
             // Finalizar ApiManager
             if (apiManager != null) {
                 apiManager.finalizar();
             }
             
+            // Interromper cargas ainda em andamento
+            executorCarga.shutdownNow();
+            
             LOGGER.info("✅ Recursos liberados com sucesso");
             
         } catch (Exception e) {
@@ -377,7 +377,7 @@ public class Projeto_IBG {
      * Verifica se a aplicação está em modo offline
      */
     public static boolean isModoOffline() {
-        return !apiDisponivel || apiManager == null || !apiManager.isApiDisponivel();
+        return apiManager == null || !apiManager.isApiDisponivel();
     }
     
     /**
@@ -2,12 +2,22 @@ package com.mycompany.service;
 
 import com.mycompany.client.ApiClient;
 import com.mycompany.client.ApiException;
+import com.mycompany.client.AsyncApiClient;
 import com.mycompany.client.dto.EspecialidadeDTO;
+import com.mycompany.client.dto.ReservaAtendimentoDTO;
 import com.mycompany.client.mapper.DtoMapper;
 import com.mycompany.model.bean.Especialidade;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -19,10 +29,30 @@ public class EspecialidadeService {
     
     private static final Logger LOGGER = Logger.getLogger(EspecialidadeService.class.getName());
     private final ApiClient apiClient;
+    private AsyncApiClient asyncClient;
     private final String ESPECIALIDADE_ENDPOINT = "/especialidades";
     
+    // Desligado na primeira resposta 404/405: o servidor não tem a reserva em lote
+    private volatile boolean reservaEmLoteDisponivel = true;
+    
+    // Desligado na primeira resposta 404/405: o servidor não aceita devolução de numerações
+    private volatile boolean devolucaoDisponivel = true;
+    
     public EspecialidadeService(ApiClient apiClient) {
+        this(apiClient, null);
+    }
+    
+    public EspecialidadeService(ApiClient apiClient, AsyncApiClient asyncClient) {
         this.apiClient = apiClient;
+        this.asyncClient = asyncClient;
+    }
+    
+    // Cliente assíncrono criado só no primeiro uso quando não foi injetado
+    private synchronized AsyncApiClient async() {
+        if (asyncClient == null) {
+            asyncClient = new AsyncApiClient(apiClient);
+        }
+        return asyncClient;
     }
     
     /**
@@ -218,6 +248,104 @@ public class EspecialidadeService {
         }
     }
     
+    /**
+     * Reserva um atendimento em cada especialidade numa única requisição
+     * O servidor verifica, numera e decrementa cada contador de forma atômica, então duas
+     * estações não recebem o mesmo número. Servidor sem o endpoint cai para as três chamadas
+     * por especialidade (tem-atendimentos, proximo-numero, reduzir-atendimento)
+     * @return numeração por ID, com valor null para especialidade sem atendimentos restantes;
+     *         null se a reserva falhar
+     */
+    public Map<Integer, String> reservarAtendimentos(Collection<Integer> especialidadeIds) {
+        Map<Integer, String> numeracoes = new LinkedHashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(especialidadeIds));
+        ids.removeIf(id -> id == null || id <= 0);
+        if (ids.isEmpty()) {
+            return numeracoes;
+        }
+        
+        if (reservaEmLoteDisponivel) {
+            try {
+                String endpoint = ESPECIALIDADE_ENDPOINT + "/reservar-atendimentos";
+                List<ReservaAtendimentoDTO> reservas = apiClient.postList(endpoint, ids, 
+                                                                          new TypeReference<List<ReservaAtendimentoDTO>>(){});
+                
+                for (Integer id : ids) {
+                    numeracoes.put(id, null);
+                }
+                for (ReservaAtendimentoDTO reserva : reservas) {
+                    if (reserva != null && Boolean.TRUE.equals(reserva.getReservado()) && numeracoes.containsKey(reserva.getEspecialidadeId())) {
+                        numeracoes.put(reserva.getEspecialidadeId(), reserva.getNumeracao());
+                    }
+                }
+                
+                LOGGER.info("Atendimentos reservados em lote: " + numeracoes);
+                return numeracoes;
+                
+            } catch (ApiException e) {
+                if (e.getStatusCode() != 404 && e.getStatusCode() != 405) {
+                    // A reserva pode ter sido feita no servidor; repetir por especialidade arriscaria numerar duas vezes
+                    LOGGER.log(Level.SEVERE, "Erro ao reservar atendimentos: " + ids, e);
+                    return null;
+                }
+                reservaEmLoteDisponivel = false;
+                LOGGER.warning("Servidor sem reserva em lote - usando chamadas por especialidade");
+            }
+        }
+        
+        for (Integer id : ids) {
+            String numeracao = null;
+            if (temAtendimentosDisponiveis(id)) {
+                numeracao = obterNumeracaoProximoAtendimento(id);
+                if (numeracao != null) {
+                    reduzirAtendimentoRestante(id);
+                }
+            }
+            numeracoes.put(id, numeracao);
+        }
+        return numeracoes;
+    }
+    
+    /**
+     * Devolve numerações reservadas que não chegaram a ser impressas (ficha cancelada ou falha
+     * na impressão), para o servidor reaproveitá-las em vez de deixar buracos na sequência do dia
+     * @return true se o servidor aceitou a devolução
+     */
+    public boolean devolverAtendimentos(Map<Integer, String> numeracoes) {
+        List<ReservaAtendimentoDTO> devolucoes = new ArrayList<>();
+        numeracoes.forEach((id, numeracao) -> {
+            if (id != null && numeracao != null) {
+                ReservaAtendimentoDTO devolucao = new ReservaAtendimentoDTO();
+                devolucao.setEspecialidadeId(id);
+                devolucao.setNumeracao(numeracao);
+                devolucoes.add(devolucao);
+            }
+        });
+        if (devolucoes.isEmpty()) {
+            return true;
+        }
+        if (!devolucaoDisponivel) {
+            LOGGER.warning("Numerações não devolvidas (servidor sem devolução): " + numeracoes);
+            return false;
+        }
+        
+        try {
+            String endpoint = ESPECIALIDADE_ENDPOINT + "/devolver-atendimentos";
+            apiClient.postList(endpoint, devolucoes, new TypeReference<List<ReservaAtendimentoDTO>>(){});
+            LOGGER.info("Numerações devolvidas: " + numeracoes);
+            return true;
+            
+        } catch (ApiException e) {
+            if (e.getStatusCode() == 404 || e.getStatusCode() == 405) {
+                devolucaoDisponivel = false;
+                LOGGER.warning("Servidor sem devolução de numerações - não devolvidas: " + numeracoes);
+            } else {
+                LOGGER.log(Level.SEVERE, "Erro ao devolver numerações: " + numeracoes, e);
+            }
+            return false;
+        }
+    }
+    
     /**
      * Deleta uma especialidade pelo ID
      */
@@ -287,6 +415,29 @@ public class EspecialidadeService {
         }
     }
     
+    /**
+     * IDs das especialidades que ainda têm atendimentos hoje, sem reservar nenhum
+     * @return null se a consulta falhar
+     */
+    public Set<Integer> idsComAtendimentosDisponiveis() {
+        try {
+            String endpoint = ESPECIALIDADE_ENDPOINT + "/com-atendimentos";
+            List<EspecialidadeDTO> especialidadeDtos = apiClient.getList(endpoint, 
+                                                                         new TypeReference<List<EspecialidadeDTO>>(){});
+            Set<Integer> ids = new HashSet<>();
+            for (EspecialidadeDTO dto : especialidadeDtos) {
+                if (dto != null && dto.getId() != null) {
+                    ids.add(dto.getId());
+                }
+            }
+            return ids;
+            
+        } catch (ApiException e) {
+            LOGGER.log(Level.WARNING, "Erro ao consultar especialidades com atendimentos", e);
+            return null;
+        }
+    }
+    
     /**
      * Reinicia os contadores diários de uma especialidade
      */
@@ -312,9 +463,41 @@ public class EspecialidadeService {
     }
     
     /**
-     * Verifica se o serviço de API está disponível
+     * Verifica se o serviço de API está disponível (última sondagem, sem requisição)
      */
     public boolean isServicoDisponivel() {
-        return apiClient.isApiAvailable();
+        return apiClient.isUltimaSondagemOk();
+    }
+    
+    // ===== VARIANTES ASSÍNCRONAS =====
+    // Não bloqueiam a thread chamadora; erros viram o mesmo valor padrão das versões síncronas
+    
+    /**
+     * Lista todas as especialidades cadastradas
+     */
+    public CompletableFuture<List<Especialidade>> listarTodasAsync() {
+        return async().getListAsync(ESPECIALIDADE_ENDPOINT, new TypeReference<List<EspecialidadeDTO>>(){})
+                .thenApply(DtoMapper::toEspecialidadeModelList)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao listar especialidades", AsyncApiClient.causaDe(e));
+                    return List.of();
+                });
+    }
+    
+    /**
+     * Busca uma especialidade pelo ID (null se não encontrada ou em caso de erro)
+     */
+    public CompletableFuture<Especialidade> buscarPorIdAsync(int id) {
+        if (id <= 0) {
+            LOGGER.warning("ID inválido para busca: " + id);
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return async().getAsync(ESPECIALIDADE_ENDPOINT + "/" + id, EspecialidadeDTO.class)
+                .thenApply(dto -> dto != null ? DtoMapper.toModel(dto) : null)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao buscar especialidade por ID: " + id, AsyncApiClient.causaDe(e));
+                    return null;
+                });
     }
 }
\ No newline at end of file
@@ -2,12 +2,14 @@ package com.mycompany.service;
 
 import com.mycompany.client.ApiClient;
 import com.mycompany.client.ApiException;
+import com.mycompany.client.AsyncApiClient;
 import com.mycompany.client.dto.PacienteEspecialidadeDTO;
 import com.mycompany.client.mapper.DtoMapper;
 import com.mycompany.model.bean.PacienteEspecialidade;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.swing.JOptionPane;
@@ -17,10 +19,24 @@ public class PacienteEspecialidadeService {
     
     private static final Logger LOGGER = Logger.getLogger(PacienteEspecialidadeService.class.getName());
     private final ApiClient apiClient;
+    private AsyncApiClient asyncClient;
     private final String PACIENTE_ESPECIALIDADE_ENDPOINT = "/paciente_has_especialidade";
     
     public PacienteEspecialidadeService(ApiClient apiClient) {
+        this(apiClient, null);
+    }
+    
+    public PacienteEspecialidadeService(ApiClient apiClient, AsyncApiClient asyncClient) {
         this.apiClient = apiClient;
+        this.asyncClient = asyncClient;
+    }
+    
+    // Cliente assíncrono criado só no primeiro uso quando não foi injetado
+    private synchronized AsyncApiClient async() {
+        if (asyncClient == null) {
+            asyncClient = new AsyncApiClient(apiClient);
+        }
+        return asyncClient;
     }
     
     // Insere uma nova associação pacienteEspecialidade
@@ -222,4 +238,62 @@ public class PacienteEspecialidadeService {
             return 0;
         }
     }
+    
+    // ===== VARIANTES ASSÍNCRONAS =====
+    // Não bloqueiam a thread chamadora; erros viram o mesmo valor padrão das versões síncronas
+    
+    //Insere uma lista de associações PacienteEspecialidade
+    public CompletableFuture<Boolean> inserirListaAsync(List<PacienteEspecialidade> listaPacienteEspecialidade) {
+        if (listaPacienteEspecialidade == null || listaPacienteEspecialidade.isEmpty()) {
+            LOGGER.info("Lista vazia ou nula. Nenhuma associação para inserir.");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        String endpoint = PACIENTE_ESPECIALIDADE_ENDPOINT + "/batch";
+        List<PacienteEspecialidadeDTO> dtoList = DtoMapper.toPacienteEspecialidadeDtoList(listaPacienteEspecialidade);
+        
+        return async().postListAsync(endpoint, dtoList, new TypeReference<List<PacienteEspecialidadeDTO>>(){})
+                .thenApply(resultadoDtos -> {
+                    if (resultadoDtos != null && !resultadoDtos.isEmpty()) {
+                        LOGGER.info("Lista de associações inserida com sucesso: " + resultadoDtos.size() + " itens");
+                        return true;
+                    }
+                    LOGGER.info("Nenhuma nova associação foi inserida.");
+                    return false;
+                })
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao inserir lista de associações", AsyncApiClient.causaDe(e));
+                    return false;
+                });
+    }
+    
+    //Busca todas as especialidades de um paciente
+    public CompletableFuture<List<PacienteEspecialidade>> buscarPorPacienteIdAsync(int pacienteId) {
+        if (pacienteId <= 0) {
+            LOGGER.warning("ID de paciente inválido: " + pacienteId);
+            return CompletableFuture.completedFuture(new java.util.ArrayList<>());
+        }
+        
+        String endpoint = PACIENTE_ESPECIALIDADE_ENDPOINT + "/paciente/" + pacienteId;
+        return async().getListAsync(endpoint, new TypeReference<List<PacienteEspecialidadeDTO>>(){})
+                .thenApply(DtoMapper::toPacienteEspecialidadeModelList)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao buscar associações por paciente ID: " + pacienteId, AsyncApiClient.causaDe(e));
+                    return new java.util.ArrayList<>();
+                });
+    }
+    
+    // Remove todas as associações de um paciente
+    public CompletableFuture<Boolean> deletarPorPacienteIdAsync(int pacienteId) {
+        if (pacienteId <= 0) {
+            LOGGER.warning("ID inválido para exclusão: " + pacienteId);
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return async().deleteAsync(PACIENTE_ESPECIALIDADE_ENDPOINT + "/paciente/" + pacienteId)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao deletar associações do paciente: ID " + pacienteId, AsyncApiClient.causaDe(e));
+                    return false;
+                });
+    }
 }
\ No newline at end of file
@@ -6,8 +6,13 @@ import com.mycompany.client.mapper.DtoMapper;
 import com.mycompany.model.bean.Paciente;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.mycompany.client.ApiClient;
+import com.mycompany.client.AsyncApiClient;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.swing.JOptionPane;
@@ -20,10 +25,57 @@ public class PacienteService {
     
     private static final Logger LOGGER = Logger.getLogger(PacienteService.class.getName());
     private final ApiClient apiClient;
+    private AsyncApiClient asyncClient;
     private final String PACIENTE_ENDPOINT = "/pacientes";
     
+    // Tamanho de página usado quando config.properties não define api.pacientes.page.size
+    public static final int TAMANHO_PAGINA_PADRAO = 200;
+    private final int tamanhoPagina;
+    
+    // Prazo de cada página quando config.properties não define api.pacientes.page.timeout.ms
+    public static final long TEMPO_LIMITE_PAGINA_PADRAO_MS = 15000;
+    private final long tempoLimitePaginaMs;
+    
+    // O servidor descarta afterId (vale para toda a vida do service): pagina por número
+    private volatile boolean afterIdIgnorado = false;
+    
+    /**
+     * Resultado da carga paginada
+     * @param total pacientes entregues ao consumidor
+     * @param completa todas as páginas chegaram; false se uma página falhou ou a carga foi
+     *                 cancelada, e a lista entregue não pode ser tratada como o conjunto completo
+     */
+    public record CargaPaginada(int total, boolean completa) {}
+    
     public PacienteService(ApiClient apiClient) {
+        this(apiClient, TAMANHO_PAGINA_PADRAO);
+    }
+    
+    public PacienteService(ApiClient apiClient, int tamanhoPagina) {
+        this(apiClient, null, tamanhoPagina);
+    }
+    
+    public PacienteService(ApiClient apiClient, AsyncApiClient asyncClient, int tamanhoPagina) {
+        this(apiClient, asyncClient, tamanhoPagina, TEMPO_LIMITE_PAGINA_PADRAO_MS);
+    }
+    
+    public PacienteService(ApiClient apiClient, AsyncApiClient asyncClient, int tamanhoPagina, long tempoLimitePaginaMs) {
         this.apiClient = apiClient;
+        this.asyncClient = asyncClient;
+        this.tamanhoPagina = tamanhoPagina > 0 ? tamanhoPagina : TAMANHO_PAGINA_PADRAO;
+        this.tempoLimitePaginaMs = tempoLimitePaginaMs > 0 ? tempoLimitePaginaMs : TEMPO_LIMITE_PAGINA_PADRAO_MS;
+    }
+    
+    // Cliente assíncrono criado só no primeiro uso quando não foi injetado
+    private synchronized AsyncApiClient async() {
+        if (asyncClient == null) {
+            asyncClient = new AsyncApiClient(apiClient);
+        }
+        return asyncClient;
+    }
+    
+    public int getTamanhoPagina() {
+        return tamanhoPagina;
     }
     
     /**
@@ -63,13 +115,7 @@ public class PacienteService {
      */
     public List<Paciente> listarTodos() {
         try {
-            String endpoint = PACIENTE_ENDPOINT + "/todos";
-            
-            // Recebe DTOs da API
-            List<PacienteDTO> pacienteDtos = apiClient.getList(endpoint, new TypeReference<List<PacienteDTO>>(){});
-            
-            // Converte DTOs para modelos de domínio
-            List<Paciente> pacientes = DtoMapper.toModelList(pacienteDtos);
+            List<Paciente> pacientes = buscarTodos();
             
             LOGGER.info("Listados " + pacientes.size() + " pacientes");
             return pacientes;
@@ -81,6 +127,169 @@ public class PacienteService {
         }
     }
     
+    private List<Paciente> buscarTodos() throws ApiException {
+        String endpoint = PACIENTE_ENDPOINT + "/todos";
+        
+        // Recebe DTOs da API e converte para modelos de domínio
+        List<PacienteDTO> pacienteDtos = apiClient.getList(endpoint, new TypeReference<List<PacienteDTO>>(){});
+        return DtoMapper.toModelList(pacienteDtos);
+    }
+    
+    /**
+     * Busca a página de pacientes seguinte a um ID, ordenada por ID (paginação por chave)
+     * Ao contrário do deslocamento (page=N), pacientes removidos durante a carga não
+     * fazem as páginas seguintes pularem registros
+     * @param ultimoId maior ID da página anterior, ou null para a primeira página
+     */
+    public List<Paciente> listarPaginaApos(Integer ultimoId) throws ApiException {
+        return buscarPagina(PACIENTE_ENDPOINT + "?size=" + tamanhoPagina + "&sort=id,asc" +
+                (ultimoId != null ? "&afterId=" + ultimoId : ""));
+    }
+    
+    /**
+     * Busca uma página de pacientes pelo número (Pageable do Spring, a partir de 0), ordenada por ID
+     */
+    public List<Paciente> listarPagina(int numeroPagina) throws ApiException {
+        return buscarPagina(PACIENTE_ENDPOINT + "?page=" + numeroPagina + "&size=" + tamanhoPagina + "&sort=id,asc");
+    }
+    
+    // Cada página tem o próprio prazo: uma resposta travada é abortada sem segurar a carga inteira
+    private List<Paciente> buscarPagina(String endpoint) throws ApiException {
+        List<PacienteDTO> pacienteDtos = apiClient.getList(endpoint, new TypeReference<List<PacienteDTO>>(){}, tempoLimitePaginaMs);
+        return DtoMapper.toModelList(pacienteDtos);
+    }
+    
+    /**
+     * Lista todos os pacientes página a página, entregando cada página ao consumidor
+     * assim que ela chega, para que a interface possa exibir as primeiras linhas
+     * antes do fim do download
+     */
+    public CargaPaginada listarTodosPaginado(Consumer<List<Paciente>> consumidorPagina) {
+        return listarTodosPaginado(consumidorPagina, () -> false);
+    }
+    
+    /**
+     * Variante que permite interromper o carregamento entre páginas
+     * Uma página que falha encerra a carga como incompleta: o que já foi entregue fica,
+     * mas quem chamou não deve tratar a lista como o conjunto completo
+     *
+     * Pagina por chave (afterId). O Pageable do Spring descarta parâmetros que não conhece;
+     * se o servidor devolver a primeira página de novo, a carga segue por número (page=N)
+     * e as próximas cargas já começam assim, sem sondar o afterId outra vez
+     */
+    public CargaPaginada listarTodosPaginado(Consumer<List<Paciente>> consumidorPagina, BooleanSupplier cancelado) {
+        int total = 0;
+        int numeroPagina = 0;
+        Integer ultimoId = null;
+        
+        while (true) {
+            if (cancelado.getAsBoolean()) {
+                LOGGER.info("Carga paginada de pacientes cancelada após " + total);
+                return new CargaPaginada(total, false);
+            }
+            
+            boolean porNumero = afterIdIgnorado;
+            List<Paciente> recebidos;
+            try {
+                recebidos = porNumero ? listarPagina(numeroPagina) : listarPaginaApos(ultimoId);
+            } catch (ApiException e) {
+                if (ultimoId == null) {
+                    // Servidor sem suporte a paginação - volta para o endpoint completo
+                    LOGGER.log(Level.WARNING, "Paginação indisponível, usando " + PACIENTE_ENDPOINT + "/todos", e);
+                    return completarComTodos(null, consumidorPagina, 0);
+                }
+                LOGGER.log(Level.SEVERE, "Erro ao carregar pacientes após o ID " + ultimoId + " - carga incompleta", e);
+                return new CargaPaginada(total, false);
+            }
+            
+            if (recebidos.isEmpty()) {
+                break;
+            }
+            
+            List<Paciente> pacientesPagina = recebidos;
+            if (ultimoId != null && !porNumero && !isTodosApos(recebidos, ultimoId)) {
+                // afterId ignorado: a mesma página volta a ser pedida pelo número
+                LOGGER.info("Servidor ignora afterId - paginando por número (page=N)");
+                afterIdIgnorado = true;
+                continue;
+            }
+            if (ultimoId != null && porNumero) {
+                // Inserções com ID menor durante a carga empurram registros já entregues para esta página
+                pacientesPagina = apos(recebidos, ultimoId);
+                if (pacientesPagina.isEmpty()) {
+                    LOGGER.warning("Servidor ignorou page - completando a carga com " + PACIENTE_ENDPOINT + "/todos");
+                    return completarComTodos(ultimoId, consumidorPagina, total);
+                }
+            }
+            
+            consumidorPagina.accept(pacientesPagina);
+            total += pacientesPagina.size();
+            LOGGER.fine("Página " + numeroPagina + " de pacientes carregada: " + pacientesPagina.size());
+            
+            // Página incompleta é a última; página maior que o pedido indica que o servidor devolveu tudo
+            if (recebidos.size() != tamanhoPagina) {
+                break;
+            }
+            numeroPagina++;
+            ultimoId = maiorId(pacientesPagina);
+        }
+        
+        LOGGER.info("Listados " + total + " pacientes (paginado)");
+        return new CargaPaginada(total, true);
+    }
+    
+    private static List<Paciente> apos(List<Paciente> pacientes, int ultimoId) {
+        List<Paciente> novos = new ArrayList<>(pacientes.size());
+        for (Paciente paciente : pacientes) {
+            if (paciente.getId() != null && paciente.getId() > ultimoId) {
+                novos.add(paciente);
+            }
+        }
+        return novos;
+    }
+    
+    private static Integer maiorId(List<Paciente> pacientes) {
+        Integer maior = null;
+        for (Paciente paciente : pacientes) {
+            if (paciente.getId() != null && (maior == null || paciente.getId() > maior)) {
+                maior = paciente.getId();
+            }
+        }
+        return maior;
+    }
+    
+    private static boolean isTodosApos(List<Paciente> pacientes, int ultimoId) {
+        for (Paciente paciente : pacientes) {
+            if (paciente.getId() == null || paciente.getId() <= ultimoId) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Entrega, do endpoint completo, os pacientes ainda não entregues (ID maior que ultimoId)
+     */
+    private CargaPaginada completarComTodos(Integer ultimoId, Consumer<List<Paciente>> consumidorPagina, int total) {
+        try {
+            List<Paciente> restantes = new ArrayList<>();
+            for (Paciente paciente : buscarTodos()) {
+                if (ultimoId == null || (paciente.getId() != null && paciente.getId() > ultimoId)) {
+                    restantes.add(paciente);
+                }
+            }
+            if (!restantes.isEmpty()) {
+                consumidorPagina.accept(restantes);
+            }
+            LOGGER.info("Listados " + (total + restantes.size()) + " pacientes");
+            return new CargaPaginada(total + restantes.size(), true);
+            
+        } catch (ApiException e) {
+            LOGGER.log(Level.SEVERE, "Erro ao carregar pacientes - carga incompleta", e);
+            return new CargaPaginada(total, false);
+        }
+    }
+    
     /**
      * Busca um paciente pelo ID
      */
@@ -288,9 +497,129 @@ public class PacienteService {
     }
     
     /**
-     * Verifica se o serviço de API está disponível
+     * Verifica se o serviço de API está disponível (última sondagem, sem requisição)
      */
     public boolean isServicoDisponivel() {
-        return apiClient.isApiAvailable();
+        return apiClient.isUltimaSondagemOk();
+    }
+    
+    // ===== VARIANTES ASSÍNCRONAS =====
+    // Não bloqueiam a thread chamadora (pode ser a EDT) e não exibem diálogos:
+    // o resultado chega no future e a interface decide o que mostrar.
+    // Erros da API são registrados e viram o mesmo valor padrão das versões síncronas
+    
+    /**
+     * Insere um novo paciente; o ID gerado é copiado para o objeto informado
+     */
+    public CompletableFuture<Boolean> inserirAsync(Paciente paciente) {
+        if (paciente == null || paciente.getNome() == null || paciente.getNome().trim().isEmpty()) {
+            LOGGER.warning("Tentativa de inserir paciente inválido");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return async().postAsync(PACIENTE_ENDPOINT, DtoMapper.toDto(paciente), PacienteDTO.class)
+                .thenApply(dto -> {
+                    if (dto != null && dto.getId() != null) {
+                        paciente.setId(dto.getId());
+                        LOGGER.info("Paciente inserido com sucesso: " + paciente.getNome());
+                        return true;
+                    }
+                    return false;
+                })
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao inserir paciente: " + paciente.getNome(), AsyncApiClient.causaDe(e));
+                    return false;
+                });
+    }
+    
+    /**
+     * Lista todos os pacientes
+     */
+    public CompletableFuture<List<Paciente>> listarTodosAsync() {
+        return async().getListAsync(PACIENTE_ENDPOINT + "/todos", new TypeReference<List<PacienteDTO>>(){})
+                .thenApply(dtos -> {
+                    List<Paciente> pacientes = DtoMapper.toModelList(dtos);
+                    LOGGER.info("Listados " + pacientes.size() + " pacientes");
+                    return pacientes;
+                })
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao listar pacientes", AsyncApiClient.causaDe(e));
+                    return List.of();
+                });
+    }
+    
+    /**
+     * Busca um paciente pelo ID (null se não encontrado ou em caso de erro)
+     */
+    public CompletableFuture<Paciente> buscarPorIdAsync(int id) {
+        if (id <= 0) {
+            LOGGER.warning("ID inválido para busca: " + id);
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return async().getAsync(PACIENTE_ENDPOINT + "/" + id, PacienteDTO.class)
+                .thenApply(dto -> dto != null ? DtoMapper.toModel(dto) : null)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao buscar paciente por ID: " + id, AsyncApiClient.causaDe(e));
+                    return null;
+                });
+    }
+    
+    /**
+     * Atualiza um paciente existente; os dados devolvidos pela API são copiados para o objeto
+     */
+    public CompletableFuture<Boolean> atualizarAsync(Paciente paciente) {
+        if (paciente == null || paciente.getId() == null || paciente.getId() <= 0 || 
+            paciente.getNome() == null || paciente.getNome().trim().isEmpty()) {
+            LOGGER.warning("Dados inválidos para atualização de paciente");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        String endpoint = PACIENTE_ENDPOINT + "/" + paciente.getId();
+        return async().putAsync(endpoint, DtoMapper.toDto(paciente), PacienteDTO.class)
+                .thenApply(dto -> {
+                    if (dto == null) {
+                        LOGGER.warning("Nenhum paciente encontrado para atualizar: ID " + paciente.getId());
+                        return false;
+                    }
+                    LOGGER.info("Paciente atualizado: ID " + paciente.getId());
+                    Paciente pacienteAtualizado = DtoMapper.toModel(dto);
+                    if (pacienteAtualizado != null) {
+                        copiarDados(pacienteAtualizado, paciente);
+                    }
+                    return true;
+                })
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao atualizar paciente: ID " + paciente.getId(), AsyncApiClient.causaDe(e));
+                    return false;
+                });
+    }
+    
+    /**
+     * Deleta um paciente pelo ID
+     */
+    public CompletableFuture<Boolean> deletarAsync(int id) {
+        if (id <= 0) {
+            LOGGER.warning("ID inválido para exclusão: " + id);
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return async().deleteAsync(PACIENTE_ENDPOINT + "/" + id)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao deletar paciente: ID " + id, AsyncApiClient.causaDe(e));
+                    return false;
+                });
+    }
+    
+    /**
+     * Conta o total de pacientes cadastrados
+     */
+    public CompletableFuture<Integer> contarTotalAsync() {
+        return async().getAsync(PACIENTE_ENDPOINT + "/count", Integer.class)
+                .thenApply(total -> total != null ? total : 0)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Erro ao contar pacientes", AsyncApiClient.causaDe(e));
+                    return 0;
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.mycompany.service;
+
+import com.mycompany.client.ApiClient;
+import com.mycompany.client.ApiException;
+import com.mycompany.client.dto.PacienteDTO;
+import com.mycompany.client.mapper.DtoMapper;
+import com.mycompany.model.bean.Paciente;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sincronização incremental de pacientes
+ *
+ * Guarda uma marca d'água (epoch ms) do último estado conhecido e pede à API só os
+ * registros alterados desde então (GET /pacientes/sync?since=). A marca avança com
+ * o maior lastSyncTimestamp / updatedAt recebido e fica só em memória: a lista de
+ * pacientes também não sobrevive a reinícios, então cada execução começa pela carga completa.
+ *
+ * A marca só é gravada depois que o chamador aplica o delta (confirmar), então uma
+ * falha no meio do caminho apenas repete a busca. Registros com syncStatus DELETED
+ * chegam como remoções. Se o servidor não tiver o endpoint, buscarAlteracoes
+ * devolve null e o chamador volta à carga completa
+ */
+public class PacienteSyncService {
+
+    private static final Logger LOGGER = Logger.getLogger(PacienteSyncService.class.getName());
+    private final ApiClient apiClient;
+    private final String SYNC_ENDPOINT = "/pacientes/sync";
+
+    public static final String STATUS_REMOVIDO = "DELETED";
+
+    // Recuo aplicado às marcas tiradas do relógio local, para cobrir diferença de relógio com o servidor
+    private static final long MARGEM_RELOGIO_MS = 5 * 60 * 1000L;
+
+    private static final long SEM_MARCA = -1L;
+
+    private final boolean habilitado;
+
+    private volatile long marca = SEM_MARCA;
+
+    // Desligado na primeira resposta 404: o servidor não oferece sincronização incremental
+    private volatile boolean endpointDisponivel = true;
+
+    /**
+     * Alterações desde a marca anterior
+     * @param alterados pacientes criados ou atualizados
+     * @param removidos IDs removidos no servidor
+     * @param marcaAnterior marca usada na consulta
+     * @param novaMarca marca a gravar depois que o delta for aplicado
+     */
+    public record Delta(List<Paciente> alterados, List<Integer> removidos, long marcaAnterior, long novaMarca) {
+
+        public boolean isVazio() {
+            return alterados.isEmpty() && removidos.isEmpty();
+        }
+    }
+
+    public PacienteSyncService(ApiClient apiClient, boolean habilitado) {
+        this.apiClient = apiClient;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Se vale tentar uma sincronização incremental agora
+     */
+    public boolean isDisponivel() {
+        return habilitado && endpointDisponivel && getMarca() != SEM_MARCA;
+    }
+
+    public long getMarca() {
+        return marca;
+    }
+
+    /**
+     * Marca a usar para uma carga completa que começa agora
+     * Deve ser obtida antes da carga e gravada com registrarCargaCompleta ao final
+     */
+    public long marcaParaCargaCompleta() {
+        return System.currentTimeMillis() - MARGEM_RELOGIO_MS;
+    }
+
+    /**
+     * Registra que uma carga completa iniciada em marca terminou
+     */
+    public void registrarCargaCompleta(long marca) {
+        if (habilitado) {
+            this.marca = marca;
+            LOGGER.info("Marca de sincronização após carga completa: " + Instant.ofEpochMilli(marca));
+        }
+    }
+
+    /**
+     * Busca os pacientes alterados desde a marca atual
+     * @return o delta, ou null se não houver marca ou a busca falhar (o chamador faz a carga completa)
+     */
+    public Delta buscarAlteracoes() {
+        if (!isDisponivel()) {
+            return null;
+        }
+
+        long marca = getMarca();
+        long inicio = System.currentTimeMillis();
+        try {
+            String endpoint = SYNC_ENDPOINT + "?since=" + marca;
+            // Cada since= é uma URL nova: guardá-la no cache condicional só acumularia entradas
+            List<PacienteDTO> dtos = apiClient.getListSemCache(endpoint, new TypeReference<List<PacienteDTO>>(){});
+
+            List<Paciente> alterados = new ArrayList<>();
+            List<Integer> removidos = new ArrayList<>();
+            long maiorMarca = marca;
+            boolean itemSemMarca = false;
+
+            for (PacienteDTO dto : dtos) {
+                if (dto == null || dto.getId() == null) {
+                    continue;
+                }
+                if (STATUS_REMOVIDO.equalsIgnoreCase(dto.getSyncStatus())) {
+                    removidos.add(dto.getId());
+                } else {
+                    Paciente paciente = DtoMapper.toModel(dto);
+                    if (paciente != null) {
+                        alterados.add(paciente);
+                    }
+                }
+
+                long marcaItem = marcaDe(dto);
+                if (marcaItem > 0) {
+                    maiorMarca = Math.max(maiorMarca, marcaItem);
+                } else {
+                    itemSemMarca = true;
+                }
+            }
+
+            // Sem carimbo do servidor nos itens, a marca segue o relógio local (com margem)
+            if (itemSemMarca) {
+                maiorMarca = Math.max(maiorMarca, inicio - MARGEM_RELOGIO_MS);
+            }
+
+            LOGGER.info("Sincronização incremental desde " + Instant.ofEpochMilli(marca) + ": " +
+                       alterados.size() + " alterados, " + removidos.size() + " removidos");
+            return new Delta(alterados, removidos, marca, maiorMarca);
+
+        } catch (ApiException e) {
+            if (e.getStatusCode() == 404) {
+                endpointDisponivel = false;
+                LOGGER.warning("Servidor sem " + SYNC_ENDPOINT + " - sincronização incremental desativada");
+            } else {
+                LOGGER.log(Level.WARNING, "Erro na sincronização incremental de pacientes", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Grava a nova marca depois que o delta foi aplicado ao cache local
+     */
+    public void confirmar(Delta delta) {
+        if (delta != null && delta.novaMarca() > delta.marcaAnterior()) {
+            marca = delta.novaMarca();
+        }
+    }
+
+    /**
+     * Esquece a marca; a próxima carga será completa
+     */
+    public void descartarMarca() {
+        marca = SEM_MARCA;
+    }
+
+    // lastSyncTimestamp tem prioridade; updatedAt (ISO) é o plano B
+    private static long marcaDe(PacienteDTO dto) {
+        if (dto.getLastSyncTimestamp() != null && dto.getLastSyncTimestamp() > 0) {
+            return dto.getLastSyncTimestamp();
+        }
+        String updatedAt = dto.getUpdatedAt();
+        if (updatedAt == null || updatedAt.isBlank()) {
+            return 0;
+        }
+        try {
+            return OffsetDateTime.parse(updatedAt).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(updatedAt).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e2) {
+                return 0;
+            }
+        }
+    }
+}
@@ -54,6 +54,9 @@ public class FormularioDados2P extends javax.swing.JPanel implements PatientSele
     // Controla se está em modo de edição
     private boolean modoEdicao = false;
     private volatile boolean recarregandoDados = false;
+    
+    // Salvamento em segundo plano (btnSalvar desabilitado): o formulário não troca de paciente
+    private boolean salvando = false;
     private Printer printer;
     private PatientUpdateListener patientUpdateListener;
     
@@ -851,113 +854,144 @@ public class FormularioDados2P extends javax.swing.JPanel implements PatientSele
             }
 
             LOGGER.info("Salvando paciente via API: " + paciente.toString());
-            boolean sucessoSalvamento = pacienteService.atualizar(paciente);
-
-            if (!sucessoSalvamento) {
-                JOptionPane.showMessageDialog(this, "Erro ao salvar dados do paciente!",
-                        "Erro", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
 
-            // Salva as especialidades selecionadas via API
+            // Lidas aqui, na EDT, antes de sair para a rede
+            Paciente pacienteSalvo = paciente;
+            int pacienteId = paciente.getId();
             List<Especialidade> especialidadesSelecionadas = getEspecialidadesSelecionadas();
-            List<PacienteEspecialidade> listaPacienteEspecialidade = null;
+            List<PacienteEspecialidade> listaPacienteEspecialidade = especialidadesSelecionadas.isEmpty()
+                    ? new ArrayList<>()
+                    : listaPacienteEspecialidade(pacienteId, especialidadesSelecionadas, null);
+
+            // As chamadas à API seguem em segundo plano; a tela continua respondendo
+            salvando = true;
+            btnSalvar.setEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+            pacienteService.atualizarAsync(pacienteSalvo)
+                    .thenCompose(sucesso -> {
+                        if (!sucesso) {
+                            return CompletableFuture.completedFuture(ResultadoSalvamento.FALHA);
+                        }
+                        return salvarEspecialidadesAsync(pacienteId, listaPacienteEspecialidade)
+                                .thenCompose(especialidadesOk -> recarregarAposSalvarAsync(pacienteId, especialidadesOk));
+                    })
+                    .exceptionally(e -> {
+                        LOGGER.log(Level.SEVERE, "Erro inesperado ao salvar", e);
+                        return ResultadoSalvamento.FALHA;
+                    })
+                    .thenAccept(resultado -> SwingUtilities.invokeLater(() -> concluirSalvamento(pacienteId, resultado)));
 
-            if (!especialidadesSelecionadas.isEmpty()) {
-                // Cria a lista de PacienteEspecialidade - CORRIGIDO: usar paciente.getId()
-                listaPacienteEspecialidade = listaPacienteEspecialidade(paciente.getId(), especialidadesSelecionadas, null);
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, "Erro inesperado ao salvar", ex);
+            salvando = false;
+            btnSalvar.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+            JOptionPane.showMessageDialog(this, "Erro inesperado ao salvar: " + ex.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
 
-                // Remove associações antigas e insere as novas via API
-                if (!listaPacienteEspecialidade.isEmpty()) {
-                    try {
-                        // Primeiro, remove todas as associações existentes - CORRIGIDO: usar paciente.getId()
-                        boolean especialidadesDeletadas = pacienteEspecialidadeService.deletarPorPacienteId(paciente.getId());
+    /**
+     * Resultado do salvamento em segundo plano
+     * @param salvo se o paciente foi atualizado na API
+     * @param especialidadesOk se as especialidades foram gravadas sem problemas
+     * @param pacienteAtualizado dados recarregados da API (null se a busca falhou)
+     * @param especialidadesAtualizadas especialidades recarregadas da API
+     */
+    private record ResultadoSalvamento(boolean salvo, boolean especialidadesOk, Paciente pacienteAtualizado,
+                                       List<PacienteEspecialidade> especialidadesAtualizadas) {
+        static final ResultadoSalvamento FALHA = new ResultadoSalvamento(false, false, null, List.of());
+    }
 
-                        // Depois, insere as novas associações
-                        boolean especialidadesSalvas = pacienteEspecialidadeService.inserirLista(listaPacienteEspecialidade);
+    // Remove as associações antigas e insere as novas (ou só remove, se nenhuma foi selecionada)
+    private CompletableFuture<Boolean> salvarEspecialidadesAsync(int pacienteId, List<PacienteEspecialidade> novas) {
+        if (novas.isEmpty()) {
+            LOGGER.info("Nenhuma especialidade selecionada para o paciente.");
+            return pacienteEspecialidadeService.deletarPorPacienteIdAsync(pacienteId).thenApply(removidas -> true);
+        }
+        return pacienteEspecialidadeService.deletarPorPacienteIdAsync(pacienteId)
+                .thenCompose(especialidadesDeletadas -> {
+                    if (!especialidadesDeletadas) {
+                        LOGGER.warning("Paciente salvo, mas houve problemas ao deletar as especialidades antigas.");
+                    }
+                    return pacienteEspecialidadeService.inserirListaAsync(novas);
+                });
+    }
 
-                        if (!especialidadesSalvas) {
-                            JOptionPane.showMessageDialog(this, 
-                                "Paciente salvo, mas houve problemas ao salvar algumas especialidades.",
-                                "Aviso", JOptionPane.WARNING_MESSAGE);
-                        }
+    // Busca paciente e especialidades atualizados em paralelo para garantir consistência
+    private CompletableFuture<ResultadoSalvamento> recarregarAposSalvarAsync(int pacienteId, boolean especialidadesOk) {
+        CompletableFuture<Paciente> pacienteFuture = pacienteService.buscarPorIdAsync(pacienteId);
+        CompletableFuture<List<PacienteEspecialidade>> especialidadesFuture =
+                pacienteEspecialidadeService.buscarPorPacienteIdAsync(pacienteId);
+        return pacienteFuture.thenCombine(especialidadesFuture,
+                (pacienteAtualizado, especialidadesAtualizadas) -> new ResultadoSalvamento(
+                        true, especialidadesOk, pacienteAtualizado, especialidadesAtualizadas));
+    }
 
-                        if (!especialidadesDeletadas) {
-                            LOGGER.warning("Paciente salvo, mas houve problemas ao deletar as especialidades antigas.");
-                        }
+    // Aplica o resultado do salvamento na tela (EDT)
+    private void concluirSalvamento(int pacienteId, ResultadoSalvamento resultado) {
+        salvando = false;
+        btnSalvar.setEnabled(true);
+        setCursor(Cursor.getDefaultCursor());
 
-                    } catch (Exception e) {
-                        LOGGER.log(Level.WARNING, "Erro ao gerenciar especialidades", e);
-                        JOptionPane.showMessageDialog(this, 
-                            "Paciente salvo, mas houve problemas com as especialidades: " + e.getMessage(),
-                            "Aviso", JOptionPane.WARNING_MESSAGE);
-                    }
-                }
-            } else {
-                LOGGER.info("Nenhuma especialidade selecionada para o paciente.");
-                // Remove todas as associações se nenhuma especialidade foi selecionada - CORRIGIDO: usar paciente.getId()
-                try {
-                    pacienteEspecialidadeService.deletarPorPacienteId(paciente.getId());
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Erro ao remover especialidades", e);
-                }
-            }
+        if (!resultado.salvo()) {
+            JOptionPane.showMessageDialog(this, "Erro ao salvar dados do paciente!",
+                    "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
+        if (!resultado.especialidadesOk()) {
             JOptionPane.showMessageDialog(this,
-                    "Paciente atualizado com sucesso!",
-                    "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    "Paciente salvo, mas houve problemas ao salvar algumas especialidades.",
+                    "Aviso", JOptionPane.WARNING_MESSAGE);
+        }
+
+        JOptionPane.showMessageDialog(this,
+                "Paciente atualizado com sucesso!",
+                "Sucesso", JOptionPane.INFORMATION_MESSAGE);
 
-            // Buscar os dados atualizados da API para garantir consistência - CORRIGIDO: usar paciente.getId()
-            Paciente pacienteAtualizado = pacienteService.buscarPorId(paciente.getId());
-            if (pacienteAtualizado != null) {
+        // Se outro paciente foi selecionado durante o salvamento, não mexe no formulário dele
+        boolean mesmoPaciente = paciente != null && paciente.getId() != null && paciente.getId() == pacienteId;
+
+        Paciente pacienteAtualizado = resultado.pacienteAtualizado();
+        if (pacienteAtualizado != null) {
+            if (mesmoPaciente) {
                 // Atualiza a referência local
                 this.paciente = pacienteAtualizado;
+                this.pacienteEspecialidades = new ArrayList<>(resultado.especialidadesAtualizadas());
+                System.out.println("Especialidades recarregadas após salvamento: " + this.pacienteEspecialidades.size());
+
+                // Atualizar campos do formulário com dados atualizados
+                preencherCamposComDadosTabela(pacienteAtualizado);
+            }
+
+            System.out.println("=== NOTIFICANDO ATUALIZAÇÃO VIA FORMULÁRIO ===");
+            System.out.println("Paciente atualizado: " + pacienteAtualizado.getNome() + " (ID: " + pacienteAtualizado.getId() + ")");
 
+            // NOTIFICAR OS PAINÉIS DA ATUALIZAÇÃO (já estamos na EDT)
+            if (patientUpdateListener != null) {
                 try {
-                    List<PacienteEspecialidade> especialidadesAtualizadas = pacienteEspecialidadeService.buscarPorPacienteId(paciente.getId());
-                    this.pacienteEspecialidades = especialidadesAtualizadas != null ? especialidadesAtualizadas : new ArrayList<>();
-                    System.out.println("Especialidades recarregadas após salvamento: " + this.pacienteEspecialidades.size());
+                    patientUpdateListener.onPatientUpdated(pacienteAtualizado);
+                    System.out.println("✅ PatientUpdateListener notificado com sucesso");
                 } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Erro ao recarregar especialidades após salvamento", e);
-                    this.pacienteEspecialidades = new ArrayList<>();
+                    System.err.println("❌ Erro ao notificar PatientUpdateListener: " + e.getMessage());
+                    e.printStackTrace();
                 }
-                
-                System.out.println("=== NOTIFICANDO ATUALIZAÇÃO VIA FORMULÁRIO ===");
-                System.out.println("Paciente atualizado: " + pacienteAtualizado.getNome() + " (ID: " + pacienteAtualizado.getId() + ")");
-
-                // Atualizar campos do formulário com dados atualizados
-                preencherCamposComDadosTabela(pacienteAtualizado);
-                
-                // NOTIFICAR OS PAINÉIS DA ATUALIZAÇÃO
-                if (patientUpdateListener != null) {
-                    // Executar na EDT para garantir thread safety
-                    SwingUtilities.invokeLater(() -> {
-                        try {
-                            patientUpdateListener.onPatientUpdated(pacienteAtualizado);
-                            System.out.println("✅ PatientUpdateListener notificado com sucesso");
-                        } catch (Exception e) {
-                            System.err.println("❌ Erro ao notificar PatientUpdateListener: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    });
-                } else {
-                    System.err.println("⚠️ patientUpdateListener é NULL - não foi possível notificar atualização");
-                } 
-            }else {
-                System.err.println("❌ Erro: não foi possível buscar dados atualizados do paciente");
+            } else {
+                System.err.println("⚠️ patientUpdateListener é NULL - não foi possível notificar atualização");
             }
+        } else {
+            System.err.println("❌ Erro: não foi possível buscar dados atualizados do paciente");
+        }
 
-            // Cancelar edição - voltar ao estado original
+        // Cancelar edição - voltar ao estado original
+        if (mesmoPaciente) {
             modoEdicao = false;
             aplicarBloqueioCondicional();
             aplicarBloqueioCondicionalEspecialidades();
             btnEditar.setText("Editar");
             btnEditar.setBackground(new Color(255, 152, 0));
-
-        } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Erro inesperado ao salvar", ex);
-            JOptionPane.showMessageDialog(this, "Erro inesperado ao salvar: " + ex.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -1217,12 +1251,29 @@ public class FormularioDados2P extends javax.swing.JPanel implements PatientSele
         System.out.println("✅ Especialidades atualizadas mantendo seleções");
     }
 
+    // Seleção de outro paciente enquanto o salvamento não termina é ignorada
+    private boolean isTrocaDuranteSalvamento(Paciente patientData) {
+        if (!salvando) {
+            return false;
+        }
+        boolean mesmoPaciente = patientData != null && paciente != null && paciente.getId() != null
+                && paciente.getId().equals(patientData.getId());
+        if (!mesmoPaciente) {
+            LOGGER.info("Seleção ignorada: salvamento do paciente " + paciente.getId() + " em andamento");
+        }
+        return !mesmoPaciente;
+    }
+
     @Override
     public void onPatientSelected(Paciente patientData, List<PacienteEspecialidade> pacienteEspecialidadeData) {
         System.out.println("=== onPatientSelected FormularioDados2P ===");
         System.out.println("Paciente: " + (patientData != null ? patientData.getNome() + " (ID: " + patientData.getId() + ")" : "NULL"));
         System.out.println("Especialidades recebidas: " + (pacienteEspecialidadeData != null ? pacienteEspecialidadeData.size() : "0"));
 
+        if (isTrocaDuranteSalvamento(patientData)) {
+            return;
+        }
+
         if (patientData != null) {
             // Verificar se é um paciente diferente do atual
             boolean mesmoPaciente = (this.paciente != null && 
@@ -1258,6 +1309,10 @@ public class FormularioDados2P extends javax.swing.JPanel implements PatientSele
         System.out.println("=== onPatientSelected (sem especialidades) FormularioDados2P ===");
         System.out.println("Paciente: " + (patientData != null ? patientData.getNome() + " (ID: " + patientData.getId() + ")" : "NULL"));
 
+        if (isTrocaDuranteSalvamento(patientData)) {
+            return;
+        }
+
         // limpar estado anterior primeiro
         limparEstadoAnterior();
 
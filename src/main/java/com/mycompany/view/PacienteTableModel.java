@@ -0,0 +1,288 @@
+package com.mycompany.view;
+
+import com.mycompany.model.bean.Paciente;
+import com.mycompany.model.saude.VitalSignsClassifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabela apoiado nos próprios objetos Paciente
+ *
+ * Mantém um índice id → linha do modelo, então atualizar ou remover um paciente
+ * não percorre a tabela nem converte o ID de String. O índice é sempre do modelo:
+ * com RowSorter ativo, use JTable.convertRowIndexToView/convertRowIndexToModel
+ * para traduzir entre a linha exibida e a linha do modelo
+ *
+ * O modelo guarda só a referência ao Paciente; as células são formatadas sob
+ * demanda em getValueAt, ou seja, apenas para as linhas que a JTable pinta.
+ * As últimas linhas formatadas ficam num pequeno cache LRU para o repaint e a
+ * rolagem não refazerem a formatação a cada célula
+ *
+ * Subclasses podem informar um status por célula (ex: sinais vitais) em
+ * calcularStatusColuna; o renderer usa esse status para destacar a célula
+ */
+public abstract class PacienteTableModel extends AbstractTableModel {
+
+    // Algumas telas de linhas visíveis; acima disso a linha é formatada de novo
+    private static final int TAMANHO_CACHE_LINHAS = 256;
+
+    private final String[] colunas;
+    private final List<Paciente> pacientes = new ArrayList<>();
+    private final Map<Integer, Integer> linhaPorId = new HashMap<>();
+
+    // linha do modelo → células formatadas, em ordem de acesso (LRU)
+    private final Map<Integer, Object[]> cacheLinhas = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> maisAntiga) {
+            return size() > TAMANHO_CACHE_LINHAS;
+        }
+    };
+
+    protected PacienteTableModel(String... colunas) {
+        this.colunas = colunas;
+    }
+
+    /**
+     * Monta os valores exibidos nas colunas para o paciente
+     * Chamado sob demanda a partir de getValueAt
+     */
+    protected abstract Object[] formatarLinha(Paciente p);
+
+    /**
+     * Status da célula (VitalSignsClassifier.NORMAL, ALERTA ou CRITICO)
+     * Por padrão nenhuma coluna é destacada; deve ser barato, pois roda a cada pintura
+     */
+    protected int calcularStatusColuna(Paciente p, int coluna) {
+        return VitalSignsClassifier.NORMAL;
+    }
+
+    @Override
+    public int getRowCount() {
+        return pacientes.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colunas.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return colunas[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int linha, int coluna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        Object[] celulas = cacheLinhas.get(linha);
+        if (celulas == null) {
+            celulas = formatarLinha(pacientes.get(linha));
+            cacheLinhas.put(linha, celulas);
+        }
+        return celulas[coluna];
+    }
+
+    /**
+     * Status da célula na linha/coluna do modelo
+     */
+    public int getStatusColuna(int linha, int coluna) {
+        return calcularStatusColuna(pacientes.get(linha), coluna);
+    }
+
+    /**
+     * Paciente exibido na linha do modelo
+     */
+    public Paciente getPaciente(int linha) {
+        if (linha < 0 || linha >= pacientes.size()) {
+            return null;
+        }
+        return pacientes.get(linha);
+    }
+
+    /**
+     * Linha do modelo do paciente, ou -1 se ele não estiver na tabela
+     */
+    public int getLinhaDoPaciente(int pacienteId) {
+        Integer linha = linhaPorId.get(pacienteId);
+        return linha != null ? linha : -1;
+    }
+
+    public boolean contemPaciente(int pacienteId) {
+        return linhaPorId.containsKey(pacienteId);
+    }
+
+    /**
+     * Cópia dos pacientes na ordem do modelo
+     */
+    public List<Paciente> getPacientes() {
+        return new ArrayList<>(pacientes);
+    }
+
+    /**
+     * Substitui todo o conteúdo da tabela com um único fireTableDataChanged
+     * Custa só copiar as referências: nada é formatado até a linha ser exibida
+     */
+    public void setPacientes(List<Paciente> novosPacientes) {
+        pacientes.clear();
+        linhaPorId.clear();
+        cacheLinhas.clear();
+        if (novosPacientes != null) {
+            for (Paciente p : novosPacientes) {
+                if (p != null) {
+                    acrescentar(p);
+                }
+            }
+        }
+        fireTableDataChanged();
+    }
+
+    public void limpar() {
+        setPacientes(null);
+    }
+
+    /**
+     * Acrescenta um paciente ao fim da tabela; se o ID já existir, atualiza a linha
+     * @return linha do modelo
+     */
+    public int adicionarPaciente(Paciente p) {
+        if (p == null) {
+            return -1;
+        }
+        int existente = p.getId() != null ? getLinhaDoPaciente(p.getId()) : -1;
+        if (existente >= 0) {
+            substituir(existente, p);
+            fireTableRowsUpdated(existente, existente);
+            return existente;
+        }
+        int linha = acrescentar(p);
+        fireTableRowsInserted(linha, linha);
+        return linha;
+    }
+
+    /**
+     * Acrescenta vários pacientes com um único evento de inserção
+     * IDs já presentes são atualizados no lugar, com um único evento de atualização
+     */
+    public void adicionarPacientes(List<Paciente> novosPacientes) {
+        if (novosPacientes == null || novosPacientes.isEmpty()) {
+            return;
+        }
+        int primeiraLinha = pacientes.size();
+        int menorAtualizada = Integer.MAX_VALUE;
+        int maiorAtualizada = -1;
+        for (Paciente p : novosPacientes) {
+            if (p == null) {
+                continue;
+            }
+            int existente = p.getId() != null ? getLinhaDoPaciente(p.getId()) : -1;
+            if (existente >= 0) {
+                substituir(existente, p);
+                menorAtualizada = Math.min(menorAtualizada, existente);
+                maiorAtualizada = Math.max(maiorAtualizada, existente);
+            } else {
+                acrescentar(p);
+            }
+        }
+        if (maiorAtualizada >= 0) {
+            fireTableRowsUpdated(menorAtualizada, maiorAtualizada);
+        }
+        int ultimaLinha = pacientes.size() - 1;
+        if (ultimaLinha >= primeiraLinha) {
+            fireTableRowsInserted(primeiraLinha, ultimaLinha);
+        }
+    }
+
+    /**
+     * Atualiza a linha do paciente (mesmo ID) e notifica apenas essa linha
+     * @return linha do modelo atualizada, ou -1 se o paciente não estiver na tabela
+     */
+    public int atualizarPaciente(Paciente p) {
+        if (p == null || p.getId() == null) {
+            return -1;
+        }
+        int linha = getLinhaDoPaciente(p.getId());
+        if (linha >= 0) {
+            substituir(linha, p);
+            fireTableRowsUpdated(linha, linha);
+        }
+        return linha;
+    }
+
+    /**
+     * Remove o paciente da tabela
+     * @return true se ele estava na tabela
+     */
+    public boolean removerPaciente(int pacienteId) {
+        Integer linha = linhaPorId.remove(pacienteId);
+        if (linha == null) {
+            return false;
+        }
+        pacientes.remove((int) linha);
+        cacheLinhas.clear(); // As linhas do cache mudaram de posição
+
+        // As linhas abaixo sobem uma posição
+        for (int i = linha; i < pacientes.size(); i++) {
+            Integer id = pacientes.get(i).getId();
+            if (id != null) {
+                linhaPorId.put(id, i);
+            }
+        }
+        fireTableRowsDeleted(linha, linha);
+        return true;
+    }
+
+    /**
+     * Remove vários pacientes numa única passada e com um único evento
+     * @return quantos estavam na tabela
+     */
+    public int removerPacientes(Collection<Integer> pacienteIds) {
+        if (pacienteIds == null || pacienteIds.isEmpty()) {
+            return 0;
+        }
+        if (pacienteIds.size() == 1) {
+            return removerPaciente(pacienteIds.iterator().next()) ? 1 : 0;
+        }
+        Set<Integer> ids = new HashSet<>(pacienteIds);
+        List<Paciente> restantes = new ArrayList<>(pacientes.size());
+        for (Paciente p : pacientes) {
+            if (p.getId() == null || !ids.contains(p.getId())) {
+                restantes.add(p);
+            }
+        }
+        int removidos = pacientes.size() - restantes.size();
+        if (removidos > 0) {
+            setPacientes(restantes);
+        }
+        return removidos;
+    }
+
+    private int acrescentar(Paciente p) {
+        int linha = pacientes.size();
+        pacientes.add(p);
+        if (p.getId() != null) {
+            linhaPorId.put(p.getId(), linha);
+        }
+        return linha;
+    }
+
+    private void substituir(int linha, Paciente p) {
+        pacientes.set(linha, p);
+        cacheLinhas.remove(linha);
+    }
+}
@@ -7,18 +7,24 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumn;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
+import java.util.logging.Logger;
 
 public class PainelDados2 extends javax.swing.JPanel {
     
+    private static final Logger LOGGER = Logger.getLogger(PainelDados2.class.getName());
+    
     private static final Color SELECTION_COLOR = new Color(59, 130, 246, 50);
     private static final Color BORDER_COLOR = new Color(226, 232, 240);
     private static final Color TEXT_COLOR = new Color(51, 65, 85);
@@ -28,26 +34,76 @@ public class PainelDados2 extends javax.swing.JPanel {
     
     private PatientSelectionListener patientSelectionListener;
     
-    //DefaultTableModel ;
-    DefaultTableModel tableModel;
-    private List<Paciente> pacientes;
+    // Modelo da tabela apoiado nos objetos Paciente
+    PacienteTableModel tableModel;
     
     //Variaves da seleção paciente especialidade
     private List<PacienteEspecialidade> pacienteEspecialidades;
     
     public PainelDados2(List<Paciente> pacientes, List<PacienteEspecialidade> pacienteEspecialidades) {
         initComponents();
-        tableModel = (DefaultTableModel) jTable1.getModel();
+        tableModel = new DadosTableModel();
+        jTable1.setModel(tableModel);
         setupTableDesign();
-        this.pacientes = pacientes;
         
         //Seleção paciente especialidade
         this.pacienteEspecialidades = pacienteEspecialidades;
                 
-        loadPacientes();
+        loadPacientes(pacientes);
         setOpaque(false);
     }
     
+    // Modelo com as 9 colunas de dados cadastrais
+    private static class DadosTableModel extends PacienteTableModel {
+        
+        // Formatadores imutáveis, criados uma vez para todas as linhas
+        private static final DateTimeFormatter FORMATO_DESEJADO = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        private static final DateTimeFormatter FORMATO_ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+        DadosTableModel() {
+            super("Nome do Paciente", "Data de Nascimento", "Idade", "Nome da Mãe", "CPF", "SUS", "Telefone", "Endereço", "Id");
+        }
+        
+        @Override
+        protected Object[] formatarLinha(Paciente p) {
+            String dataFormatada = "";
+
+            // Formata a data de nascimento, se disponível
+            if (p.getDataNascimento() != null && !p.getDataNascimento().isEmpty()) {
+                dataFormatada = formatarData(p.getDataNascimento());
+            }
+
+            return new Object[] {
+                p.getNome() != null ? p.getNome() : "",                            // Nome
+                dataFormatada,                                                    // Data de nascimento formatada
+                p.getIdade() != null ? p.getIdade().toString() : "",              // Idade
+                p.getNomeDaMae() != null ? p.getNomeDaMae() : "",                 // Nome da mãe
+                p.getCpf() != null ? p.getCpf() : "",                             // CPF
+                p.getSus() != null ? p.getSus() : "",                             // SUS
+                p.getTelefone() != null ? p.getTelefone() : "",                   // Telefone
+                p.getEndereco() != null ? p.getEndereco() : "",                   // Endereço
+                p.getId() != null ? String.valueOf(p.getId()) : ""                // ID (não exibido na tabela)
+            };
+        }
+
+        private static String formatarData(String texto) {
+            LocalDate data = lerData(texto, FORMATO_DESEJADO);
+            if (data == null) {
+                data = lerData(texto, FORMATO_ISO);
+            }
+            return data != null ? FORMATO_DESEJADO.format(data) : texto; // Usar valor original se falhar
+        }
+
+        // Como o SimpleDateFormat anterior, aceita texto depois da data (ex: "2000-01-31T00:00:00")
+        private static LocalDate lerData(String texto, DateTimeFormatter formato) {
+            try {
+                return LocalDate.from(formato.parse(texto, new ParsePosition(0)));
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+    }
+    
     public void setPatientSelectionListener(PatientSelectionListener listener) {
         this.patientSelectionListener = listener;
     }
@@ -108,11 +164,11 @@ public class PainelDados2 extends javax.swing.JPanel {
         super.paintComponent(g); 
     }
     
-    // Método público para adicionar novos pacientes
-    private void loadPacientes() {
-        System.out.println("=== DEBUG loadPacientes PainelDados2 ===");
-        System.out.println("Pacientes recebidos: " + (pacientes != null ? pacientes.size() : "NULL"));
-
+    /**
+     * Carga em lote: o modelo recebe só as referências e dispara um único
+     * fireTableDataChanged; as linhas são formatadas quando aparecem na tela
+     */
+    private void loadPacientes(List<Paciente> pacientes) {
         if (pacientes == null) {
             System.err.println("A lista de pacientes está nula. Nenhum dado será adicionado.");
             return;
@@ -123,77 +179,16 @@ public class PainelDados2 extends javax.swing.JPanel {
             return;
         }
 
-        // Limpar tabela apenas uma vez no início
-        tableModel.setRowCount(0);
-        System.out.println("Tabela limpa. Adicionando " + pacientes.size() + " pacientes...");
-
-        java.text.SimpleDateFormat formatoDesejado = new java.text.SimpleDateFormat("dd/MM/yyyy");
-        java.text.SimpleDateFormat formatoISO = new java.text.SimpleDateFormat("yyyy-MM-dd");
-
-        for (int i = 0; i < pacientes.size(); i++) {
-            Paciente p = pacientes.get(i);
-            System.out.println("Processando paciente " + (i+1) + ": " + 
-                              (p != null ? p.getNome() : "NULL") + " (ID: " + 
-                              (p != null ? p.getId() : "NULL") + ")");
-
-            if (p == null) {
-                System.err.println("Paciente " + i + " é NULL - pulando");
-                continue;
-            }
-
-            String dataFormatada = "";
-            if (p.getDataNascimento() != null && !p.getDataNascimento().isEmpty()) {
-                try {
-                    java.util.Date data;
-                    String dataNascimento = p.getDataNascimento();
-
-                    // Tenta interpretar no formato dd/MM/yyyy
-                    try {
-                        data = formatoDesejado.parse(dataNascimento);
-                    } catch (java.text.ParseException ex1) {
-                        // Se falhar, tenta no formato yyyy-MM-dd
-                        data = formatoISO.parse(dataNascimento);
-                    }
-
-                    // Formata a data no formato desejado para exibir na tabela
-                    dataFormatada = formatoDesejado.format(data);
-
-                } catch (java.text.ParseException e) {
-                    System.err.println("Erro ao formatar data para paciente " + p.getNome() + ": " + e.getMessage());
-                    dataFormatada = p.getDataNascimento(); // Usar valor original se falhar
-                }
-            }
-
-            Object[] row = {
-                p.getNome() != null ? p.getNome() : "",
-                dataFormatada,
-                p.getIdade() != null ? p.getIdade().toString() : "",
-                p.getNomeDaMae() != null ? p.getNomeDaMae() : "",
-                p.getCpf() != null ? p.getCpf() : "",
-                p.getSus() != null ? p.getSus() : "",
-                p.getTelefone() != null ? p.getTelefone() : "",
-                p.getEndereco() != null ? p.getEndereco() : "",
-                p.getId() != null ? String.valueOf(p.getId()) : ""
-            };
-
-            tableModel.addRow(row);
-            System.out.println("Linha adicionada para: " + p.getNome());
-        }
-
-        // Forçar atualização visual
-        tableModel.fireTableDataChanged();
+        tableModel.setPacientes(pacientes);
         jTable1.revalidate();
         jTable1.repaint();
-
-        System.out.println("Total de linhas na tabela: " + tableModel.getRowCount());
-        System.out.println("=== FIM loadPacientes PainelDados2 ===");
+        LOGGER.fine("loadPacientes: " + tableModel.getRowCount() + " linhas carregadas");
     }
     
     public void debugEstadoTabela() {
         System.out.println("=== DEBUG ESTADO DA TABELA (PainelDados2) ===");
         System.out.println("TableModel existe: " + (tableModel != null));
         System.out.println("JTable existe: " + (jTable1 != null));
-        System.out.println("Lista pacientes: " + (pacientes != null ? pacientes.size() : "NULL"));
 
         if (tableModel != null) {
             System.out.println("Linhas na tabela: " + tableModel.getRowCount());
@@ -223,12 +218,9 @@ public class PainelDados2 extends javax.swing.JPanel {
         //  Limpar seleção ANTES de recarregar
         limparSelecaoAtual();
 
-        // Atualizar referência da lista
-        this.pacientes = novosPacientes;
-
         // Recarregar dados na tabela
         SwingUtilities.invokeLater(() -> {
-            loadPacientes();
+            loadPacientes(novosPacientes);
 
             //  Forçar repaint após carregar
             jTable1.revalidate();
@@ -295,48 +287,30 @@ public class PainelDados2 extends javax.swing.JPanel {
     
     // Método para adicionar um novo paciente
     public void adicionarPaciente(Paciente p) {
-        java.text.SimpleDateFormat formatoDesejado = new java.text.SimpleDateFormat("dd/MM/yyyy");
-        java.text.SimpleDateFormat formatoISO = new java.text.SimpleDateFormat("yyyy-MM-dd");
-        String dataFormatada = "";
-
-        // Formata a data de nascimento, se disponível
-        if (p.getDataNascimento() != null && !p.getDataNascimento().isEmpty()) {
-            try {
-                java.util.Date data;
-
-                try {
-                    // Tenta "dd/MM/yyyy"
-                    data = formatoDesejado.parse(p.getDataNascimento());
-                } catch (java.text.ParseException ex1) {
-                    // Se falhar, tenta "yyyy-MM-dd"
-                    data = formatoISO.parse(p.getDataNascimento());
-                }
-
-                dataFormatada = formatoDesejado.format(data);
-            } catch (java.text.ParseException e) {
-                e.printStackTrace(); // Log opcional
-            }
-        }
-
-        Object[] row = {
-            p.getNome() != null ? p.getNome() : "",                            // Nome
-            dataFormatada,                                                    // Data de nascimento formatada
-            p.getIdade() != null ? p.getIdade().toString() : "",              // Idade
-            p.getNomeDaMae() != null ? p.getNomeDaMae() : "",                 // Nome da mãe
-            p.getCpf() != null ? p.getCpf() : "",                             // CPF
-            p.getSus() != null ? p.getSus() : "",                             // SUS
-            p.getTelefone() != null ? p.getTelefone() : "",                   // Telefone
-            p.getEndereco() != null ? p.getEndereco() : "",                   // Endereço
-            String.valueOf(p.getId())                                         // ID (não exibido na tabela)
-        };
-
-        tableModel.addRow(row);
-        //pacientes.add(p);
-        
+        int linha = tableModel.adicionarPaciente(p);
 
         // Scroll opcional até a nova linha
-        int lastRow = tableModel.getRowCount() - 1;
-        jTable1.scrollRectToVisible(jTable1.getCellRect(lastRow, 0, true));
+        int linhaVisivel = jTable1.convertRowIndexToView(linha);
+        if (linhaVisivel >= 0) {
+            jTable1.scrollRectToVisible(jTable1.getCellRect(linhaVisivel, 0, true));
+        }
+    }
+    
+    /**
+     * Acrescenta uma página de pacientes ao fim da tabela (carregamento progressivo)
+     * As linhas entram no modelo de uma vez e geram um único evento de inserção
+     */
+    public void adicionarPacientes(List<Paciente> novosPacientes) {
+        tableModel.adicionarPacientes(novosPacientes);
+    }
+    
+    /**
+     * Aplica um lote consolidado de alterações (PacienteEventBus): remoções numa
+     * passada e inserções/atualizações com um evento cada. Deve rodar na EDT
+     */
+    public void aplicarLote(List<Paciente> salvos, List<Integer> removidos) {
+        tableModel.removerPacientes(removidos);
+        tableModel.adicionarPacientes(salvos);
     }
     
     // NOVO MÉTODO: Recarregar dados SEM limpar seleção
@@ -345,12 +319,9 @@ public class PainelDados2 extends javax.swing.JPanel {
         System.out.println("Novos pacientes: " + (novosPacientes != null ? novosPacientes.size() : "NULL"));
 
         // NÃO limpar seleção aqui - apenas atualizar dados
-        // Atualizar referência da lista
-        this.pacientes = novosPacientes;
-
         // Recarregar dados na tabela
         SwingUtilities.invokeLater(() -> {
-            loadPacientes();
+            loadPacientes(novosPacientes);
 
             // Forçar repaint após carregar
             jTable1.revalidate();
@@ -396,230 +367,56 @@ public class PainelDados2 extends javax.swing.JPanel {
             return;
         }
 
-        // EXECUTAR NA EDT PARA GARANTIR THREAD SAFETY
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // Preparar data formatada
-                java.text.SimpleDateFormat formatoDesejado = new java.text.SimpleDateFormat("dd/MM/yyyy");
-                java.text.SimpleDateFormat formatoISO = new java.text.SimpleDateFormat("yyyy-MM-dd");
-                String dataFormatada = "";
+        // EXECUTAR NA EDT PARA GARANTIR THREAD SAFETY (sem reagendar se já estiver nela)
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> atualizarPaciente(pacienteAtualizado));
+            return;
+        }
+        try {
+            // Linha do paciente pelo índice id → linha do modelo (sem varrer a tabela)
+            int linhaEncontrada = tableModel.atualizarPaciente(pacienteAtualizado);
 
-                if (pacienteAtualizado.getDataNascimento() != null && !pacienteAtualizado.getDataNascimento().isEmpty()) {
-                    try {
-                        java.util.Date data;
-                        try {
-                            data = formatoDesejado.parse(pacienteAtualizado.getDataNascimento());
-                        } catch (java.text.ParseException ex1) {
-                            data = formatoISO.parse(pacienteAtualizado.getDataNascimento());
-                        }
-                        dataFormatada = formatoDesejado.format(data);
-                    } catch (java.text.ParseException e) {
-                        System.err.println("Erro ao formatar data: " + e.getMessage());
-                        dataFormatada = pacienteAtualizado.getDataNascimento(); // Usar valor original
-                    }
-                }
+            if (linhaEncontrada >= 0) {
+                System.out.println("✅ Paciente atualizado na linha " + linhaEncontrada);
 
-                //  Buscar por ID diretamente na tabela
-                boolean pacienteEncontrado = false;
-                int linhaEncontrada = -1;
-
-                // Procurar pela linha correta baseada no ID (coluna 8)
-                for (int row = 0; row < tableModel.getRowCount(); row++) {
-                    Object idNaTabela = tableModel.getValueAt(row, 8); // Coluna 8 = ID
-
-                    if (idNaTabela != null) {
-                        try {
-                            int idTabelaInt = Integer.parseInt(idNaTabela.toString());
-                            if (idTabelaInt == pacienteAtualizado.getId()) {
-                                linhaEncontrada = row;
-                                pacienteEncontrado = true;
-                                break;
-                            }
-                        } catch (NumberFormatException e) {
-                            System.err.println("Erro ao converter ID da tabela: " + idNaTabela);
-                            continue;
-                        }
+                // Destacar visualmente a linha atualizada (opcional)
+                try {
+                    int linhaVisivel = jTable1.convertRowIndexToView(linhaEncontrada);
+                    if (linhaVisivel >= 0) {
+                        jTable1.setRowSelectionInterval(linhaVisivel, linhaVisivel);
+                        jTable1.scrollRectToVisible(jTable1.getCellRect(linhaVisivel, 0, true));
                     }
+                } catch (Exception e) {
+                    // Ignore se houver problema com a seleção visual
+                    System.out.println("⚠️ Não foi possível destacar a linha: " + e.getMessage());
                 }
 
-                if (pacienteEncontrado) {
-                    System.out.println("✅ Paciente encontrado na linha " + linhaEncontrada + " - atualizando...");
-
-                    // Atualizar TODOS os campos na linha encontrada
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getNome() != null ? pacienteAtualizado.getNome() : "", 
-                        linhaEncontrada, 0); // Nome
-
-                    tableModel.setValueAt(dataFormatada, linhaEncontrada, 1); // Data
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getIdade() != null ? pacienteAtualizado.getIdade().toString() : "", 
-                        linhaEncontrada, 2); // Idade
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getNomeDaMae() != null ? pacienteAtualizado.getNomeDaMae() : "", 
-                        linhaEncontrada, 3); // Mãe
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getCpf() != null ? pacienteAtualizado.getCpf() : "", 
-                        linhaEncontrada, 4); // CPF
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getSus() != null ? pacienteAtualizado.getSus() : "", 
-                        linhaEncontrada, 5); // SUS
+                System.out.println("✅ Paciente atualizado com sucesso na tabela: " + 
+                                  pacienteAtualizado.getNome() + " (linha " + linhaEncontrada + ")");
 
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getTelefone() != null ? pacienteAtualizado.getTelefone() : "", 
-                        linhaEncontrada, 6); // Telefone
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getEndereco() != null ? pacienteAtualizado.getEndereco() : "", 
-                        linhaEncontrada, 7); // Endereço
-
-                    tableModel.setValueAt(
-                        String.valueOf(pacienteAtualizado.getId()), 
-                        linhaEncontrada, 8); // ID
-
-                    // FORÇAR NOTIFICAÇÃO DA MUDANÇA
-                    tableModel.fireTableRowsUpdated(linhaEncontrada, linhaEncontrada);
-
-                    // Atualizar também a lista local de pacientes
-                    synchronized (pacientes) {
-                        for (int i = 0; i < pacientes.size(); i++) {
-                            if (pacientes.get(i).getId() != null && 
-                                pacientes.get(i).getId().equals(pacienteAtualizado.getId())) {
-                                pacientes.set(i, pacienteAtualizado);
-                                System.out.println("✅ Lista local de pacientes também atualizada");
-                                break;
-                            }
-                        }
-                    }
-
-                    // FORÇAR REPAINT DA TABELA
-                    jTable1.revalidate();
-                    jTable1.repaint();
-
-                    // Destacar visualmente a linha atualizada (opcional)
-                    try {
-                        jTable1.setRowSelectionInterval(linhaEncontrada, linhaEncontrada);
-                        jTable1.scrollRectToVisible(jTable1.getCellRect(linhaEncontrada, 0, true));
-                        System.out.println("✅ Linha " + linhaEncontrada + " destacada visualmente");
-                    } catch (Exception e) {
-                        // Ignore se houver problema com a seleção visual
-                        System.out.println("⚠️ Não foi possível destacar a linha: " + e.getMessage());
-                    }
-
-                    System.out.println("✅ Paciente atualizado com sucesso na tabela: " + 
-                                      pacienteAtualizado.getNome() + " (linha " + linhaEncontrada + ")");
-
-                } else {
-                    System.err.println("❌ Paciente ID " + pacienteAtualizado.getId() + 
-                                      " não encontrado na tabela para atualização");
-
-                    // Log adicional para debug
-                    System.err.println("⚠️ DEBUG: IDs presentes na tabela:");
-                    for (int row = 0; row < Math.min(5, tableModel.getRowCount()); row++) {
-                        Object idNaTabela = tableModel.getValueAt(row, 8);
-                        System.err.println("    Linha " + row + ": ID = " + idNaTabela);
-                    }
-                }
-
-            } catch (Exception e) {
-                System.err.println("❌ Erro inesperado ao atualizar paciente na tabela: " + e.getMessage());
-                e.printStackTrace();
+            } else {
+                System.err.println("❌ Paciente ID " + pacienteAtualizado.getId() + 
+                                  " não encontrado na tabela para atualização");
             }
-        });
+
+        } catch (Exception e) {
+            System.err.println("❌ Erro inesperado ao atualizar paciente na tabela: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     // Método para remover um paciente
     public void removerPaciente(int pacienteId) {
-        // Procura na tabela pela linha com o ID correspondente
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            Object idNaTabela = tableModel.getValueAt(i, 8); // Coluna 8 = ID
-
-            if (idNaTabela != null && idNaTabela.toString().equals(String.valueOf(pacienteId))) {
-                // Remove da tabela
-                tableModel.removeRow(i);
-
-                // Remove da lista de pacientes
-                pacientes.removeIf(p -> p.getId() == pacienteId);
-
-                return; // Sai do método após encontrar e remover
-            }
+        if (!tableModel.removerPaciente(pacienteId)) {
+            // Log opcional se o paciente não foi encontrado
+            System.out.println("Paciente com ID " + pacienteId + " não encontrado na tabela.");
         }
-
-        // Log opcional se o paciente não foi encontrado
-        System.out.println("Paciente com ID " + pacienteId + " não encontrado na tabela.");
     }
     
-    // Método público para obter dados de um paciente específico
+    // Paciente exibido na linha da tabela (índice da view)
     public Paciente getPatientData(int row) {
-        if (row >= 0 && row < tableModel.getRowCount()) {
-            Paciente paciente = new Paciente();
-            try {
-                // Nome
-                Object nomeObj = tableModel.getValueAt(row, 0);
-                if (nomeObj != null) {
-                    paciente.setNome(nomeObj.toString());
-                }
-
-                // Data de Nascimento
-                Object dataObj = tableModel.getValueAt(row, 1);
-                if (dataObj != null) {
-                    paciente.setDataNascimento(dataObj.toString());
-                }
-
-                // Idade
-                Object idadeObj = tableModel.getValueAt(row, 2);
-                if (idadeObj != null && !idadeObj.toString().trim().isEmpty()) {
-                    paciente.setIdade(Integer.valueOf(idadeObj.toString()));
-                }
-
-                // Nome da Mãe
-                Object nomeMaeObj = tableModel.getValueAt(row, 3);
-                if (nomeMaeObj != null) {
-                    paciente.setNomeDaMae(nomeMaeObj.toString());
-                }
-
-                // CPF
-                Object cpfObj = tableModel.getValueAt(row, 4);
-                if (cpfObj != null) {
-                    paciente.setCpf(cpfObj.toString());
-                }
-
-                // SUS
-                Object susObj = tableModel.getValueAt(row, 5);
-                if (susObj != null) {
-                    paciente.setSus(susObj.toString());
-                }
-
-                // Telefone
-                Object telefoneObj = tableModel.getValueAt(row, 6);
-                if (telefoneObj != null) {
-                    paciente.setTelefone(telefoneObj.toString());
-                }
-
-                // Endereço
-                Object enderecoObj = tableModel.getValueAt(row, 7);
-                if (enderecoObj != null) {
-                    paciente.setEndereco(enderecoObj.toString());
-                }
-
-                // ID 
-                Object idObj = tableModel.getValueAt(row, 8);
-                if (idObj != null && !idObj.toString().trim().isEmpty()) {
-                    paciente.setId(Integer.parseInt(idObj.toString()));
-                }
-
-            } catch (NumberFormatException e) {
-                System.err.println("Erro ao converter dados numéricos do paciente: " + e.getMessage());
-                return null;
-            } catch (Exception e) {
-                System.err.println("Erro geral ao processar dados do paciente: " + e.getMessage());
-                e.printStackTrace();
-                return null;
-            }
-            return paciente;
+        if (row >= 0 && row < jTable1.getRowCount()) {
+            return tableModel.getPaciente(jTable1.convertRowIndexToModel(row));
         }
         return null;
     }
@@ -665,11 +462,8 @@ public class PainelDados2 extends javax.swing.JPanel {
             public void mouseClicked(MouseEvent e) {
                 int selectedRow = jTable1.getSelectedRow();
                 if (selectedRow != -1 && patientSelectionListener != null) {
-                    // Obter dados da linha selecionada
+                    // Paciente da linha selecionada (direto do modelo)
                     Paciente patientData = getPatientData(selectedRow);
-                    
-                    //Busca paienete da linha(Row) na lista
-                    patientData = buscaPaciente(patientData);
                     List<PacienteEspecialidade> pacienteEspecialidadeData = buscaPacienteEspecialidade(patientData);
                     
                     // Notificar o listener
@@ -693,29 +487,6 @@ public class PainelDados2 extends javax.swing.JPanel {
             
     }
     
-    //Busca binaria pacienete
-    private Paciente buscaPaciente(Paciente patientData) {
-        
-        int inicio = 0;
-        int fim = pacientes.size() - 1;
-        int centro;
-        
-        do{
-            centro = (inicio + fim)/2;
-            if(patientData.getId()<pacientes.get(centro).getId()){
-                fim = centro - 1;
-            }else if(patientData.getId()>pacientes.get(centro).getId()){
-                inicio = centro + 1;
-            }else{
-                return pacientes.get(centro);
-            }
-            
-        }while (inicio<=fim);
-        
-        System.out.println("Paciente não encontrado");
-        return patientData;
-    }
-    
     // O método buscaPacienteEspecialidade para ser thread-safe:
     private List<PacienteEspecialidade> buscaPacienteEspecialidade(Paciente paciente) {
         // Verifica se o paciente é válido
@@ -1,17 +1,20 @@
 package com.mycompany.view;
 
 import com.mycompany.model.bean.Paciente;
+import com.mycompany.model.saude.VitalSignsClassifier;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumn;
 import java.util.List;
+import java.util.logging.Logger;
 
 public class PainelSaude2 extends javax.swing.JPanel {
     
+    private static final Logger LOGGER = Logger.getLogger(PainelSaude2.class.getName());
+    
     private static final Color SELECTION_COLOR = new Color(59, 130, 246, 50);
     private static final Color BORDER_COLOR = new Color(226, 232, 240);
     private static final Color TEXT_COLOR = new Color(51, 65, 85);
@@ -21,18 +24,67 @@ public class PainelSaude2 extends javax.swing.JPanel {
     
     private PatientSelectionListener patientSelectionListener;
     
-    DefaultTableModel tableModel;
-    private List<Paciente> pacientes;
+    PacienteTableModel tableModel;
     
     public PainelSaude2(List<Paciente> pacientes) {
         initComponents();
-        tableModel = (DefaultTableModel) jTable1.getModel();
+        tableModel = new SaudeTableModel();
+        jTable1.setModel(tableModel);
         setupTableDesign();
-        this.pacientes = pacientes;
-        loadPacientes();
+        loadPacientes(pacientes);
         setOpaque(false);
     }
     
+    // Modelo com as 11 colunas de sinais vitais (ID oculto na última)
+    private static class SaudeTableModel extends PacienteTableModel {
+        
+        SaudeTableModel() {
+            super("Nome", "mmHg", "bpm", "irpm", "Temperatura°C", "mg/dL", "Saturação O₂ (%)", "Peso (kg)", "Altura (m)", "IMC", "ID");
+        }
+        
+        @Override
+        protected Object[] formatarLinha(Paciente p) {
+            return new Object[] {
+                p.getNome() != null ? p.getNome() : "",                          // Nome do Paciente
+                p.getPaXMmhg() != null ? p.getPaXMmhg() : "",                    // Pressão arterial (ex: 120/80 mmHg)
+                p.getFcBpm() != null ? String.valueOf(p.getFcBpm()) : "",        // FC (bpm)
+                p.getFrIbpm() != null ? String.valueOf(p.getFrIbpm()) : "",      // FR (irpm)
+                p.getTemperaturaC() != null ? String.valueOf(p.getTemperaturaC()) : "", // Temperatura (°C)
+                p.getHgtMgld() != null ? String.valueOf(p.getHgtMgld()) : "",    // Glicemia (mg/dL)
+                p.getSpo2() != null ? String.valueOf(p.getSpo2()) : "",          // Saturação O2 (%)
+                p.getPeso() != null ? String.valueOf(p.getPeso()) : "",          // Peso (kg)
+                p.getAltura() != null ? String.valueOf(p.getAltura()) : "",      // Altura (m)
+                p.getImc() != null ? String.valueOf(p.getImc()) : "",            // IMC calculado
+                p.getId() != null ? String.valueOf(p.getId()) : ""               // ID do paciente (oculta)
+            };
+        }
+
+        // Coluna da tabela → sinal classificado (-1 = coluna sem destaque)
+        private static final int[] SINAL_DA_COLUNA = {
+            -1,                                         // Nome
+            VitalSignsClassifier.PRESSAO,               // mmHg
+            VitalSignsClassifier.FREQUENCIA_CARDIACA,   // bpm
+            -1,                                         // irpm
+            VitalSignsClassifier.TEMPERATURA,           // °C
+            VitalSignsClassifier.GLICEMIA,              // mg/dL
+            VitalSignsClassifier.SATURACAO,             // SpO2
+            -1,                                         // Peso
+            -1,                                         // Altura
+            VitalSignsClassifier.IMC,                   // IMC
+            -1                                          // ID
+        };
+
+        // O classificador só avalia o paciente se ele mudou; aqui é apenas leitura do status guardado
+        @Override
+        protected int calcularStatusColuna(Paciente p, int coluna) {
+            int sinal = coluna < SINAL_DA_COLUNA.length ? SINAL_DA_COLUNA[coluna] : -1;
+            if (sinal < 0) {
+                return VitalSignsClassifier.NORMAL;
+            }
+            return VitalSignsClassifier.statusDe(VitalSignsClassifier.getInstance().classificar(p), sinal);
+        }
+    }
+    
     public void setPatientSelectionListener(PatientSelectionListener listener) {
         this.patientSelectionListener = listener;
     }
@@ -80,12 +132,9 @@ public class PainelSaude2 extends javax.swing.JPanel {
             public void mouseClicked(MouseEvent e) {
                 int selectedRow = jTable1.getSelectedRow();
                 if (selectedRow != -1 && patientSelectionListener != null) {
-                    // Obter dados da linha selecionada
+                    // Paciente da linha selecionada (direto do modelo)
                     Paciente patientData = getPatientData(selectedRow);
                     
-                    //Bãusca paienete da linha(Row) na lista
-                    patientData = buscaPaciente(patientData);
-                    
                     // Notificar o listener
                     patientSelectionListener.onPatientSelected(patientData);
                 }
@@ -105,29 +154,6 @@ public class PainelSaude2 extends javax.swing.JPanel {
         });
     }
     
-    private Paciente buscaPaciente(Paciente patientData) {
-        
-        int inicio = 0;
-        int fim = pacientes.size() - 1;
-        int centro;
-        
-        do{
-            centro = (inicio + fim)/2;
-            if(patientData.getId()<pacientes.get(centro).getId()){
-                fim = centro - 1;
-                
-            }else if(patientData.getId()>pacientes.get(centro).getId()){
-                inicio = centro + 1;
-            }else{
-                return pacientes.get(centro);
-            }
-            
-        }while (inicio<=fim);
-        
-        System.out.println("Paciente não encontrado");
-        return patientData;
-    }
-    
     private void setupCustomScrollPane() {
         // Configuração básica do scroll pane
         jScrollPane1.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
@@ -234,11 +260,11 @@ public class PainelSaude2 extends javax.swing.JPanel {
         super.paintComponent(g);
     }
     
-    // Método público para adicionar novos pacientes
-    private void loadPacientes() {
-        System.out.println("=== DEBUG loadPacientes ===");
-        System.out.println("Pacientes recebidos: " + (pacientes != null ? pacientes.size() : "NULL"));
-
+    /**
+     * Carga em lote: o modelo recebe só as referências e dispara um único
+     * fireTableDataChanged; as linhas são formatadas quando aparecem na tela
+     */
+    private void loadPacientes(List<Paciente> pacientes) {
         if (pacientes == null) {
             System.err.println("A lista de pacientes está nula. Nenhum dado será adicionado.");
             return;
@@ -249,46 +275,10 @@ public class PainelSaude2 extends javax.swing.JPanel {
             return;
         }
 
-        // Limpar tabela apenas uma vez no início
-        tableModel.setRowCount(0);
-        System.out.println("Tabela limpa. Adicionando " + pacientes.size() + " pacientes...");
-
-        for (int i = 0; i < pacientes.size(); i++) {
-            Paciente p = pacientes.get(i);
-            System.out.println("Processando paciente " + (i+1) + ": " + 
-                              (p != null ? p.getNome() : "NULL") + " (ID: " + 
-                              (p != null ? p.getId() : "NULL") + ")");
-
-            if (p == null) {
-                System.err.println("Paciente " + i + " é NULL - pulando");
-                continue;
-            }
-
-            Object[] row = {
-                p.getNome() != null ? p.getNome() : "",                          // Nome do Paciente
-                p.getPaXMmhg() != null ? p.getPaXMmhg() : "",                    // Pressão arterial
-                p.getFcBpm() != null ? String.valueOf(p.getFcBpm()) : "",        // FC (bpm)
-                p.getFrIbpm() != null ? String.valueOf(p.getFrIbpm()) : "",      // FR (irpm)
-                p.getTemperaturaC() != null ? String.valueOf(p.getTemperaturaC()) : "", // Temperatura (°C)
-                p.getHgtMgld() != null ? String.valueOf(p.getHgtMgld()) : "",    // Glicemia (mg/dL)
-                p.getSpo2() != null ? String.valueOf(p.getSpo2()) : "",          // Saturação O2 (%)
-                p.getPeso() != null ? String.valueOf(p.getPeso()) : "",          // Peso (kg)
-                p.getAltura() != null ? String.valueOf(p.getAltura()) : "",      // Altura (m)
-                p.getImc() != null ? String.valueOf(p.getImc()) : "",            // IMC calculado
-                p.getId() != null ? String.valueOf(p.getId()) : ""               // ID do paciente (oculta)
-            };
-
-            tableModel.addRow(row);
-            System.out.println("Linha adicionada para: " + p.getNome());
-        }
-
-        // Forçar atualização visual
-        tableModel.fireTableDataChanged();
+        tableModel.setPacientes(pacientes);
         jTable1.revalidate();
         jTable1.repaint();
-
-        System.out.println("Total de linhas na tabela: " + tableModel.getRowCount());
-        System.out.println("=== FIM loadPacientes ===");
+        LOGGER.fine("loadPacientes: " + tableModel.getRowCount() + " linhas carregadas");
     }
     
     // Método para recarregar todos os dados (fallback)
@@ -299,12 +289,9 @@ public class PainelSaude2 extends javax.swing.JPanel {
         // **CORREÇÃO 1: Limpar seleção ANTES de recarregar**
         limparSelecaoAtual();
 
-        // Atualizar referência da lista
-        this.pacientes = novosPacientes;
-
         // Recarregar dados na tabela
         SwingUtilities.invokeLater(() -> {
-            loadPacientes();
+            loadPacientes(novosPacientes);
 
             // **CORREÇÃO 2: Forçar repaint após carregar**
             jTable1.revalidate();
@@ -331,7 +318,6 @@ public class PainelSaude2 extends javax.swing.JPanel {
         System.out.println("=== DEBUG ESTADO DA TABELA (PainelSaude2) ===");
         System.out.println("TableModel existe: " + (tableModel != null));
         System.out.println("JTable existe: " + (jTable1 != null));
-        System.out.println("Lista pacientes: " + (pacientes != null ? pacientes.size() : "NULL"));
 
         if (tableModel != null) {
             System.out.println("Linhas na tabela: " + tableModel.getRowCount());
@@ -359,25 +345,30 @@ public class PainelSaude2 extends javax.swing.JPanel {
         
         System.out.println("adicionarPaciente em PainelSaude2: "+p.toString());
         
-        Object[] row = {
-            p.getNome() != null ? p.getNome() : "",                          // Nome do Paciente
-            p.getPaXMmhg() != null ? p.getPaXMmhg() : "",                    // Pressão arterial (ex: 120/80 mmHg)
-            p.getFcBpm() != null ? String.valueOf(p.getFcBpm()) : "",        // FC (bpm)
-            p.getFrIbpm() != null ? String.valueOf(p.getFrIbpm()) : "",      // FR (irpm)
-            p.getTemperaturaC() != null ? String.valueOf(p.getTemperaturaC()) : "", // Temperatura (°C)
-            p.getHgtMgld() != null ? String.valueOf(p.getHgtMgld()) : "",    // Glicemia (mg/dL)
-            p.getSpo2() != null ? String.valueOf(p.getSpo2()) : "",          // Saturação O2 (%)
-            p.getPeso() != null ? String.valueOf(p.getPeso()) : "",          // Peso (kg)
-            p.getAltura() != null ? String.valueOf(p.getAltura()) : "",      // Altura (m)
-            p.getImc() != null ? String.valueOf(p.getImc()) : "",            // IMC calculado
-            p.getId() != 0 ? String.valueOf(p.getId()) : ""               // ID do paciente (oculta)
-        };
-        tableModel.addRow(row);
-        //pacientes.add(p);
+        int linha = tableModel.adicionarPaciente(p);
         
         // Scroll para o novo item (opcional)
-        int lastRow = tableModel.getRowCount() - 1;
-        jTable1.scrollRectToVisible(jTable1.getCellRect(lastRow, 0, true));  
+        int linhaVisivel = jTable1.convertRowIndexToView(linha);
+        if (linhaVisivel >= 0) {
+            jTable1.scrollRectToVisible(jTable1.getCellRect(linhaVisivel, 0, true));
+        }
+    }
+    
+    /**
+     * Acrescenta uma página de pacientes ao fim da tabela (carregamento progressivo)
+     * As linhas entram no modelo de uma vez e geram um único evento de inserção
+     */
+    public void adicionarPacientes(List<Paciente> novosPacientes) {
+        tableModel.adicionarPacientes(novosPacientes);
+    }
+    
+    /**
+     * Aplica um lote consolidado de alterações (PacienteEventBus): remoções numa
+     * passada e inserções/atualizações com um evento cada. Deve rodar na EDT
+     */
+    public void aplicarLote(List<Paciente> salvos, List<Integer> removidos) {
+        tableModel.removerPacientes(removidos);
+        tableModel.adicionarPacientes(salvos);
     }
     
     // Método para atualizar um paciente existente
@@ -393,232 +384,55 @@ public class PainelSaude2 extends javax.swing.JPanel {
             return;
         }
 
-        // EXECUTAR NA EDT PARA GARANTIR THREAD SAFETY
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // BUSCAR POR ID DIRETAMENTE NA TABELA (não na lista)
-                boolean pacienteEncontrado = false;
-                int linhaEncontrada = -1;
-
-                // Procurar pela linha correta baseada no ID (coluna 10)
-                for (int row = 0; row < tableModel.getRowCount(); row++) {
-                    Object idNaTabela = tableModel.getValueAt(row, 10); // Coluna 10 = ID
-
-                    if (idNaTabela != null) {
-                        try {
-                            int idTabelaInt = Integer.parseInt(idNaTabela.toString());
-                            if (idTabelaInt == pacienteAtualizado.getId()) {
-                                linhaEncontrada = row;
-                                pacienteEncontrado = true;
-                                break;
-                            }
-                        } catch (NumberFormatException e) {
-                            System.err.println("Erro ao converter ID da tabela: " + idNaTabela);
-                            continue;
-                        }
+        // EXECUTAR NA EDT PARA GARANTIR THREAD SAFETY (sem reagendar se já estiver nela)
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> atualizarPaciente(pacienteAtualizado));
+            return;
+        }
+        try {
+            // Linha do paciente pelo índice id → linha do modelo (sem varrer a tabela)
+            int linhaEncontrada = tableModel.atualizarPaciente(pacienteAtualizado);
+
+            if (linhaEncontrada >= 0) {
+                System.out.println("✅ Paciente atualizado na linha " + linhaEncontrada);
+
+                // Destacar visualmente a linha atualizada (opcional)
+                try {
+                    int linhaVisivel = jTable1.convertRowIndexToView(linhaEncontrada);
+                    if (linhaVisivel >= 0) {
+                        jTable1.setRowSelectionInterval(linhaVisivel, linhaVisivel);
+                        jTable1.scrollRectToVisible(jTable1.getCellRect(linhaVisivel, 0, true));
                     }
+                } catch (Exception e) {
+                    System.out.println("⚠️ Não foi possível destacar a linha: " + e.getMessage());
                 }
 
-                if (pacienteEncontrado) {
-                    System.out.println("✅ Paciente encontrado na linha " + linhaEncontrada + " - atualizando...");
-
-                    // Atualizar TODOS os campos na linha encontrada
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getNome() != null ? pacienteAtualizado.getNome() : "", 
-                        linhaEncontrada, 0);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getPaXMmhg() != null ? pacienteAtualizado.getPaXMmhg() : "", 
-                        linhaEncontrada, 1);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getFcBpm() != null ? String.valueOf(pacienteAtualizado.getFcBpm()) : "", 
-                        linhaEncontrada, 2);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getFrIbpm() != null ? String.valueOf(pacienteAtualizado.getFrIbpm()) : "", 
-                        linhaEncontrada, 3);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getTemperaturaC() != null ? String.valueOf(pacienteAtualizado.getTemperaturaC()) : "", 
-                        linhaEncontrada, 4);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getHgtMgld() != null ? String.valueOf(pacienteAtualizado.getHgtMgld()) : "", 
-                        linhaEncontrada, 5);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getSpo2() != null ? String.valueOf(pacienteAtualizado.getSpo2()) : "", 
-                        linhaEncontrada, 6);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getPeso() != null ? String.valueOf(pacienteAtualizado.getPeso()) : "", 
-                        linhaEncontrada, 7);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getAltura() != null ? String.valueOf(pacienteAtualizado.getAltura()) : "", 
-                        linhaEncontrada, 8);
-
-                    tableModel.setValueAt(
-                        pacienteAtualizado.getImc() != null ? String.valueOf(pacienteAtualizado.getImc()) : "", 
-                        linhaEncontrada, 9);
-
-                    tableModel.setValueAt(
-                        String.valueOf(pacienteAtualizado.getId()), 
-                        linhaEncontrada, 10);
-
-                    // FORÇAR NOTIFICAÇÃO DA MUDANÇA
-                    tableModel.fireTableRowsUpdated(linhaEncontrada, linhaEncontrada);
+                System.out.println("✅ Paciente atualizado com sucesso na tabela: " + 
+                                  pacienteAtualizado.getNome() + " (linha " + linhaEncontrada + ")");
 
-                    // Atualizar também a lista local de pacientes
-                    synchronized (pacientes) {
-                        for (int i = 0; i < pacientes.size(); i++) {
-                            if (pacientes.get(i).getId() != null && 
-                                pacientes.get(i).getId().equals(pacienteAtualizado.getId())) {
-                                pacientes.set(i, pacienteAtualizado);
-                                System.out.println("✅ Lista local de pacientes também atualizada");
-                                break;
-                            }
-                        }
-                    }
-
-                    // FORÇAR REPAINT DA TABELA
-                    jTable1.revalidate();
-                    jTable1.repaint();
-
-                    // Destacar visualmente a linha atualizada (opcional)
-                    try {
-                        jTable1.setRowSelectionInterval(linhaEncontrada, linhaEncontrada);
-                        jTable1.scrollRectToVisible(jTable1.getCellRect(linhaEncontrada, 0, true));
-                        System.out.println("✅ Linha " + linhaEncontrada + " destacada visualmente");
-                    } catch (Exception e) {
-                        System.out.println("⚠️ Não foi possível destacar a linha: " + e.getMessage());
-                    }
-
-                    System.out.println("✅ Paciente atualizado com sucesso na tabela: " + 
-                                      pacienteAtualizado.getNome() + " (linha " + linhaEncontrada + ")");
-
-                } else {
-                    System.err.println("❌ Paciente ID " + pacienteAtualizado.getId() + 
-                                      " não encontrado na tabela para atualização");
-
-                    // Log adicional para debug
-                    System.err.println("⚠️ DEBUG: IDs presentes na tabela:");
-                    for (int row = 0; row < Math.min(5, tableModel.getRowCount()); row++) {
-                        Object idNaTabela = tableModel.getValueAt(row, 10);
-                        System.err.println("    Linha " + row + ": ID = " + idNaTabela);
-                    }
-                }
-
-            } catch (Exception e) {
-                System.err.println("❌ Erro inesperado ao atualizar paciente na tabela: " + e.getMessage());
-                e.printStackTrace();
+            } else {
+                System.err.println("❌ Paciente ID " + pacienteAtualizado.getId() + 
+                                  " não encontrado na tabela para atualização");
             }
-        });
+
+        } catch (Exception e) {
+            System.err.println("❌ Erro inesperado ao atualizar paciente na tabela: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     // Método para remover um paciente
     public void removerPaciente(int pacienteId) {
-        // Procura na tabela pela linha com o ID correspondente
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            Object idNaTabela = tableModel.getValueAt(i, 10); // Coluna 10 = ID
-
-            if (idNaTabela != null && idNaTabela.toString().equals(String.valueOf(pacienteId))) {
-                // Remove da tabela
-                tableModel.removeRow(i);
-
-                // Remove da lista de pacientes
-                pacientes.removeIf(p -> p.getId() == pacienteId);
-
-                return; // Sai do método após encontrar e remover
-            }
+        if (!tableModel.removerPaciente(pacienteId)) {
+            // Log opcional se o paciente não foi encontrado
+            System.out.println("Paciente com ID " + pacienteId + " não encontrado na tabela.");
         }
-
-        // Log opcional se o paciente não foi encontrado
-        System.out.println("Paciente com ID " + pacienteId + " não encontrado na tabela.");
     }
     
-    // Método público para obter dados de um paciente específico
+    // Paciente exibido na linha da tabela (índice da view)
     public Paciente getPatientData(int row) {
-        if (row >= 0 && row < tableModel.getRowCount()) {
-            Paciente paciente = new Paciente();
-
-            try {
-                // Nome
-                Object nomeObj = tableModel.getValueAt(row, 0);
-                if (nomeObj != null) {
-                    paciente.setNome(nomeObj.toString());
-                }
-
-                // Pressão Arterial (PA)
-                Object paObj = tableModel.getValueAt(row, 1);
-                if (paObj != null) {
-                    paciente.setPaXMmhg(paObj.toString());
-                }
-
-                // Frequência Cardíaca (FC)
-                Object fcObj = tableModel.getValueAt(row, 2);
-                if (fcObj != null && !fcObj.toString().trim().isEmpty()) {
-                    paciente.setFcBpm(Float.valueOf(fcObj.toString().replace(",", ".")));
-                }
-
-                // Frequência Respiratória (FR)
-                Object frObj = tableModel.getValueAt(row, 3);
-                if (frObj != null && !frObj.toString().trim().isEmpty()) {
-                    paciente.setFrIbpm(Float.valueOf(frObj.toString().replace(",", ".")));
-                }
-
-                // Temperatura
-                Object tempObj = tableModel.getValueAt(row, 4);
-                if (tempObj != null && !tempObj.toString().trim().isEmpty()) {
-                    paciente.setTemperaturaC(Float.valueOf(tempObj.toString().replace(",", ".")));
-                }
-
-                // Hemoglicoteste (HGT)
-                Object hgtObj = tableModel.getValueAt(row, 5);
-                if (hgtObj != null && !hgtObj.toString().trim().isEmpty()) {
-                    paciente.setHgtMgld(Float.valueOf(hgtObj.toString().replace(",", ".")));
-                }
-
-                // Saturação de Oxigênio (SPO2)
-                Object spo2Obj = tableModel.getValueAt(row, 6);
-                if (spo2Obj != null && !spo2Obj.toString().trim().isEmpty()) {
-                    paciente.setSpo2(Float.valueOf(spo2Obj.toString().replace(",", ".")));
-                }
-
-                // Peso
-                Object pesoObj = tableModel.getValueAt(row, 7);
-                if (pesoObj != null && !pesoObj.toString().trim().isEmpty()) {
-                    paciente.setPeso(Float.valueOf(pesoObj.toString().replace(",", ".")));
-                }
-
-                // Altura
-                Object alturaObj = tableModel.getValueAt(row, 8);
-                if (alturaObj != null && !alturaObj.toString().trim().isEmpty()) {
-                    paciente.setAltura(Float.valueOf(alturaObj.toString().replace(",", ".")));
-                }
-
-                // IMC
-                Object imcObj = tableModel.getValueAt(row, 9);
-                if (imcObj != null && !imcObj.toString().trim().isEmpty()) {
-                    paciente.setImc(Float.valueOf(imcObj.toString().replace(",", ".")));
-                }
-
-                // ID
-                Object idObj = tableModel.getValueAt(row, 10);
-                if (idObj != null && !idObj.toString().trim().isEmpty()) {
-                    paciente.setId(Integer.parseInt(idObj.toString()));
-                }
-
-            } catch (NumberFormatException e) {
-                System.err.println("Erro ao converter dados de saúde do paciente: " + e.getMessage());
-                return null;
-            } catch (Exception e) {
-                System.err.println("Erro geral ao processar dados do paciente: " + e.getMessage());
-                return null;
-            }
-
-            return paciente;
+        if (row >= 0 && row < jTable1.getRowCount()) {
+            return tableModel.getPaciente(jTable1.convertRowIndexToModel(row));
         }
         return null;
     }